@@ -0,0 +1,147 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares how {@link RegexBasedSourceRenamer} finds the declarations which get a javadoc: matching the line against
+ * the patterns only if the {@link SourceLineTokenizer} classifies it as a possible declaration, or matching every
+ * line against every pattern, as it did before.
+ * <p>
+ * Both variants run the same patterns in the same order as the javadoc injection, the renaming itself is measured
+ * separately by {@link #renameWithJavadocs()}.
+ * Run with: {@code ./gradlew :common:jmh}, and compare the time of the tokenizer and regex variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SourceLineTokenizerBenchmark {
+
+    //The pattern which the tokenizer replaced for the closing brace check.
+    private static final Pattern CLOSING_CURLY_BRACE = Pattern.compile("^(?<indent> *|\\t*)}");
+
+    @Param({"10000", "140000"})
+    public int lines;
+
+    private List<String> source;
+    private byte[] sourceBytes;
+    private RegexBasedSourceRenamer renamer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Map<String, String> names = new HashMap<>();
+        final Map<String, String> docs = new HashMap<>();
+
+        source = new ArrayList<>(lines + 16);
+        source.add("package net.minecraft.world.level;");
+        source.add("");
+        source.add("import java.util.List;");
+        source.add("");
+        source.add("public class Level {");
+        int member = 0;
+        while (source.size() < lines) {
+            final String field = String.format("f_%d_", member);
+            final String method = String.format("m_%d_", member);
+            final String parameter = String.format("p_%d_1_", member);
+            names.put(field, "value" + member);
+            names.put(method, "compute" + member);
+            if (member % 2 == 0) {
+                docs.put(method, "Computes the value " + member + ".");
+            }
+
+            source.add(String.format("   private final List<String> %s = null;", field));
+            source.add("");
+            source.add(String.format("   public int %s(int %s) {", method, parameter));
+            source.add(String.format("      if (%s > 0) {", parameter));
+            source.add(String.format("         return this.%s.size() + %s;", field, parameter));
+            source.add("      }");
+            source.add("");
+            source.add(String.format("      this.%s.forEach((s) -> System.out.println(s));", field));
+            source.add("      return 0;");
+            source.add("   }");
+            source.add("");
+            if (member % 50 == 0) {
+                source.add(String.format("   public static class Inner%d {", member));
+                source.add(String.format("      public Inner%d() {", member));
+                source.add("      }");
+                source.add("   }");
+                source.add("");
+            }
+            member++;
+        }
+        source.add("}");
+
+        sourceBytes = String.join("\n", source).getBytes(StandardCharsets.UTF_8);
+        renamer = new RegexBasedSourceRenamer() {
+            @Override
+            public Map<String, String> getNames() {
+                return names;
+            }
+
+            @Override
+            public Map<String, String> getDocs() {
+                return docs;
+            }
+        };
+    }
+
+    @Benchmark
+    public int regexOnly() {
+        int matches = 0;
+        for (String line : source) {
+            if (RegexBasedSourceRenamer.PACKAGE_DECL.matcher(line).find())
+                matches++;
+            if (RegexBasedSourceRenamer.CONSTRUCTOR_JAVADOC_PATTERN.matcher(line).find()
+                    || RegexBasedSourceRenamer.METHOD_JAVADOC_PATTERN.matcher(line).find()
+                    || RegexBasedSourceRenamer.FIELD_JAVADOC_PATTERN.matcher(line).find()
+                    || RegexBasedSourceRenamer.CLASS_JAVADOC_PATTERN.matcher(line).find()
+                    || CLOSING_CURLY_BRACE.matcher(line).find())
+                matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int tokenizerPrefilter() {
+        int matches = 0;
+        for (String line : source) {
+            final int declarations = SourceLineTokenizer.classify(line);
+            if ((declarations & SourceLineTokenizer.PACKAGE) != 0 && RegexBasedSourceRenamer.PACKAGE_DECL.matcher(line).find())
+                matches++;
+            if (((declarations & SourceLineTokenizer.CONSTRUCTOR) != 0 && RegexBasedSourceRenamer.CONSTRUCTOR_JAVADOC_PATTERN.matcher(line).find())
+                    || ((declarations & SourceLineTokenizer.METHOD) != 0 && RegexBasedSourceRenamer.METHOD_JAVADOC_PATTERN.matcher(line).find())
+                    || ((declarations & SourceLineTokenizer.FIELD) != 0 && RegexBasedSourceRenamer.FIELD_JAVADOC_PATTERN.matcher(line).find())
+                    || ((declarations & SourceLineTokenizer.CLASS) != 0 && RegexBasedSourceRenamer.CLASS_JAVADOC_PATTERN.matcher(line).find())
+                    || SourceLineTokenizer.closingBraceIndent(line) >= 0)
+                matches++;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public byte[] renameWithJavadocs() throws IOException {
+        return renamer.rename(sourceBytes, true);
+    }
+}
@@ -40,6 +40,7 @@ import net.neoforged.gradle.dsl.common.extensions.obfuscation.Obfuscation;
 import net.neoforged.gradle.dsl.common.extensions.repository.Repository;
 import net.neoforged.gradle.dsl.common.runs.run.Runs;
 import net.neoforged.gradle.common.runs.run.RunImpl;
+import net.neoforged.gradle.util.RawZipWriter;
 import net.neoforged.gradle.util.UrlConstants;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -59,6 +60,9 @@ public class CommonProjectPlugin implements Plugin<Project> {
 
         project.getPluginManager().apply(JavaPlugin.class);
 
+        //All jar writing tasks of the build share one compression pool, which should not use more threads than gradle has workers.
+        RawZipWriter.setMaxCompressionThreads(project.getGradle().getStartParameter().getMaxWorkerCount());
+
         // Apply both the idea and eclipse IDE plugins
         project.getPluginManager().apply(IdeaPlugin.class);
         project.getPluginManager().apply(IdeaExtPlugin.class);
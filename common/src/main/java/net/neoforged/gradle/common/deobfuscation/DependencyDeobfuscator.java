@@ -9,6 +9,7 @@ import net.neoforged.gradle.common.runtime.tasks.CollectDependencyLibraries;
 import net.neoforged.gradle.common.runtime.tasks.Execute;
 import net.neoforged.gradle.common.tasks.ArtifactFromOutput;
 import net.neoforged.gradle.common.util.ConfigurationUtils;
+import net.neoforged.gradle.common.util.ToolResourceUtils;
 import net.neoforged.gradle.dsl.common.extensions.Mappings;
 import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
 import net.neoforged.gradle.dsl.common.extensions.dependency.replacement.Context;
@@ -449,6 +450,7 @@ public abstract class DependencyDeobfuscator {
                         task,
                         Optional.of(rawFileProvider)
                 ));
+                ToolResourceUtils.configure(task, ToolResourceUtils.Tool.DECOMPILER);
             });
         }
 
@@ -1,10 +1,13 @@
 package net.neoforged.gradle.common.extensions;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.minecraftforge.gdi.ConfigurableDSLElement;
+import net.neoforged.gradle.common.services.caching.DownloadCoordinator;
+import net.neoforged.gradle.common.util.BundledServerUtils;
 import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.common.util.FileDownloadingUtils;
 import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
@@ -13,7 +16,10 @@ import net.neoforged.gradle.dsl.common.util.CacheFileSelector;
 import net.neoforged.gradle.dsl.common.util.DistributionType;
 import net.neoforged.gradle.dsl.common.util.GameArtifact;
 import net.neoforged.gradle.dsl.common.util.NamingConstants;
+import net.neoforged.gradle.util.FileHashIndex;
+import net.neoforged.gradle.util.FileUtils;
 import net.neoforged.gradle.util.HashFunction;
+import net.neoforged.gradle.util.RevalidatingDownloader;
 import net.neoforged.gradle.util.UrlConstants;
 import org.gradle.api.Project;
 import org.gradle.api.file.DirectoryProperty;
@@ -26,15 +32,32 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSLElement<MinecraftArtifactCache>, MinecraftArtifactCache {
 
     private final Project project;
     private final Map<CacheFileSelector, File> cacheFiles;
+    private DownloadCoordinator downloadCoordinator;
+
+    /**
+     * The maximum amount of game artifacts which are downloaded at the same time, by {@link #cacheGameVersion(String, DistributionType)}.
+     */
+    private static final int MAX_CONCURRENT_ARTIFACT_DOWNLOADS = 4;
 
     private static final class TaskKey{
         private final Project project;
@@ -65,6 +88,23 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
     }
     private final Map<TaskKey, Map<GameArtifact, TaskProvider<? extends WithOutput>>> tasks = new ConcurrentHashMap<>();
 
+    /**
+     * The state of the cache which downloads need, resolved from the project up front so that downloads can run on other threads.
+     */
+    private static final class CacheContext {
+        private final File cacheDirectory;
+        private final File hashIndexFile;
+        private final boolean offline;
+        private final DownloadCoordinator coordinator;
+
+        private CacheContext(File cacheDirectory, File hashIndexFile, boolean offline, DownloadCoordinator coordinator) {
+            this.cacheDirectory = cacheDirectory;
+            this.hashIndexFile = hashIndexFile;
+            this.offline = offline;
+            this.coordinator = coordinator;
+        }
+    }
+
     @Inject
     public MinecraftArtifactCacheExtension(Project project) {
         this.project = project;
@@ -73,6 +113,8 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
         //TODO: Move this to gradle user home.
         this.getCacheDirectory().fileProvider(project.provider(() -> new File(project.getGradle().getGradleUserHomeDir(), "caches/minecraft")));
         this.getCacheDirectory().finalizeValueOnRead();
+        this.getMetadataTimeToLive().convention(Duration.ofHours(1));
+        this.getMetadataTimeToLive().finalizeValueOnRead();
     }
 
     @Override
@@ -96,13 +138,56 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
         final String finalGameVersion = gameVersion;
 
-        GameArtifact.LAUNCHER_MANIFEST.doWhenRequired(side, () -> result.put(GameArtifact.LAUNCHER_MANIFEST, this.cacheLauncherMetadata()));
         GameArtifact.LAUNCHER_MANIFEST.doWhenRequired(side, () -> result.put(GameArtifact.LAUNCHER_MANIFEST, this.cacheLauncherMetadata()));
         GameArtifact.VERSION_MANIFEST.doWhenRequired(side, () -> result.put(GameArtifact.VERSION_MANIFEST, this.cacheVersionManifest(finalGameVersion)));
-        GameArtifact.CLIENT_JAR.doWhenRequired(side, () -> result.put(GameArtifact.CLIENT_JAR, this.cacheVersionArtifact(finalGameVersion, DistributionType.CLIENT)));
-        GameArtifact.SERVER_JAR.doWhenRequired(side, () -> result.put(GameArtifact.SERVER_JAR, this.cacheVersionArtifact(finalGameVersion, DistributionType.SERVER)));
-        GameArtifact.CLIENT_MAPPINGS.doWhenRequired(side, () -> result.put(GameArtifact.CLIENT_MAPPINGS, this.cacheVersionMappings(finalGameVersion, DistributionType.CLIENT)));
-        GameArtifact.SERVER_MAPPINGS.doWhenRequired(side, () -> result.put(GameArtifact.SERVER_MAPPINGS, this.cacheVersionMappings(finalGameVersion, DistributionType.SERVER)));
+
+        //Once the version manifest is known, the remaining artifacts are independent of each other.
+        //Everything which needs the project is resolved on this thread, the downloads only get plain values.
+        final Map<GameArtifact, Callable<File>> downloads = new EnumMap<>(GameArtifact.class);
+        GameArtifact.CLIENT_JAR.doWhenRequired(side, () -> downloads.put(GameArtifact.CLIENT_JAR, versionArtifactDownload(finalGameVersion, DistributionType.CLIENT)));
+        GameArtifact.SERVER_JAR.doWhenRequired(side, () -> downloads.put(GameArtifact.SERVER_JAR, versionArtifactDownload(finalGameVersion, DistributionType.SERVER)));
+        GameArtifact.CLIENT_MAPPINGS.doWhenRequired(side, () -> downloads.put(GameArtifact.CLIENT_MAPPINGS, versionMappingsDownload(finalGameVersion, DistributionType.CLIENT)));
+        GameArtifact.SERVER_MAPPINGS.doWhenRequired(side, () -> downloads.put(GameArtifact.SERVER_MAPPINGS, versionMappingsDownload(finalGameVersion, DistributionType.SERVER)));
+
+        result.putAll(downloadConcurrently(finalGameVersion, downloads));
+
+        return result;
+    }
+
+    private Map<GameArtifact, File> downloadConcurrently(final String gameVersion, final Map<GameArtifact, Callable<File>> downloads) {
+        final Map<GameArtifact, File> result = new EnumMap<>(GameArtifact.class);
+        if (downloads.isEmpty()) {
+            return result;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENT_ARTIFACT_DOWNLOADS, downloads.size()), new ThreadFactoryBuilder()
+                .setNameFormat("neogradle-game-artifact-download-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            final Map<GameArtifact, Future<File>> futures = new EnumMap<>(GameArtifact.class);
+            downloads.forEach((artifact, download) -> futures.put(artifact, executor.submit(download)));
+
+            final List<Throwable> failures = new ArrayList<>();
+            for (Map.Entry<GameArtifact, Future<File>> entry : futures.entrySet()) {
+                try {
+                    result.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(String.format("Interrupted while caching game version %s", gameVersion), e);
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                final RuntimeException exception = new RuntimeException(String.format("Failed to cache %d of %d artifacts of game version %s", failures.size(), downloads.size(), gameVersion), failures.get(0));
+                failures.stream().skip(1).forEach(exception::addSuppressed);
+                throw exception;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
 
         return result;
     }
@@ -143,7 +228,7 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
         final CacheFileSelector cacheFileSelector = CacheFileSelector.forVersionJson(gameVersion);
         final String finalGameVersion = gameVersion;
-        return this.cacheFiles.computeIfAbsent(cacheFileSelector, selector -> downloadVersionManifestToCache(project, getCacheDirectory().get().getAsFile(), finalGameVersion));
+        return this.cacheCoordinated(createCacheContext(), cacheFileSelector, context -> downloadVersionManifestToCache(project, context.cacheDirectory, finalGameVersion));
     }
 
     @Override
@@ -152,7 +237,16 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
         final CacheFileSelector cacheFileSelector = CacheFileSelector.forVersionJar(gameVersion, side.getName());
         final String finalGameVersion = gameVersion;
-        return this.cacheFiles.computeIfAbsent(cacheFileSelector, selector -> downloadVersionArtifactToCache(project, getCacheDirectory().get().getAsFile(), finalGameVersion, side));
+        return this.cacheCoordinated(createCacheContext(), cacheFileSelector, context -> downloadVersionArtifactToCache(context, this.cacheVersionManifest(finalGameVersion), finalGameVersion, side));
+    }
+
+    @Override
+    public final File cacheExtractedServer(String gameVersion) {
+        gameVersion = resolveVersion(gameVersion);
+
+        final File serverJar = this.cacheVersionArtifact(gameVersion, DistributionType.SERVER);
+        final CacheFileSelector cacheFileSelector = CacheFileSelector.forExtractedServerJar(gameVersion);
+        return this.cacheCoordinated(createCacheContext(), cacheFileSelector, context -> extractServerToCache(serverJar, new File(context.cacheDirectory, cacheFileSelector.getCacheFileName())));
     }
 
     @Override
@@ -161,7 +255,21 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
         final CacheFileSelector cacheFileSelector = CacheFileSelector.forVersionMappings(gameVersion, side.getName());
         final String finalGameVersion = gameVersion;
-        return this.cacheFiles.computeIfAbsent(cacheFileSelector, selector -> downloadVersionMappingsToCache(project, getCacheDirectory().get().getAsFile(), finalGameVersion, side));
+        return this.cacheCoordinated(createCacheContext(), cacheFileSelector, context -> downloadVersionMappingsToCache(context, this.cacheVersionManifest(finalGameVersion), finalGameVersion, side));
+    }
+
+    private Callable<File> versionArtifactDownload(final String gameVersion, final DistributionType side) {
+        final CacheContext context = createCacheContext();
+        final File versionManifest = this.cacheVersionManifest(gameVersion);
+        final CacheFileSelector cacheFileSelector = CacheFileSelector.forVersionJar(gameVersion, side.getName());
+        return () -> this.cacheCoordinated(context, cacheFileSelector, c -> downloadVersionArtifactToCache(c, versionManifest, gameVersion, side));
+    }
+
+    private Callable<File> versionMappingsDownload(final String gameVersion, final DistributionType side) {
+        final CacheContext context = createCacheContext();
+        final File versionManifest = this.cacheVersionManifest(gameVersion);
+        final CacheFileSelector cacheFileSelector = CacheFileSelector.forVersionMappings(gameVersion, side.getName());
+        return () -> this.cacheCoordinated(context, cacheFileSelector, c -> downloadVersionMappingsToCache(c, versionManifest, gameVersion, side));
     }
 
     @Override
@@ -171,11 +279,56 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
     @Override
     public final File cache(final String url, final CacheFileSelector selector) {
-        return this.cacheFiles.computeIfAbsent(selector, cacheKey -> downloadJsonToCache(project, url, getCacheDirectory().getAsFile().get(), selector));
+        return this.cacheCoordinated(createCacheContext(), selector, context -> downloadJsonToCache(project, url, context.cacheDirectory, selector));
+    }
+
+    /**
+     * Looks up the file for the given selector in this session, or creates it through the download coordinator.
+     * The download runs outside any map computation, so that it can itself look up other cache files,
+     * and so that concurrent requesters of other files are not blocked by it.
+     *
+     * @param context The context of the cache, which has been resolved on the thread that owns the project
+     * @param selector The selector of the file
+     * @param downloader The function which downloads the file into the cache directory of the given context
+     * @return The cached file
+     */
+    private File cacheCoordinated(final CacheContext context, final CacheFileSelector selector, final Function<CacheContext, File> downloader) {
+        final File known = this.cacheFiles.get(selector);
+        if (known != null) {
+            return known;
+        }
+
+        final File cacheFile = new File(context.cacheDirectory, selector.getCacheFileName());
+        final File result = context.coordinator.coordinate(cacheFile, () -> downloader.apply(context));
+
+        final File previous = this.cacheFiles.putIfAbsent(selector, result);
+        return previous != null ? previous : result;
+    }
+
+    /**
+     * Resolves the project state which downloads need, so that they can run on other threads.
+     * This has to be called on the thread which owns the project.
+     */
+    private CacheContext createCacheContext() {
+        final File cacheDirectory = getCacheDirectory().get().getAsFile();
+        return new CacheContext(
+                cacheDirectory,
+                new File(cacheDirectory, FileCacheUtils.HASH_INDEX_FILE_NAME),
+                project.getGradle().getStartParameter().isOffline(),
+                getDownloadCoordinator()
+        );
+    }
+
+    private synchronized DownloadCoordinator getDownloadCoordinator() {
+        if (this.downloadCoordinator == null) {
+            this.downloadCoordinator = DownloadCoordinator.register(project).get();
+        }
+
+        return this.downloadCoordinator;
     }
 
     private File downloadVersionManifestToCache(Project project, final File cacheDirectory, final String minecraftVersion) {
-        final File manifestFile = new File(cacheDirectory, CacheFileSelector.launcherMetadata().getCacheFileName());
+        final File manifestFile = this.cacheLauncherMetadata();
 
         Gson gson = new Gson();
         String url = null;
@@ -201,33 +354,43 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
         return downloadJsonToCache(project, url, cacheDirectory, CacheFileSelector.forVersionJson(minecraftVersion));
     }
 
-    private File downloadVersionArtifactToCache(final Project project, final File cacheDirectory, String minecraftVersion, final DistributionType side) {
-        minecraftVersion = resolveVersion(minecraftVersion);
-
-        return doDownloadVersionDownloadToCache(project,
-                cacheDirectory,
-                minecraftVersion,
+    private static File downloadVersionArtifactToCache(final CacheContext context, final File versionManifestFile, final String minecraftVersion, final DistributionType side) {
+        return doDownloadVersionDownloadToCache(context,
+                versionManifestFile,
                 side.getName(),
                 CacheFileSelector.forVersionJar(minecraftVersion, side.getName()),
                 String.format("Failed to download game artifact %s for %s", side.getName(), minecraftVersion));
     }
 
-    private File downloadVersionMappingsToCache(final Project project, final File cacheDirectory, String minecraftVersion, final DistributionType side) {
-        minecraftVersion = resolveVersion(minecraftVersion);
-
-        return doDownloadVersionDownloadToCache(project,
-                cacheDirectory,
-                minecraftVersion,
+    private static File downloadVersionMappingsToCache(final CacheContext context, final File versionManifestFile, final String minecraftVersion, final DistributionType side) {
+        return doDownloadVersionDownloadToCache(context,
+                versionManifestFile,
                 String.format("%s_mappings", side.getName()),
                 CacheFileSelector.forVersionMappings(minecraftVersion, side.getName()),
                 String.format("Failed to download game mappings of %s for %s", side.getName(), minecraftVersion));
     }
 
-    private File doDownloadVersionDownloadToCache(Project project, File cacheDirectory, String minecraftVersion, final String artifact, final CacheFileSelector cacheFileSelector, final String potentialError) {
-        minecraftVersion = resolveVersion(minecraftVersion);
+    private static File extractServerToCache(final File serverJar, final File cacheFile) {
+        //The extracted server is derived from the downloaded one, it is only outdated if that has been downloaded again since.
+        if (cacheFile.isFile() && cacheFile.lastModified() >= serverJar.lastModified()) {
+            return cacheFile;
+        }
 
-        final File versionManifestFile = this.cacheVersionManifest(minecraftVersion);
+        final File temporaryFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+        try {
+            if (BundledServerUtils.isBundledServer(serverJar)) {
+                BundledServerUtils.extractBundledVersion(serverJar, temporaryFile);
+            } else {
+                Files.copy(serverJar.toPath(), temporaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            FileUtils.atomicMove(temporaryFile.toPath(), cacheFile.toPath());
+            return cacheFile;
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to extract the server: %s to: %s", serverJar, cacheFile), e);
+        }
+    }
 
+    private static File doDownloadVersionDownloadToCache(final CacheContext context, final File versionManifestFile, final String artifact, final CacheFileSelector cacheFileSelector, final String potentialError) {
         try {
             Gson gson = new Gson();
             Reader reader = new FileReader(versionManifestFile);
@@ -241,16 +404,13 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
 
             final FileDownloadingUtils.DownloadInfo info = new FileDownloadingUtils.DownloadInfo(url, hash, "jar", version, artifact);
 
-            final File cacheFile = new File(cacheDirectory, cacheFileSelector.getCacheFileName());
+            final File cacheFile = new File(context.cacheDirectory, cacheFileSelector.getCacheFileName());
 
-            if (cacheFile.exists()) {
-                final String fileHash = HashFunction.SHA1.hash(cacheFile);
-                if (fileHash.equals(hash)) {
-                    return cacheFile;
-                }
+            if (FileHashIndex.get(context.hashIndexFile).matches(cacheFile, HashFunction.SHA1, hash)) {
+                return cacheFile;
             }
 
-            FileDownloadingUtils.downloadTo(project, info, cacheFile);
+            FileDownloadingUtils.downloadTo(context.offline, context.hashIndexFile, info, cacheFile);
             return cacheFile;
         } catch (IOException e) {
             throw new RuntimeException(potentialError, e);
@@ -264,7 +424,12 @@ public abstract class MinecraftArtifactCacheExtension implements ConfigurableDSL
     }
 
     private void downloadJsonTo(Project project, String url, File file) {
-        FileDownloadingUtils.downloadThrowing(project, new FileDownloadingUtils.DownloadInfo(url, null, "json", null, null), file);
+        try {
+            final RevalidatingDownloader.Result result = RevalidatingDownloader.download(new URL(url), file, getMetadataTimeToLive().get(), project.getGradle().getStartParameter().isOffline());
+            project.getLogger().debug("Resolved {} to {}: {}", url, file, result);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to download the file from: %s to: %s", url, file), e);
+        }
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -283,6 +284,18 @@ public abstract class CommonRuntimeDefinition<S extends CommonRuntimeSpecificati
         return delegated;
     }
 
+    protected ListProperty<String> interpolate(final ListProperty<String> input, final Provider<Map<String, String>> values, String patternPrefix) {
+        final ListProperty<String> delegated = getSpecification().getProject().getObjects().listProperty(String.class);
+        delegated.set(input.zip(values, (list, resolvedValues) -> list.stream().map(s -> interpolate(s, resolvedValues, patternPrefix)).collect(Collectors.toList())));
+        return delegated;
+    }
+
+    protected MapProperty<String, String> interpolate(final MapProperty<String, String> input, final Provider<Map<String, String>> values, String patternPrefix) {
+        final MapProperty<String, String> delegated = getSpecification().getProject().getObjects().mapProperty(String.class, String.class);
+        delegated.set(input.zip(values, (map, resolvedValues) -> map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> interpolate(e.getValue(), resolvedValues, patternPrefix)))));
+        return delegated;
+    }
+
     private static String interpolate(final String input, final Map<String, String> values, String patternPrefix) {
         if (input == null)
             throw new IllegalArgumentException("Input cannot be null");
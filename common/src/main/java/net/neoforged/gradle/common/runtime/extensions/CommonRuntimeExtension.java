@@ -6,20 +6,24 @@ import net.neoforged.gradle.common.runtime.definition.IDelegatingRuntimeDefiniti
 import net.neoforged.gradle.common.runtime.specification.CommonRuntimeSpecification;
 import net.neoforged.gradle.common.runtime.tasks.DownloadAssets;
 import net.neoforged.gradle.common.runtime.tasks.ExtractNatives;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
 import net.neoforged.gradle.common.util.VersionJson;
 import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
 import net.neoforged.gradle.dsl.common.runtime.extensions.CommonRuntimes;
 import net.neoforged.gradle.dsl.common.runtime.spec.Specification;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.util.CacheableMinecraftVersion;
 import net.neoforged.gradle.dsl.common.util.CommonRuntimeUtils;
 import net.neoforged.gradle.dsl.common.util.DistributionType;
 import net.neoforged.gradle.dsl.common.util.GameArtifact;
+import net.neoforged.gradle.dsl.common.util.JarCompression;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
@@ -31,12 +35,21 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 public abstract class CommonRuntimeExtension<S extends CommonRuntimeSpecification, B extends CommonRuntimeSpecification.Builder<S, B>, D extends CommonRuntimeDefinition<S>> implements CommonRuntimes<S, B, D> {
+    /**
+     * The gradle property which provides the default value of {@link #getLazyCreation()}.
+     */
+    public static final String LAZY_CREATION_PROPERTY = "neogradle.runtime.lazyCreation";
+
     protected final Map<String, D> runtimes = Maps.newHashMap();
     private final Project project;
 
     protected CommonRuntimeExtension(Project project) {
         this.project = project;
         this.project.getExtensions().getByType(RuntimesExtension.class).add(this);
+
+        getLazyCreation().convention(project.getProviders().gradleProperty(LAZY_CREATION_PROPERTY).map(Boolean::parseBoolean).orElse(false));
+        getIntermediateCompression().convention(JarCompressionUtils.getDefaultCompression(project, true));
+        getFinalCompression().convention(JarCompressionUtils.getDefaultCompression(project, false));
     }
 
     public static void configureCommonRuntimeTaskParameters(Runtime runtimeTask, Map<String, File> data, String step, Specification spec, File runtimeDirectory) {
@@ -47,6 +60,12 @@ public abstract class CommonRuntimeExtension<S extends CommonRuntimeSpecificatio
         runtimeTask.getRuntimeDirectory().set(runtimeDirectory);
         runtimeTask.getRuntimeName().set(spec.getVersionedName());
         runtimeTask.getJavaVersion().convention(spec.getProject().getExtensions().getByType(JavaPluginExtension.class).getToolchain().getLanguageVersion());
+
+        if (runtimeTask instanceof WithCompression && spec instanceof CommonRuntimeSpecification) {
+            final WithCompression compressingTask = (WithCompression) runtimeTask;
+            final CommonRuntimeExtension<?, ?, ?> runtimeExtension = ((CommonRuntimeSpecification) spec).getRuntimeExtension();
+            compressingTask.getCompression().convention(compressingTask.isIntermediateOutput() ? runtimeExtension.getIntermediateCompression() : runtimeExtension.getFinalCompression());
+        }
     }
 
     public static void configureCommonRuntimeTaskParameters(Runtime mcpRuntimeTask, Map<String, File> data, String step, DistributionType distributionType, String minecraftVersion, Project project, File runtimeDirectory) {
@@ -74,6 +93,15 @@ public abstract class CommonRuntimeExtension<S extends CommonRuntimeSpecificatio
         return getProject().provider(() -> this.runtimes);
     }
 
+    @Override
+    public abstract Property<Boolean> getLazyCreation();
+
+    @Override
+    public abstract Property<JarCompression> getIntermediateCompression();
+
+    @Override
+    public abstract Property<JarCompression> getFinalCompression();
+
     @Override
     @NotNull
     public final D maybeCreate(final Action<B> configurator) {
@@ -160,18 +188,26 @@ public abstract class CommonRuntimeExtension<S extends CommonRuntimeSpecificatio
                 .collect(Collectors.toSet());
     }
 
-    protected final TaskProvider<DownloadAssets> createDownloadAssetsTasks(final CommonRuntimeSpecification specification, final Map<String, File> data, final File runtimeDirectory, final VersionJson versionJson) {
+    /**
+     * Creates the asset download task, which reads the version json from the output of the given task when it executes,
+     * so that the version json is not needed during configuration.
+     */
+    protected final TaskProvider<DownloadAssets> createDownloadAssetsTasks(final CommonRuntimeSpecification specification, final Map<String, File> data, final File runtimeDirectory, final TaskProvider<? extends WithOutput> versionJsonTask) {
         return specification.getProject().getTasks().register(CommonRuntimeUtils.buildTaskName(specification, "downloadAssets"), DownloadAssets.class, task -> {
-            task.getVersionJson().set(versionJson);
+            task.getVersionJsonFile().set(versionJsonTask.flatMap(WithOutput::getOutput));
 
             configureCommonRuntimeTaskParameters(task, data, "downloadAssets", specification, runtimeDirectory);
             task.getOutputDirectory().set(task.getStepsDirectory().map(dir -> dir.dir("downloadAssets")));
         });
     }
 
-    protected final TaskProvider<ExtractNatives> createExtractNativesTasks(final CommonRuntimeSpecification specification, final Map<String, File> data, final File runtimeDirectory, final VersionJson versionJson) {
+    /**
+     * Creates the natives extraction task, which reads the version json from the output of the given task when it executes,
+     * so that the version json is not needed during configuration.
+     */
+    protected final TaskProvider<ExtractNatives> createExtractNativesTasks(final CommonRuntimeSpecification specification, final Map<String, File> data, final File runtimeDirectory, final TaskProvider<? extends WithOutput> versionJsonTask) {
         return specification.getProject().getTasks().register(CommonRuntimeUtils.buildTaskName(specification, "extractNatives"), ExtractNatives.class, task -> {
-            task.getVersionJson().set(versionJson);
+            task.getVersionJsonFile().set(versionJsonTask.flatMap(WithOutput::getOutput));
 
             configureCommonRuntimeTaskParameters(task, data, "extractNatives", specification, runtimeDirectory);
             task.getOutputDirectory().set(task.getStepsDirectory().map(dir -> dir.dir("downloadAssets")));
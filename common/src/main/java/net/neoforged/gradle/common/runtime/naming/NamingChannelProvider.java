@@ -26,19 +26,19 @@ import net.neoforged.gradle.common.runtime.definition.IDelegatingRuntimeDefiniti
 import net.neoforged.gradle.common.runtime.naming.tasks.GenerateDebuggingMappings;
 import net.neoforged.gradle.common.runtime.specification.CommonRuntimeSpecification;
 import net.neoforged.gradle.common.util.CacheableIMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.dsl.common.runtime.naming.GenerationTaskBuildingContext;
 import net.neoforged.gradle.dsl.common.runtime.naming.NamingChannel;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.util.NamingConstants;
-import net.neoforged.gradle.util.IMappingFileUtils;
-import net.neoforged.gradle.util.TransformerUtils;
 import org.gradle.api.Project;
 import org.gradle.api.file.RegularFile;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.io.File;
 import java.util.Optional;
 
 /**
@@ -93,6 +93,7 @@ public abstract class NamingChannelProvider implements NamingChannel, Configurab
 
         final String generateTaskName = context.getTaskNameBuilder().apply("generateDebuggingMappingsJar");
 
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(context.getProject());
         return context.getProject().getTasks().register(generateTaskName, GenerateDebuggingMappings.class, task -> {
             final TaskProvider<? extends WithOutput> runtimeToSourceMappingsTask = definition.getRuntimeToSourceMappingsTaskProvider();
 
@@ -101,8 +102,8 @@ public abstract class NamingChannelProvider implements NamingChannel, Configurab
 
             task.getMappingsFile().set(runtimeToSourceMappingsTask.flatMap(WithOutput::getOutput)
                     .map(RegularFile::getAsFile)
-                    .map(TransformerUtils.guard(IMappingFileUtils::load))
-                    .map(CacheableIMappingFile::new)
+                    .map(file -> task.getMappingsCache().get().load(file).get())
+                    .map(mappings -> new CacheableIMappingFile(mappings, mappingsCacheDirectory))
             );
             task.dependsOn(runtimeToSourceMappingsTask);
         });
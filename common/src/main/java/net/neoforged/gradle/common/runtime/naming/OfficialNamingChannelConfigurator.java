@@ -3,8 +3,10 @@ package net.neoforged.gradle.common.runtime.naming;
 import net.minecraftforge.srgutils.IMappingFile;
 import net.neoforged.gradle.common.runtime.extensions.RuntimesExtension;
 import net.neoforged.gradle.common.runtime.naming.tasks.*;
+import net.neoforged.gradle.common.services.caching.MappingsCache;
 import net.neoforged.gradle.common.tasks.WriteIMappingsFile;
 import net.neoforged.gradle.common.util.CacheableIMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.common.util.MappingUtils;
 import net.neoforged.gradle.common.util.TaskDependencyUtils;
 import net.neoforged.gradle.common.util.exceptions.MultipleDefinitionsFoundException;
@@ -20,7 +22,6 @@ import net.neoforged.gradle.dsl.common.util.CommonRuntimeUtils;
 import net.neoforged.gradle.dsl.common.util.DistributionType;
 import net.neoforged.gradle.dsl.common.util.GameArtifact;
 import net.neoforged.gradle.dsl.common.util.NamingConstants;
-import net.neoforged.gradle.util.TransformerUtils;
 import org.gradle.api.Project;
 import org.gradle.api.Transformer;
 import org.gradle.api.file.RegularFile;
@@ -187,13 +188,16 @@ public final class OfficialNamingChannelConfigurator {
     private @NotNull TaskProvider<? extends Runtime> buildRuntimeToSourceMappingsTask(@NotNull final GenerationTaskBuildingContext context) {
         final String writeRuntimeToSourceMappingsTaskName = context.getTaskNameBuilder().apply("writeRuntimeToSourceMappings");
 
+        final Provider<MappingsCache> mappingsCache = MappingsCache.register(context.getProject());
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(context.getProject());
         return context.getProject().getTasks().register(writeRuntimeToSourceMappingsTaskName, WriteIMappingsFile.class, task -> {
+            task.usesService(mappingsCache);
             task.setGroup("mappings/official");
             task.setDescription("Writes the mapping file from runtime to source mappings");
             task.getFormat().set(IMappingFile.Format.TSRG2);
             task.getMappings().set(context.getClientMappings().flatMap(WithOutput::getOutput)
-                    .map(TransformerUtils.guard(file -> IMappingFile.load(file.getAsFile())))
-                    .map(CacheableIMappingFile::new)
+                    .map(file -> mappingsCache.get().load(file.getAsFile()).get())
+                    .map(mappings -> new CacheableIMappingFile(mappings, mappingsCacheDirectory))
             );
             task.dependsOn(context.getClientMappings());
         });
@@ -0,0 +1,88 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renames the members targeted by access transformer lines.
+ * <p>
+ * Each line is tokenized in one pass over its characters, comments and surrounding whitespace are dropped, and only the
+ * member name is renamed. The access modifier, the owner and the descriptor are copied from the line as is.
+ */
+public final class AccessTransformerRenamer {
+
+    private AccessTransformerRenamer() {
+        throw new IllegalStateException("Can not instantiate an instance of: AccessTransformerRenamer. This is a utility class");
+    }
+
+    /**
+     * Renames the given access transformer lines. Lines which are empty once their comment is removed are skipped.
+     *
+     * @param renamer The renamer to rename the members with
+     * @param lines The lines of the access transformer
+     * @return The renamed lines
+     */
+    public static List<String> rename(final ITypeRenamer renamer, final List<String> lines) {
+        final List<String> result = new ArrayList<>(lines.size());
+        final StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.setLength(0);
+            if (renameLine(renamer, line, builder)) {
+                result.add(builder.toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends the renamed form of the given line to the builder.
+     *
+     * @return False if the line does not contain an entry
+     */
+    static boolean renameLine(final ITypeRenamer renamer, final String line, final StringBuilder output) {
+        int end = line.indexOf('#');
+        if (end < 0)
+            end = line.length();
+
+        //Token boundaries: the access modifier, the owner and the member.
+        final int[] bounds = new int[6];
+        int tokens = 0;
+        int index = 0;
+        while (tokens < 3) {
+            while (index < end && Character.isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            if (index == end)
+                break;
+
+            bounds[tokens * 2] = index;
+            while (index < end && !Character.isWhitespace(line.charAt(index))) {
+                index++;
+            }
+            bounds[tokens * 2 + 1] = index;
+            tokens++;
+        }
+
+        if (tokens == 0)
+            return false;
+
+        output.append(line, bounds[0], bounds[1]);
+        if (tokens == 1)
+            return true;
+
+        output.append(' ').append(line, bounds[2], bounds[3]);
+        if (tokens == 2)
+            return true;
+
+        final String owner = line.substring(bounds[2], bounds[3]);
+        final int descriptor = line.indexOf('(', bounds[4]);
+        output.append(' ');
+        if (descriptor >= 0 && descriptor < bounds[5]) {
+            output.append(renamer.renameMethod(owner, line.substring(bounds[4], descriptor), line.substring(descriptor, bounds[5])));
+            output.append(line, descriptor, bounds[5]);
+        } else {
+            output.append(renamer.renameField(owner, line.substring(bounds[4], bounds[5])));
+        }
+        return true;
+    }
+}
@@ -29,6 +29,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Renames sources with the names read from the client and server mappings.
+ */
 public class IMappingFileSourceRenamer extends RegexBasedSourceRenamer {
 
     private final Map<String, String> names;
@@ -8,9 +8,19 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectStreamException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Renames types and members with the client mappings, falling back to the server mappings.
+ * <p>
+ * Member lookups go through tables which are built once, on first use, from both mappings. They only contain the members
+ * which are renamed, keyed by the owner in both its binary and its dotted form, so that owners from access transformers
+ * can be looked up without converting them first.
+ */
 public class IMappingFileTypeRenamer implements ITypeRenamer {
 
     public static ITypeRenamer from(final File clientFile, final File serverFile) throws IOException {
@@ -26,6 +36,7 @@ public class IMappingFileTypeRenamer implements ITypeRenamer {
 
     private IMappingFile clientMappings;
     private IMappingFile serverMappings;
+    private transient volatile MemberTable members;
 
     private IMappingFileTypeRenamer(IMappingFile clientMappings, IMappingFile serverMappings) {
         this.clientMappings = clientMappings;
@@ -43,40 +54,12 @@ public class IMappingFileTypeRenamer implements ITypeRenamer {
 
     @Override
     public String renameField(String owner, String name) {
-        final IMappingFile.IClass clientClass = clientMappings.getClass(owner.replace('.', '/'));
-        if (clientClass != null) {
-            final String clientName = clientClass.remapField(name);
-            if (!Objects.equals(clientName, name))
-                return clientName;
-        }
-
-        final IMappingFile.IClass serverClass = serverMappings.getClass(owner.replace('.', '/'));
-        if (serverClass != null) {
-            final String serverName = serverClass.remapField(name);
-            if (!Objects.equals(serverName, name))
-                return serverName;
-        }
-
-        return name;
+        return getMembers().fields.getOrDefault(owner, Collections.emptyMap()).getOrDefault(name, name);
     }
 
     @Override
     public String renameMethod(String owner, String name, String desc) {
-        final IMappingFile.IClass clientClass = clientMappings.getClass(owner.replace('.', '/'));
-        if (clientClass != null) {
-            final String clientName = clientClass.remapMethod(name, desc);
-            if (!Objects.equals(clientName, name))
-                return clientName;
-        }
-
-        final IMappingFile.IClass serverClass = serverMappings.getClass(owner.replace('.', '/'));
-        if (serverClass != null) {
-            final String serverName = serverClass.remapMethod(name, desc);
-            if (!Objects.equals(serverName, name))
-                return serverName;
-        }
-
-        return name;
+        return getMembers().methods.getOrDefault(owner, Collections.emptyMap()).getOrDefault(name + desc, name);
     }
 
     @Override
@@ -92,6 +75,54 @@ public class IMappingFileTypeRenamer implements ITypeRenamer {
         return desc;
     }
 
+    private MemberTable getMembers() {
+        MemberTable result = members;
+        if (result == null) {
+            synchronized (this) {
+                result = members;
+                if (result == null) {
+                    result = new MemberTable();
+                    //The client mappings take precedence, so they are added last.
+                    result.add(serverMappings);
+                    result.add(clientMappings);
+                    members = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The renamed members of the mappings, by the binary and the dotted name of their owner.
+     * Methods are keyed by their name followed by their descriptor.
+     */
+    private static final class MemberTable {
+        private final Map<String, Map<String, String>> fields = new HashMap<>();
+        private final Map<String, Map<String, String>> methods = new HashMap<>();
+
+        private void add(final IMappingFile mappings) {
+            for (IMappingFile.IClass cls : mappings.getClasses()) {
+                final Map<String, String> classFields = fields.computeIfAbsent(cls.getOriginal(), key -> new HashMap<>());
+                for (IMappingFile.IField field : cls.getFields()) {
+                    if (!Objects.equals(field.getMapped(), field.getOriginal()))
+                        classFields.put(field.getOriginal(), field.getMapped());
+                }
+
+                final Map<String, String> classMethods = methods.computeIfAbsent(cls.getOriginal(), key -> new HashMap<>());
+                for (IMappingFile.IMethod method : cls.getMethods()) {
+                    if (!Objects.equals(method.getMapped(), method.getOriginal()))
+                        classMethods.put(method.getOriginal() + method.getDescriptor(), method.getMapped());
+                }
+
+                final String dottedName = cls.getOriginal().replace('/', '.');
+                if (!dottedName.equals(cls.getOriginal())) {
+                    fields.put(dottedName, classFields);
+                    methods.put(dottedName, classMethods);
+                }
+            }
+        }
+    }
+
     private void writeObject(java.io.ObjectOutputStream out) throws IOException {
         final List<String> clientLines = IMappingFileUtils.writeMappingFile(clientMappings, IMappingFile.Format.TSRG2, false);
         final List<String> serverLines = IMappingFileUtils.writeMappingFile(serverMappings, IMappingFile.Format.TSRG2, false);
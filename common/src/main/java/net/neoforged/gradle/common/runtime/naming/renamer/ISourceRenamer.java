@@ -1,10 +1,15 @@
 package net.neoforged.gradle.common.runtime.naming.renamer;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 /**
  * Defines a renamer which renames a source file or parts of it.
  * Generally source renamers only support renaming source files which have unique, type, field and method names.
+ * <p>
+ * Implementations need to be thread safe, {@link #rename(byte[], boolean, boolean)} is called concurrently for different
+ * source files of the same jar. Any state which is shared between calls must not be modified once the renamer is created,
+ * or be guarded accordingly.
  */
 public interface ISourceRenamer {
     /**
@@ -17,4 +22,16 @@ public interface ISourceRenamer {
      * @throws IOException If an error occurs while renaming.
      */
     byte[] rename(byte[] classFile, boolean javadocs, boolean lambdas) throws IOException;
+
+    /**
+     * A fingerprint of everything which influences the output of this renamer, like its mappings and its implementation.
+     * Two renamers with the same fingerprint need to produce the same output for the same source file,
+     * which allows reusing the renamed sources of earlier runs.
+     *
+     * @return The fingerprint, or null if the output of this renamer can not be reused.
+     */
+    @Nullable
+    default String getFingerprint() {
+        return null;
+    }
 }
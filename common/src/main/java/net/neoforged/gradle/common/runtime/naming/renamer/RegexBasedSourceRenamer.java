@@ -1,38 +1,53 @@
 package net.neoforged.gradle.common.runtime.naming.renamer;
 
+import net.neoforged.gradle.util.HashFunction;
 import net.neoforged.gradle.util.JavadocAdder;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.gradle.api.tasks.Nested;
 
-import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.StringReader;
+import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * A source renamer which renames srg identifiers and optionally injects javadocs.
+ * <p>
+ * All state of a rename call is local to it, the only shared state are the names and docs, which are only read,
+ * and the lazily created scanner. Subclasses need to return maps which are fully populated once the renamer is created
+ * and never modified afterwards, this makes the renamer safe for concurrent use.
+ */
 public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
     private static final String NEWLINE = System.getProperty("line.separator");
-    private static final Pattern SRG_FINDER = Pattern.compile("[fF]unc_\\d+_[a-zA-Z_]+|m_\\d+_|[fF]ield_\\d+_[a-zA-Z_]+|f_\\d+_|p_\\w+_\\d+_|p_\\d+_");
-    private static final Pattern CONSTRUCTOR_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(public |private|protected |)(?<generic><[\\w\\W]*>\\s+)?(?<name>[\\w.]+)\\((?<parameters>.*)\\)\\s+(?:throws[\\w.,\\s]+)?\\{");
-    private static final Pattern METHOD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*(?<generic><[\\w\\W]*>\\s+)?(?<return>\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*)\\s+(?<name>(?:func_|m_)[0-9]+_[a-zA-Z_]*)\\(");
-    private static final Pattern FIELD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*\\s+(?<name>(?:field_|f_)[0-9]+_[a-zA-Z_]*) *[=;]");
-    private static final Pattern CLASS_JAVADOC_PATTERN = Pattern.compile("^(?<indent> *|\\t*)([\\w|@]*\\s)*(class|interface|@interface|enum) (?<name>[\\w]+)");
-    private static final Pattern CLOSING_CURLY_BRACE = Pattern.compile("^(?<indent> *|\\t*)}");
-    private static final Pattern PACKAGE_DECL = Pattern.compile("^[\\s]*package(\\s)*(?<name>[\\w|.]+);$");
+    static final Pattern CONSTRUCTOR_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(public |private|protected |)(?<generic><[\\w\\W]*>\\s+)?(?<name>[\\w.]+)\\((?<parameters>.*)\\)\\s+(?:throws[\\w.,\\s]+)?\\{");
+    static final Pattern METHOD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*(?<generic><[\\w\\W]*>\\s+)?(?<return>\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*)\\s+(?<name>(?:func_|m_)[0-9]+_[a-zA-Z_]*)\\(");
+    static final Pattern FIELD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*\\s+(?<name>(?:field_|f_)[0-9]+_[a-zA-Z_]*) *[=;]");
+    static final Pattern CLASS_JAVADOC_PATTERN = Pattern.compile("^(?<indent> *|\\t*)([\\w|@]*\\s)*(class|interface|@interface|enum) (?<name>[\\w]+)");
+    static final Pattern PACKAGE_DECL = Pattern.compile("^[\\s]*package(\\s)*(?<name>[\\w|.]+);$");
     private static final Pattern LAMBDA_DECL = Pattern.compile("\\((?<args>(?:(?:, ){0,1}p_[\\w]+_\\d+_\\b)+)\\) ->");
 
+    /**
+     * The version of the renaming logic, which needs to be bumped whenever a change to it changes the renamed sources.
+     */
+    private static final int IMPLEMENTATION_VERSION = 1;
+
+    private transient volatile SrgIdentifierScanner scanner;
+    private transient volatile String fingerprint;
+
     /**
      * Inserts the given javadoc line into the list of lines before any annotations
      */
@@ -55,12 +70,33 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
             throws IOException {
 
         String data = new String(classFile, sourceFileCharset);
-        List<String> input = IOUtils.readLines(new StringReader(data));
 
         // Return early on emtpy files
         if (data.isEmpty())
             return "".getBytes(sourceFileCharset);
 
+        final SrgIdentifierScanner scanner = getScanner();
+        if (!javadocs && lambdas) {
+            //Nothing needs to look at whole lines, so rename the file in one pass.
+            final StringBuilder output = new StringBuilder(data.length() + data.length() / 4);
+            int lineStart = 0;
+            for (int i = 0; i < data.length(); i++) {
+                final char c = data.charAt(i);
+                if (c != '\r' && c != '\n')
+                    continue;
+
+                scanner.rename(data, lineStart, i, null, output);
+                output.append(NEWLINE);
+                if (c == '\r' && i + 1 < data.length() && data.charAt(i + 1) == '\n')
+                    i++;
+                lineStart = i + 1;
+            }
+            scanner.rename(data, lineStart, data.length(), null, output);
+            return output.toString().getBytes(sourceFileCharset);
+        }
+
+        List<String> input = IOUtils.readLines(new StringReader(data));
+
         //Reader doesn't give us the empty line if the file ends with a newline.. so add one.
         if (data.charAt(data.length() - 1) == '\r' || data.charAt(data.length() - 1) == '\n')
             input.add("");
@@ -80,16 +116,23 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
             }
         }
 
+        final StringBuilder renamed = new StringBuilder();
         for (String line : input) {
-            Matcher m = PACKAGE_DECL.matcher(line);
-            if (m.find())
-                _package = m.group("name") + ".";
+            //The tokenizer rules out most lines, so that the patterns only need to run on the few possible declarations.
+            final int declarations = SourceLineTokenizer.classify(line);
+            if ((declarations & SourceLineTokenizer.PACKAGE) != 0) {
+                Matcher m = PACKAGE_DECL.matcher(line);
+                if (m.find())
+                    _package = m.group("name") + ".";
+            }
 
             if (javadocs) {
-                if (!injectJavadoc(lines, line, _package, innerClasses))
+                if (!injectJavadoc(lines, line, declarations, _package, innerClasses))
                     javadocs = false;
             }
-            lines.add(rename(line, blacklist));
+            renamed.setLength(0);
+            scanner.rename(line, 0, line.length(), blacklist, renamed);
+            lines.add(renamed.toString());
         }
         return String.join(NEWLINE, lines).getBytes(sourceFileCharset);
     }
@@ -100,18 +143,23 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
      *
      * @param lines        The current file content (to be modified by this method)
      * @param line         The line that was just read (will not be in the list)
+     * @param declarations The declarations the line can contain, as classified by the {@link SourceLineTokenizer}
      * @param _package     the name of the package this file is declared to be in, in com.example format;
      * @param innerClasses current position in inner class
      */
-    private boolean injectJavadoc(List<String> lines, String line, String _package, Deque<Pair<String, Integer>> innerClasses) {
+    private boolean injectJavadoc(List<String> lines, String line, int declarations, String _package, Deque<Pair<String, Integer>> innerClasses) {
         // constructors
-        Matcher matcher = CONSTRUCTOR_JAVADOC_PATTERN.matcher(line);
-        boolean isConstructor = matcher.find() && !innerClasses.isEmpty() && innerClasses.peek().getLeft().contains(matcher.group("name"));
+        Matcher matcher = null;
+        boolean isConstructor = false;
+        if ((declarations & SourceLineTokenizer.CONSTRUCTOR) != 0 && !innerClasses.isEmpty()) {
+            matcher = CONSTRUCTOR_JAVADOC_PATTERN.matcher(line);
+            isConstructor = matcher.find() && innerClasses.peek().getLeft().contains(matcher.group("name"));
+        }
         // methods
         if (!isConstructor)
-            matcher = METHOD_JAVADOC_PATTERN.matcher(line);
+            matcher = (declarations & SourceLineTokenizer.METHOD) != 0 ? METHOD_JAVADOC_PATTERN.matcher(line) : null;
 
-        if (isConstructor || matcher.find()) {
+        if (isConstructor || (matcher != null && matcher.find())) {
             String name = isConstructor ? "<init>" : matcher.group("name");
             String javadoc = getDocs().get(name);
             if (javadoc == null && !innerClasses.isEmpty() && !name.startsWith("func_") && !name.startsWith("m_")) {
@@ -126,8 +174,8 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
         }
 
         // fields
-        matcher = FIELD_JAVADOC_PATTERN.matcher(line);
-        if (matcher.find()) {
+        matcher = (declarations & SourceLineTokenizer.FIELD) != 0 ? FIELD_JAVADOC_PATTERN.matcher(line) : null;
+        if (matcher != null && matcher.find()) {
             String name = matcher.group("name");
             String javadoc = getDocs().get(name);
             if (javadoc == null && !innerClasses.isEmpty() && !name.startsWith("field_") && !name.startsWith("f_")) {
@@ -141,8 +189,8 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
         }
 
         //classes
-        matcher = CLASS_JAVADOC_PATTERN.matcher(line);
-        if (matcher.find()) {
+        matcher = (declarations & SourceLineTokenizer.CLASS) != 0 ? CLASS_JAVADOC_PATTERN.matcher(line) : null;
+        if (matcher != null && matcher.find()) {
             //we maintain a stack of the current (inner) class in com.example.ClassName$Inner format (along with indentation)
             //if the stack is not empty we are entering a new inner class
             String currentClass = (innerClasses.isEmpty() ? _package : innerClasses.peek().getLeft() + "$") + matcher.group("name");
@@ -156,10 +204,9 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
         }
 
         //detect curly braces for inner class stacking/end identification
-        matcher = CLOSING_CURLY_BRACE.matcher(line);
-        if (matcher.find()) {
+        int len = SourceLineTokenizer.closingBraceIndent(line);
+        if (len >= 0) {
             if (!innerClasses.isEmpty()) {
-                int len = matcher.group("indent").length();
                 if (len == innerClasses.peek().getRight()) {
                     innerClasses.pop();
                 } else if (len < innerClasses.peek().getRight()) {
@@ -172,36 +219,52 @@ public abstract class RegexBasedSourceRenamer implements ISourceRenamer {
         return true;
     }
 
-    /*
-     * There are certain times, such as Mixin Accessors that we wish to have the name of this method with the first character upper case.
-     */
-    private String getMapped(String srg, @Nullable Set<String> blacklist) {
-        if (blacklist != null && blacklist.contains(srg))
-            return srg;
-
-        boolean cap = srg.charAt(0) == 'F';
-        if (cap)
-            srg = 'f' + srg.substring(1);
-
-        String ret = getNames().getOrDefault(srg, srg);
-        if (cap)
-            ret = ret.substring(0, 1).toUpperCase(Locale.ENGLISH) + ret.substring(1);
-        return ret;
+    @Override
+    public String getFingerprint() {
+        String result = fingerprint;
+        if (result == null) {
+            final MessageDigest digest = HashFunction.SHA256.get();
+            update(digest, getClass().getName() + "@" + IMPLEMENTATION_VERSION);
+            update(digest, getNames());
+            update(digest, getDocs());
+            result = HashFunction.SHA256.pad(new BigInteger(1, digest.digest()).toString(16));
+            fingerprint = result;
+        }
+        return result;
     }
 
-    private String rename(String line) {
-        return rename(line, null);
+    private static void update(final MessageDigest digest, final Map<String, String> entries) {
+        //Sorted, as the iteration order of the maps depends on how they were populated.
+        final List<String> keys = new ArrayList<>(entries.keySet());
+        Collections.sort(keys);
+        update(digest, String.valueOf(keys.size()));
+        for (String key : keys) {
+            update(digest, key);
+            update(digest, String.valueOf(entries.get(key)));
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
     }
 
-    private String rename(String line, @Nullable Set<String> blacklist) {
-        StringBuffer buf = new StringBuffer();
-        Matcher matcher = SRG_FINDER.matcher(line);
-        while (matcher.find()) {
-            // Since '$' is a valid character in identifiers, but we need to NOT treat this as a regex group, escape any occurrences
-            matcher.appendReplacement(buf, Matcher.quoteReplacement(getMapped(matcher.group(), blacklist)));
+    private SrgIdentifierScanner getScanner() {
+        SrgIdentifierScanner result = scanner;
+        if (result == null) {
+            synchronized (this) {
+                result = scanner;
+                if (result == null) {
+                    result = new SrgIdentifierScanner(getNames());
+                    scanner = result;
+                }
+            }
         }
-        matcher.appendTail(buf);
-        return buf.toString();
+        return result;
     }
 
     @Nested
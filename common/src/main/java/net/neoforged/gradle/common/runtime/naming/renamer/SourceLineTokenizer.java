@@ -0,0 +1,123 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+/**
+ * Classifies a line of decompiled source in one pass over its characters, without allocating.
+ * <p>
+ * The result tells which declarations the line can possibly contain, based on its indentation, its brackets, assignment
+ * and statement ends, and the identifiers and keywords which start a token. A flag which is not set guarantees that the
+ * corresponding pattern of {@link RegexBasedSourceRenamer} does not match, so only the few candidate lines need to be
+ * matched against those patterns to extract the declaration.
+ */
+final class SourceLineTokenizer {
+
+    static final int PACKAGE = 1;
+    static final int CONSTRUCTOR = 1 << 1;
+    static final int METHOD = 1 << 2;
+    static final int FIELD = 1 << 3;
+    static final int CLASS = 1 << 4;
+
+    private SourceLineTokenizer() {
+        throw new IllegalStateException("Can not instantiate an instance of: SourceLineTokenizer. This is a utility class");
+    }
+
+    /**
+     * Determines the declarations the given line can contain.
+     *
+     * @param line The line to classify
+     * @return The flags of the possible declarations
+     */
+    static int classify(final String line) {
+        final int length = line.length();
+        int start = 0;
+        while (start < length && isWhitespace(line.charAt(start))) {
+            start++;
+        }
+
+        boolean openParenthesis = false;
+        boolean closeParenthesis = false;
+        boolean openBrace = false;
+        boolean assignmentOrEnd = false;
+        boolean methodName = false;
+        boolean fieldName = false;
+        boolean classKeyword = false;
+        for (int i = start; i < length; i++) {
+            final char c = line.charAt(i);
+            switch (c) {
+                case '(':
+                    openParenthesis = true;
+                    break;
+                case ')':
+                    closeParenthesis = true;
+                    break;
+                case '{':
+                    openBrace = true;
+                    break;
+                case '=':
+                case ';':
+                    assignmentOrEnd = true;
+                    break;
+                case 'f':
+                case 'm':
+                case 'c':
+                case 'i':
+                case 'e':
+                    //Only tokens which follow whitespace, or an @ for annotation types, can start a declaration.
+                    if (i != 0 && !isWhitespace(line.charAt(i - 1)) && line.charAt(i - 1) != '@')
+                        break;
+
+                    if (line.startsWith("func_", i) || line.startsWith("m_", i)) {
+                        methodName = true;
+                    } else if (line.startsWith("field_", i) || line.startsWith("f_", i)) {
+                        fieldName = true;
+                    } else if (line.startsWith("class ", i) || line.startsWith("interface ", i) || line.startsWith("enum ", i)) {
+                        classKeyword = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        int flags = 0;
+        if (line.startsWith("package", start))
+            flags |= PACKAGE;
+        if (classKeyword)
+            flags |= CLASS;
+
+        //Members are only found in indented lines.
+        if (line.startsWith("   ") || (length > 0 && line.charAt(0) == '\t')) {
+            if (openParenthesis && closeParenthesis && openBrace)
+                flags |= CONSTRUCTOR;
+            if (openParenthesis && methodName)
+                flags |= METHOD;
+            if (assignmentOrEnd && fieldName)
+                flags |= FIELD;
+        }
+        return flags;
+    }
+
+    /**
+     * Determines the indentation of a line which starts with a closing brace, indented only by spaces or only by tabs.
+     *
+     * @param line The line to check
+     * @return The length of the indentation, or -1 if the line does not start with a closing brace
+     */
+    static int closingBraceIndent(final String line) {
+        if (line.isEmpty())
+            return -1;
+
+        final char indent = line.charAt(0) == '\t' ? '\t' : ' ';
+        int length = 0;
+        while (length < line.length() && line.charAt(length) == indent) {
+            length++;
+        }
+        return length < line.length() && line.charAt(length) == '}' ? length : -1;
+    }
+
+    /**
+     * Matches {@code \s} of java regular expressions.
+     */
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,190 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of previously renamed source jars, which allows reusing the renamed sources of unchanged entries.
+ * <p>
+ * Every renamed jar is kept under the fingerprint of everything which influenced the renaming, like the mappings and
+ * the flags of the renamer, together with an index of the input entries it was produced from. An input entry whose
+ * name, CRC and size match the index is considered unchanged, so its renamed counterpart can be copied as is.
+ * The most recently used fingerprints are kept, so switching back and forth between mappings stays cheap as well.
+ * <p>
+ * A cache instance keeps its jar open until it is closed, so that entries can be copied from it lazily.
+ */
+public final class SourceRemapCache implements Closeable {
+    private static final Logger LOGGER = Logging.getLogger(SourceRemapCache.class);
+
+    private static final String JAR_EXTENSION = ".jar";
+    private static final String INDEX_EXTENSION = ".index";
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * The amount of fingerprints which are kept in a cache directory.
+     */
+    private static final int MAX_GENERATIONS = 3;
+
+    private final File directory;
+    private final String fingerprint;
+    private final Map<String, String> previousKeys;
+    private final Map<String, String> keys = new LinkedHashMap<>();
+    @Nullable
+    private final RawZipReader previous;
+
+    private SourceRemapCache(final File directory, final String fingerprint, final Map<String, String> previousKeys, @Nullable final RawZipReader previous) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+        this.previousKeys = previousKeys;
+        this.previous = previous;
+    }
+
+    /**
+     * Opens the cache of the given fingerprint in the given directory, the cache is empty if there is no (valid) jar for the fingerprint.
+     *
+     * @param directory The directory which holds the cached jars
+     * @param fingerprint The fingerprint of the mappings and settings used for renaming
+     * @return The cache
+     */
+    public static SourceRemapCache open(final File directory, final String fingerprint) {
+        final File jar = new File(directory, fingerprint + JAR_EXTENSION);
+        final File index = new File(directory, fingerprint + INDEX_EXTENSION);
+        if (!jar.isFile() || !index.isFile()) {
+            return new SourceRemapCache(directory, fingerprint, new HashMap<>(), null);
+        }
+
+        try {
+            final Map<String, String> previousKeys = new HashMap<>();
+            try (Stream<String> lines = Files.lines(index.toPath(), StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    final int separator = line.indexOf(SEPARATOR);
+                    if (separator > 0) {
+                        previousKeys.put(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                });
+            }
+
+            //Mark the fingerprint as recently used.
+            jar.setLastModified(System.currentTimeMillis());
+            return new SourceRemapCache(directory, fingerprint, previousKeys, RawZipReader.open(jar));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring the unreadable source remap cache: {}", jar, e);
+            return new SourceRemapCache(directory, fingerprint, new HashMap<>(), null);
+        }
+    }
+
+    /**
+     * Looks up the renamed counterpart of the given input entry, and records the input entry in the index of the next cached jar.
+     *
+     * @param input The entry of the input jar which is about to be renamed
+     * @return The renamed entry in {@link #getReader()}, or null if the input entry is not cached
+     */
+    @Nullable
+    public RawZipEntry find(final RawZipEntry input) {
+        final String key = input.getCrc() + SEPARATOR + input.getSize();
+        keys.put(input.getName(), key);
+
+        if (previous == null || !key.equals(previousKeys.get(input.getName()))) {
+            return null;
+        }
+        return previous.getEntry(input.getName());
+    }
+
+    /**
+     * Gets the reader of the cached jar, which contains the entries returned by {@link #find(RawZipEntry)}.
+     *
+     * @return The reader
+     */
+    public RawZipReader getReader() {
+        if (previous == null) {
+            throw new IllegalStateException("There is no cached jar for: " + fingerprint);
+        }
+        return previous;
+    }
+
+    /**
+     * Stores the given renamed jar as the cached jar of the fingerprint, with the input entries which were looked up.
+     * The least recently used fingerprints are removed once more than a few are cached.
+     * Needs to be called after this cache has been closed, as the previously cached jar is replaced.
+     *
+     * @param output The renamed jar
+     */
+    public void store(final File output) {
+        try {
+            final Path root = directory.toPath();
+            Files.createDirectories(root);
+
+            final Path jar = FileUtils.temporaryPath(root, fingerprint + JAR_EXTENSION);
+            final Path index = FileUtils.temporaryPath(root, fingerprint + INDEX_EXTENSION);
+            try {
+                Files.copy(output.toPath(), jar, StandardCopyOption.REPLACE_EXISTING);
+                try (BufferedWriter writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, String> entry : keys.entrySet()) {
+                        writer.write(entry.getKey());
+                        writer.write(SEPARATOR);
+                        writer.write(entry.getValue());
+                        writer.newLine();
+                    }
+                }
+
+                //The index is moved last, so that a partially stored cache is never considered valid.
+                Files.deleteIfExists(root.resolve(fingerprint + INDEX_EXTENSION));
+                FileUtils.atomicMove(jar, root.resolve(fingerprint + JAR_EXTENSION));
+                FileUtils.atomicMove(index, root.resolve(fingerprint + INDEX_EXTENSION));
+            } finally {
+                Files.deleteIfExists(jar);
+                Files.deleteIfExists(index);
+            }
+
+            evict(root);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the source remap cache in: {}", directory, e);
+        }
+    }
+
+    private void evict(final Path root) throws IOException {
+        final List<Path> jars;
+        try (Stream<Path> files = Files.list(root)) {
+            jars = files.filter(file -> file.getFileName().toString().endsWith(JAR_EXTENSION) && !file.getFileName().toString().startsWith("."))
+                    .sorted(Comparator.comparingLong((Path file) -> file.toFile().lastModified()).reversed())
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        for (Path jar : jars.subList(Math.min(MAX_GENERATIONS, jars.size()), jars.size())) {
+            final String name = jar.getFileName().toString();
+            if (name.equals(fingerprint + JAR_EXTENSION))
+                continue;
+
+            Files.deleteIfExists(root.resolve(name.substring(0, name.length() - JAR_EXTENSION.length()) + INDEX_EXTENSION));
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (previous != null) {
+            previous.close();
+        }
+    }
+}
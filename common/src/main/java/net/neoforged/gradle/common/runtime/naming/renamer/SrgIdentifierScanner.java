@@ -0,0 +1,214 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds srg identifiers in source code and replaces them with their mapped names, in a single pass and without allocating
+ * for identifiers which are not blacklisted.
+ * <p>
+ * Recognizes exactly what {@code [fF]unc_\d+_[a-zA-Z_]+|m_\d+_|[fF]ield_\d+_[a-zA-Z_]+|f_\d+_|p_\w+_\d+_|p_\d+_} finds,
+ * the names are looked up in an open addressing table which compares candidates directly against the scanned text.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class SrgIdentifierScanner {
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] hashes;
+    private final int mask;
+
+    public SrgIdentifierScanner(final Map<String, String> names) {
+        int capacity = 16;
+        while (capacity < names.size() * 2) {
+            capacity <<= 1;
+        }
+
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+
+        names.forEach((key, value) -> {
+            if (key.isEmpty() || value == null)
+                return;
+
+            final int hash = hash(key, 0, key.length(), false);
+            int slot = hash & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            hashes[slot] = hash;
+        });
+    }
+
+    /**
+     * Appends the given range of the text to the builder, with all srg identifiers replaced by their mapped names.
+     * Identifiers which start with an upper case {@code F} are looked up in lower case, and their mapped name is capitalized.
+     *
+     * @param text The text to rename
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @param blacklist The identifiers which should not be renamed, or null if all identifiers should be renamed
+     * @param output The builder to append to
+     */
+    public void rename(final String text, final int start, final int end, @Nullable final Set<String> blacklist, final StringBuilder output) {
+        int copied = start;
+        int index = start;
+        while (index < end) {
+            final int match = matchEnd(text, index, end);
+            if (match < 0) {
+                index++;
+                continue;
+            }
+
+            output.append(text, copied, index);
+            appendMapped(text, index, match, blacklist, output);
+            copied = match;
+            index = match;
+        }
+        output.append(text, copied, end);
+    }
+
+    private void appendMapped(final String text, final int start, final int end, @Nullable final Set<String> blacklist, final StringBuilder output) {
+        if (blacklist != null && blacklist.contains(text.substring(start, end))) {
+            output.append(text, start, end);
+            return;
+        }
+
+        final boolean capitalize = text.charAt(start) == 'F';
+        final String mapped = lookup(text, start, end, capitalize);
+        if (mapped == null) {
+            output.append(text, start, end);
+        } else if (!capitalize || mapped.isEmpty()) {
+            output.append(mapped);
+        } else if (mapped.charAt(0) < 0x80) {
+            output.append(Character.toUpperCase(mapped.charAt(0))).append(mapped, 1, mapped.length());
+        } else {
+            output.append(mapped.substring(0, 1).toUpperCase(Locale.ENGLISH)).append(mapped, 1, mapped.length());
+        }
+    }
+
+    @Nullable
+    private String lookup(final String text, final int start, final int end, final boolean lowerFirst) {
+        final int length = end - start;
+        final int hash = hash(text, start, end, lowerFirst);
+        int slot = hash & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && key.length() == length && key.charAt(0) == (lowerFirst ? 'f' : text.charAt(start))
+                    && text.regionMatches(start + 1, key, 1, length - 1)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int hash(final String text, final int start, final int end, final boolean lowerFirst) {
+        int hash = lowerFirst ? 'f' : text.charAt(start);
+        for (int i = start + 1; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Determines the end of the srg identifier which starts at the given index.
+     *
+     * @return The end of the identifier, exclusive, or -1 if no identifier starts at the given index
+     */
+    private static int matchEnd(final String text, final int index, final int end) {
+        switch (text.charAt(index)) {
+            case 'f':
+                if (startsWith(text, index + 1, end, "_"))
+                    return numberEnd(text, index + 2, end);
+                //A lower case f may also start func_ or field_, so fall through.
+            case 'F':
+                if (startsWith(text, index + 1, end, "unc_"))
+                    return namedEnd(text, index + 5, end);
+                if (startsWith(text, index + 1, end, "ield_"))
+                    return namedEnd(text, index + 6, end);
+                return -1;
+            case 'm':
+                return startsWith(text, index + 1, end, "_") ? numberEnd(text, index + 2, end) : -1;
+            case 'p':
+                if (!startsWith(text, index + 1, end, "_"))
+                    return -1;
+                final int parameter = parameterEnd(text, index + 2, end);
+                return parameter >= 0 ? parameter : numberEnd(text, index + 2, end);
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Matches {@code \d+_[a-zA-Z_]+} at the given index.
+     */
+    private static int namedEnd(final String text, final int index, final int end) {
+        int position = digitsEnd(text, index, end);
+        if (position == index || position >= end || text.charAt(position) != '_')
+            return -1;
+
+        final int nameStart = ++position;
+        while (position < end && isLetterOrUnderscore(text.charAt(position))) {
+            position++;
+        }
+        return position == nameStart ? -1 : position;
+    }
+
+    /**
+     * Matches {@code \d+_} at the given index.
+     */
+    private static int numberEnd(final String text, final int index, final int end) {
+        final int position = digitsEnd(text, index, end);
+        return position == index || position >= end || text.charAt(position) != '_' ? -1 : position + 1;
+    }
+
+    /**
+     * Matches {@code \w+_\d+_} at the given index, picking the longest {@code \w+} like a greedy regex would.
+     */
+    private static int parameterEnd(final String text, final int index, final int end) {
+        int wordEnd = index;
+        while (wordEnd < end && isWordCharacter(text.charAt(wordEnd))) {
+            wordEnd++;
+        }
+
+        for (int separator = wordEnd - 1; separator > index; separator--) {
+            if (text.charAt(separator) != '_')
+                continue;
+
+            final int number = numberEnd(text, separator + 1, wordEnd);
+            if (number >= 0)
+                return number;
+        }
+        return -1;
+    }
+
+    private static int digitsEnd(final String text, int index, final int end) {
+        while (index < end && isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean startsWith(final String text, final int index, final int end, final String prefix) {
+        return end - index >= prefix.length() && text.startsWith(prefix, index);
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetterOrUnderscore(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isWordCharacter(final char c) {
+        return isLetterOrUnderscore(c) || isDigit(c);
+    }
+}
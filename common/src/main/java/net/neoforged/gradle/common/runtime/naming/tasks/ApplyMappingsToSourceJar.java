@@ -21,54 +21,85 @@
 package net.neoforged.gradle.common.runtime.naming.tasks;
 
 import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.HashFunction;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import net.neoforged.gradle.common.runtime.naming.renamer.ISourceRenamer;
+import net.neoforged.gradle.common.runtime.naming.renamer.SourceRemapCache;
 import net.neoforged.gradle.common.runtime.tasks.DefaultRuntime;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
-import org.apache.commons.io.IOUtils;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.*;
 
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.util.Enumeration;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
+import java.io.File;
 
 
 @CacheableTask
-public abstract class ApplyMappingsToSourceJar extends DefaultRuntime implements Runtime {
+public abstract class ApplyMappingsToSourceJar extends DefaultRuntime implements Runtime, WithCompression {
 
     public ApplyMappingsToSourceJar() {
         getRemapJavadocs().convention(false);
+        getParallelism().convention(RawZipWriter.DEFAULT_PARALLELISM);
+        getMaxEntriesInFlight().convention(RawZipWriter.DEFAULT_MAX_PENDING_ENTRIES);
+        //The cache is kept outside of the output directory of the step, so that it is not part of the output of this task.
+        getCacheDirectory().convention(getRuntimeDirectory().flatMap(directory -> getStepName().map(step -> directory.dir("remapCache").dir(step))));
+        JarCompressionUtils.configureDefaultCompression(this);
+    }
+
+    @Override
+    public boolean isIntermediateOutput() {
+        return true;
     }
 
     @TaskAction
     public void apply() throws Exception {
         final ISourceRenamer renamer = getSourceRenamer().get();
-        try (ZipFile zin = new ZipFile(getInput().get().getAsFile())) {
-            try (FileOutputStream fos = new FileOutputStream(getOutput().get().getAsFile());
-                 ZipOutputStream out = new ZipOutputStream(fos)) {
-
-                final Enumeration<? extends ZipEntry> entries = zin.entries();
-                while(entries.hasMoreElements()) {
-                    final ZipEntry entry = entries.nextElement();
-                    out.putNextEntry(FileUtils.getStableEntry(entry.getName()));
-                    if (!entry.getName().endsWith(".java")) {
-                        IOUtils.copy(zin.getInputStream(entry), out);
-                    } else {
-                        final InputStream inputStream = zin.getInputStream(entry);
-                        final byte[] toRemap = IOUtils.toByteArray(inputStream);
-                        inputStream.close();
-                        out.write(renamer.rename(toRemap, getRemapJavadocs().getOrElse(false), getRemapLambdas().getOrElse(true)));
-                    }
-                    out.closeEntry();
+        final boolean remapJavadocs = getRemapJavadocs().getOrElse(false);
+        final boolean remapLambdas = getRemapLambdas().getOrElse(true);
+        final File output = getOutput().get().getAsFile();
+
+        //Renamed sources of earlier runs are reused when the source, the mappings and the settings are unchanged.
+        final String fingerprint = renamer.getFingerprint();
+        final SourceRemapCache cache = fingerprint == null ? null : SourceRemapCache.open(
+                getCacheDirectory().get().getAsFile(),
+                HashFunction.SHA256.hash(String.join(":", fingerprint, String.valueOf(remapJavadocs), String.valueOf(remapLambdas), getCompression().get().name()))
+        );
+
+        int renamed = 0;
+        int reused = 0;
+        try (SourceRemapCache previous = cache;
+             RawZipReader zin = RawZipReader.open(getInput().get().getAsFile());
+             RawZipWriter out = JarCompressionUtils.openWriter(this, output, getParallelism().get(), getMaxEntriesInFlight().get())) {
+            for (RawZipEntry entry : zin.getEntries()) {
+                if (!entry.getName().endsWith(".java")) {
+                    //Only sources are remapped, everything else is copied without recompressing it.
+                    out.copy(zin, entry, FileUtils.getStableEntry(entry.getName()));
+                    continue;
+                }
+
+                final RawZipEntry cached = previous == null ? null : previous.find(entry);
+                if (cached != null) {
+                    out.copy(previous.getReader(), cached, FileUtils.getStableEntry(entry.getName()));
+                    reused++;
+                } else {
+                    //Sources are read here, but renamed and compressed on the pool of the writer, which still writes them in order.
+                    final byte[] toRemap = zin.readAllBytes(entry);
+                    out.write(FileUtils.getStableEntry(entry.getName()), () -> renamer.rename(toRemap, remapJavadocs, remapLambdas));
+                    renamed++;
                 }
             }
         }
 
-        getLogger().debug("Applying mappings to source jar complete");
+        if (cache != null && renamed > 0) {
+            cache.store(output);
+        }
+
+        getLogger().lifecycle("Applied mappings to source jar: {} source files renamed, {} reused from the cache", renamed, reused);
     }
 
     @InputFile
@@ -86,4 +117,28 @@ public abstract class ApplyMappingsToSourceJar extends DefaultRuntime implements
 
     @Internal
     public abstract Property<ISourceRenamer> getSourceRenamer();
+
+    /**
+     * The directory which keeps the renamed sources of earlier runs, so that unchanged source files do not need to be renamed again.
+     *
+     * @return The property which holds the cache directory
+     */
+    @Internal
+    public abstract DirectoryProperty getCacheDirectory();
+
+    /**
+     * The amount of threads which rename and compress source files, the renamer is called concurrently when this is above one.
+     *
+     * @return The property which holds the amount of threads
+     */
+    @Internal
+    public abstract Property<Integer> getParallelism();
+
+    /**
+     * The maximum amount of source files which are read but not yet written, this bounds the memory used while renaming.
+     *
+     * @return The property which holds the maximum amount of files in flight
+     */
+    @Internal
+    public abstract Property<Integer> getMaxEntriesInFlight();
 }
@@ -2,6 +2,7 @@ package net.neoforged.gradle.common.runtime.naming.tasks;
 
 import com.google.common.collect.Lists;
 import net.neoforged.gradle.common.runtime.tasks.Execute;
+import net.neoforged.gradle.common.util.ToolResourceUtils;
 import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.util.CacheableMinecraftVersion;
@@ -27,6 +28,7 @@ public abstract class ApplyOfficialMappingsToCompiledJar extends Execute impleme
         getExecutingArtifact().set(Constants.FART);
         getProgramArguments().set(Lists.newArrayList(RenameConstants.DEFAULT_PROGRAMM_ARGS));
         getJvmArguments().set(Lists.newArrayList(RenameConstants.DEFAULT_JVM_ARGS));
+        ToolResourceUtils.configure(this, ToolResourceUtils.Tool.RENAMER);
         getMappings().fileProvider(getMinecraftVersion().map(minecraftVersion -> getProject().getExtensions().getByType(MinecraftArtifactCache.class).cacheVersionMappings(minecraftVersion.getFull(), DistributionType.CLIENT)));
 
         getArguments().put("input", getInput().getAsFile().map(File::getAbsolutePath));
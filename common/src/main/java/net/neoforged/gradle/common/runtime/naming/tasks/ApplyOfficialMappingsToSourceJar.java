@@ -2,12 +2,15 @@ package net.neoforged.gradle.common.runtime.naming.tasks;
 
 import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.common.runtime.naming.renamer.IMappingFileSourceRenamer;
+import net.neoforged.gradle.common.services.caching.MappingsCache;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
@@ -16,10 +19,19 @@ import org.gradle.api.tasks.PathSensitivity;
 public abstract class ApplyOfficialMappingsToSourceJar extends ApplyMappingsToSourceJar implements Runtime {
 
     public ApplyOfficialMappingsToSourceJar() {
+        final Provider<MappingsCache> mappingsCache = MappingsCache.register(getProject());
+        getMappingsCache().convention(mappingsCache);
+        usesService(mappingsCache);
+
         getSourceRenamer().convention(
                 getClientMappingsFile().flatMap(clientMappings ->
-                        getServerMappingsFile().map(TransformerUtils.guard(serverMappings ->
-                                IMappingFileSourceRenamer.from(clientMappings.getAsFile(), serverMappings.getAsFile()))))
+                        getServerMappingsFile().map(TransformerUtils.guard(serverMappings -> {
+                            final MappingsCache mappingsCache = getMappingsCache().get();
+                            return IMappingFileSourceRenamer.from(
+                                    mappingsCache.load(clientMappings.getAsFile()).get(),
+                                    mappingsCache.load(serverMappings.getAsFile()).get()
+                            );
+                        })))
         );
         getRemapLambdas().convention(true);
         getSourceRenamer().finalizeValueOnRead();
@@ -37,4 +49,10 @@ public abstract class ApplyOfficialMappingsToSourceJar extends ApplyMappingsToSo
     @PathSensitive(PathSensitivity.NONE)
     @Optional
     public abstract RegularFileProperty getServerMappingsFile();
+
+    /**
+     * @return The cache which loads the mappings files, shared between all tasks of the build
+     */
+    @Internal
+    public abstract Property<MappingsCache> getMappingsCache();
 }
@@ -2,13 +2,16 @@ package net.neoforged.gradle.common.runtime.naming.tasks;
 
 import net.neoforged.gradle.dsl.common.util.DistributionType;
 import net.neoforged.gradle.util.FileUtils;
-import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.common.runtime.tasks.DefaultRuntime;
+import net.neoforged.gradle.common.services.caching.MappingsCache;
 import net.neoforged.gradle.common.util.CacheableIMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
 import net.minecraftforge.srgutils.IMappingFile;
 import org.gradle.api.provider.Property;
-import org.gradle.api.tasks.Input;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.TaskAction;
 import org.jetbrains.annotations.NotNull;
 
@@ -24,11 +27,16 @@ import java.util.zip.ZipOutputStream;
 public abstract class GenerateDebuggingMappings extends DefaultRuntime {
 
     public GenerateDebuggingMappings() {
+        final Provider<MappingsCache> mappingsCache = MappingsCache.register(getProject());
+        getMappingsCache().convention(mappingsCache);
+        usesService(mappingsCache);
+
+        final MinecraftArtifactCache artifactCache = getProject().getExtensions().getByType(MinecraftArtifactCache.class);
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(getProject());
         getMappingsFile().convention(getMinecraftVersion()
-                .map(minecraftVersion -> getProject().getExtensions().getByType(MinecraftArtifactCache.class)
-                        .cacheVersionMappings(minecraftVersion.getFull(), DistributionType.CLIENT))
-                .map(TransformerUtils.guard(IMappingFile::load))
-                .map(CacheableIMappingFile::new));
+                .map(minecraftVersion -> artifactCache.cacheVersionMappings(minecraftVersion.getFull(), DistributionType.CLIENT))
+                .map(mappings -> getMappingsCache().get().load(mappings).get())
+                .map(mappings -> new CacheableIMappingFile(mappings, mappingsCacheDirectory)));
 
         getOutputFileName().convention("mappings.zip");
     }
@@ -78,6 +86,12 @@ public abstract class GenerateDebuggingMappings extends DefaultRuntime {
         }
     }
 
-    @Input
+    @Nested
     public abstract Property<CacheableIMappingFile> getMappingsFile();
+
+    /**
+     * @return The cache which loads the mappings files, shared between all tasks of the build
+     */
+    @Internal
+    public abstract Property<MappingsCache> getMappingsCache();
 }
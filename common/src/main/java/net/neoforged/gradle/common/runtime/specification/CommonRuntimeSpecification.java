@@ -68,6 +68,16 @@ public abstract class CommonRuntimeSpecification implements Specification {
         return getIdentifier();
     }
 
+    /**
+     * The extension which manages the runtimes of this specification.
+     *
+     * @return The runtime extension.
+     */
+    @NotNull
+    public CommonRuntimeExtension<?, ?, ?> getRuntimeExtension() {
+        return runtimeExtension;
+    }
+
     @Override
     @NotNull
     public DistributionType getDistribution() {
@@ -2,18 +2,25 @@ package net.neoforged.gradle.common.runtime.tasks;
 
 import net.neoforged.gradle.dsl.common.extensions.AccessTransformers;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @CacheableTask
 public abstract class AccessTransformerFileGenerator extends DefaultRuntime implements Runtime {
@@ -31,9 +38,23 @@ public abstract class AccessTransformerFileGenerator extends DefaultRuntime impl
     void doCreateAccessTransformerFiles() throws IOException {
         final File outputFile = ensureFileWorkspaceReady(getOutput());
         Files.deleteIfExists(outputFile.toPath());
-        Files.write(outputFile.toPath(), getAdditionalTransformers().get(), StandardOpenOption.CREATE_NEW);
+
+        //The files are sorted, so that the combined file does not depend on the order in which they were added.
+        final List<File> files = new ArrayList<>(getFiles().getFiles());
+        files.sort(Comparator.comparing(File::getName).thenComparing(File::getAbsolutePath));
+
+        final List<String> lines = new ArrayList<>();
+        for (File file : files) {
+            lines.addAll(Files.readAllLines(file.toPath()));
+        }
+        lines.addAll(getAdditionalTransformers().get());
+        Files.write(outputFile.toPath(), lines, StandardOpenOption.CREATE_NEW);
     }
 
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getFiles();
+
     @Input
     @Optional
     public abstract ListProperty<String> getAdditionalTransformers();
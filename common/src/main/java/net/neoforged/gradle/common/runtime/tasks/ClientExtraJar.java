@@ -2,8 +2,9 @@ package net.neoforged.gradle.common.runtime.tasks;
 
 import net.neoforged.gradle.dsl.common.tasks.NeoGradleBase;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
-import net.neoforged.gradle.util.ZipBuildingFileTreeVisitor;
-import org.gradle.api.file.FileTree;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.InputFile;
@@ -12,8 +13,6 @@ import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.util.zip.ZipOutputStream;
 
 @CacheableTask
 public abstract class ClientExtraJar extends NeoGradleBase implements WithOutput {
@@ -30,13 +29,14 @@ public abstract class ClientExtraJar extends NeoGradleBase implements WithOutput
 
         outputJar.getParentFile().mkdirs();
 
-        final FileTree inputTree = getProject().zipTree(clientJar);
-        final FileTree filteredInput = inputTree.matching(filter -> {
-            filter.exclude("**/*.class");
-        });
-
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(outputJar))) {
-            filteredInput.visit(new ZipBuildingFileTreeVisitor(zos));
+        //Everything but the classes is copied, without recompressing it.
+        try (RawZipReader reader = RawZipReader.open(clientJar);
+             RawZipWriter writer = new RawZipWriter(outputJar)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (!entry.getName().endsWith(".class")) {
+                    writer.copy(reader, entry);
+                }
+            }
         }
     }
 
@@ -1,16 +1,23 @@
 package net.neoforged.gradle.common.runtime.tasks;
 
 import com.google.common.collect.Maps;
+import net.neoforged.gradle.util.GradleInternalUtils;
 import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.common.runtime.tasks.action.DownloadFileAction;
+import net.neoforged.gradle.common.util.AssetDownloadEngine;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.common.util.SerializationUtils;
 import net.neoforged.gradle.common.util.VersionJson;
+import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
+import net.neoforged.gradle.util.FileHashIndex;
+import net.neoforged.gradle.util.FileUtils;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
-import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.PathSensitive;
@@ -21,7 +28,10 @@ import org.gradle.workers.WorkerExecutor;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @CacheableTask
 public abstract class DownloadAssets extends DefaultRuntime {
@@ -31,6 +41,12 @@ public abstract class DownloadAssets extends DefaultRuntime {
         getAssetIndexFile().convention(getRegularFileInOutputDirectory(getAssetIndexFileName().map(name -> "indexes/" + name)));
         getVersionJson().convention(getVersionJsonFile().map(TransformerUtils.guard(file -> VersionJson.get(file.getAsFile()))));
         getAssetRepository().convention("https://resources.download.minecraft.net/");
+        getDownloadConcurrency().convention(8);
+        getConnectTimeout().convention(10_000);
+        getReadTimeout().convention(30_000);
+        getMaxRetries().convention(3);
+        getHashIndexFile().convention(FileCacheUtils.getHashIndexFile(getProject()));
+        getAssetObjectStore().convention(getProject().getExtensions().getByType(MinecraftArtifactCache.class).getCacheDirectory().dir("assets/objects"));
     }
 
     @TaskAction
@@ -50,6 +66,7 @@ public abstract class DownloadAssets extends DefaultRuntime {
             params.getSha1().set(assetIndexData.getSha1());
             params.getOutputFile().set(getAssetIndexFile());
             params.getIsOffline().set(getProject().getGradle().getStartParameter().isOffline());
+            params.getHashIndexFile().set(getHashIndexFile());
         });
 
         executor.await();
@@ -57,25 +74,49 @@ public abstract class DownloadAssets extends DefaultRuntime {
 
     private void downloadAssets() {
         final AssetIndex assetIndex = SerializationUtils.fromJson(getAssetIndexFile().getAsFile().get(), AssetIndex.class);
+        final String repository = getAssetRepository().map(repo -> repo.endsWith("/") ? repo : repo + "/").get();
+        final File objectStore = getAssetObjectStore().get().getAsFile();
+        final File objectsDirectory = getFileInOutputDirectory("objects").get();
+
+        final List<Asset> assets = assetIndex.getObjects().values().stream()
+                .distinct()
+                .collect(Collectors.toList());
+
+        //Downloads go into the shared store, the runtime only receives links to them.
+        final List<AssetDownloadEngine.Request> requests = assets.stream()
+                .map(asset -> new AssetDownloadEngine.Request(repository + asset.getPath(), new File(objectStore, asset.getPath()), asset.getHash()))
+                .collect(Collectors.toList());
+
+        final GradleInternalUtils.ProgressLoggerWrapper progress = GradleInternalUtils.getProgressLogger(getLogger(), getProject().getGradle().getSharedServices(), "Downloading assets");
+        progress.setActionType("processed");
+        progress.setDestFileName("assets");
+
+        try (AssetDownloadEngine engine = new AssetDownloadEngine(
+                getDownloadConcurrency().get(),
+                getConnectTimeout().get(),
+                getReadTimeout().get(),
+                getMaxRetries().get(),
+                getProject().getGradle().getStartParameter().isOffline(),
+                FileHashIndex.get(getHashIndexFile().get().getAsFile()))) {
+            final AssetDownloadEngine.Statistics statistics = engine.download(requests, progress);
+            getLogger().lifecycle("Assets: {}", statistics);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to download the assets", e);
+        }
 
-        final WorkQueue executor = getWorkerExecutor().noIsolation();
-
-        assetIndex.getObjects().values().stream().distinct().forEach((asset) -> {
-            final Provider<File> assetFile = getFileInOutputDirectory(String.format("objects%s%s", File.separator, asset.getPath()));
-            final Provider<String> assetUrl = getAssetRepository()
-                    .map(repo -> repo.endsWith("/") ? repo : repo + "/")
-                    .map(TransformerUtils.guard(repository -> repository + asset.getPath()));
-
-            executor.submit(DownloadFileAction.class, params -> {
-                params.getIsOffline().set(getProject().getGradle().getStartParameter().isOffline());
-                params.getShouldValidateHash().set(true);
-                params.getOutputFile().fileProvider(assetFile);
-                params.getUrl().set(assetUrl);
-                params.getSha1().set(asset.getHash());
-            });
-        });
+        linkAssets(assets, objectStore, objectsDirectory);
+    }
 
-        executor.await();
+    private void linkAssets(final List<Asset> assets, final File objectStore, final File objectsDirectory) {
+        for (Asset asset : assets) {
+            final File source = new File(objectStore, asset.getPath());
+            final File target = new File(objectsDirectory, asset.getPath());
+            try {
+                FileUtils.linkOrCopy(source.toPath(), target.toPath());
+            } catch (IOException e) {
+                throw new RuntimeException(String.format("Failed to link asset %s from the shared asset store into: %s", asset.getHash(), target), e);
+            }
+        }
     }
 
     @Inject
@@ -98,6 +139,42 @@ public abstract class DownloadAssets extends DefaultRuntime {
     @OutputFile
     public abstract RegularFileProperty getAssetIndexFile();
 
+    /**
+     * @return The content addressed store, shared between all projects and runtimes, in which the asset objects are kept.
+     */
+    @Internal
+    public abstract DirectoryProperty getAssetObjectStore();
+
+    /**
+     * @return The persistent index used to verify existing asset objects without rehashing them.
+     */
+    @Internal
+    public abstract RegularFileProperty getHashIndexFile();
+
+    /**
+     * @return The maximum amount of concurrent asset downloads, and as such pooled connections.
+     */
+    @Internal
+    public abstract Property<Integer> getDownloadConcurrency();
+
+    /**
+     * @return The connect timeout of an asset download in milliseconds.
+     */
+    @Internal
+    public abstract Property<Integer> getConnectTimeout();
+
+    /**
+     * @return The read timeout of an asset download in milliseconds.
+     */
+    @Internal
+    public abstract Property<Integer> getReadTimeout();
+
+    /**
+     * @return The amount of times a failed asset download is retried.
+     */
+    @Internal
+    public abstract Property<Integer> getMaxRetries();
+
     private static class AssetIndex {
         private Map<String, Asset> objects = Maps.newHashMap();
 
@@ -1,12 +1,17 @@
 package net.neoforged.gradle.common.runtime.tasks;
 
+import net.neoforged.gradle.common.util.ToolExecutionUtils;
 import net.neoforged.gradle.util.TransformerUtils;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
 
 import java.util.Map;
 import java.util.jar.Attributes;
@@ -32,14 +37,33 @@ public abstract class Execute extends DefaultRuntime implements net.neoforged.gr
         getExecutingJar().fileProvider(getExecutingArtifact().flatMap(artifact -> getDownloader().flatMap(downloader -> downloader.file(artifact))));
 
         getRuntimeProgramArguments().convention(getProgramArguments());
+        getRuntimeJvmArguments().convention(getJvmArguments());
+        getRunInProcess().convention(ToolExecutionUtils.isInProcessExecutionEnabled(getProject()));
     }
 
     @TaskAction
     @Override
     public void execute() throws Throwable {
+        if (getRunInProcess().get()) {
+            ToolExecutionUtils.executeInProcess(this, getWorkerExecutor());
+            return;
+        }
+
         net.neoforged.gradle.dsl.common.tasks.Execute.super.execute();
     }
 
+    /**
+     * Indicates whether the tool runs inside of a reused worker process, instead of a new JVM.
+     *
+     * @return The property which indicates whether the tool runs in a reused worker process
+     * @see ToolExecutionUtils#IN_PROCESS_PROPERTY
+     */
+    @Internal
+    public abstract Property<Boolean> getRunInProcess();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @Input
     public abstract Property<String> getConsoleLogFileName();
 
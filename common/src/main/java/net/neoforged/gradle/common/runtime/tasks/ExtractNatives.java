@@ -3,6 +3,7 @@ package net.neoforged.gradle.common.runtime.tasks;
 import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.common.runtime.tasks.action.DownloadFileAction;
 import net.neoforged.gradle.common.runtime.tasks.action.ExtractFileAction;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.common.util.VersionJson;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
@@ -21,6 +22,7 @@ public abstract class ExtractNatives extends DefaultRuntime {
     public ExtractNatives() {
         getVersionJson().convention(getVersionJsonFile().map(TransformerUtils.guard(file -> VersionJson.get(file.getAsFile()))));
         getLibrariesDirectory().convention(getOutputDirectory().map(dir -> dir.dir("libraries")));
+        getHashIndexFile().convention(FileCacheUtils.getHashIndexFile(getProject()));
     }
 
     @TaskAction
@@ -43,6 +45,7 @@ public abstract class ExtractNatives extends DefaultRuntime {
                 params.getOutputFile().set(outputFile);
                 params.getUrl().set(library.getUrl().toString());
                 params.getSha1().set(library.getSha1());
+                params.getHashIndexFile().set(getHashIndexFile());
             });
         });
 
@@ -87,4 +90,7 @@ public abstract class ExtractNatives extends DefaultRuntime {
 
     @OutputDirectory
     public abstract DirectoryProperty getLibrariesDirectory();
+
+    @Internal
+    public abstract RegularFileProperty getHashIndexFile();
 }
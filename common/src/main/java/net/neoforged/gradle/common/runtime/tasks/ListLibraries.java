@@ -46,7 +46,7 @@ public abstract class ListLibraries extends DefaultRuntime {
                 artifacts = listBundleLibraries(bundleFs);
             }
 
-            Set<File> libraries = new HashSet<>();
+            Set<File> libraries = new LinkedHashSet<>();
             for (String artifact : artifacts) {
                 final ArtifactDownloader downloader = getDownloader().get();
                 File lib = downloader.file(artifact).get();
@@ -82,7 +82,7 @@ public abstract class ListLibraries extends DefaultRuntime {
         }
 
         FileList libraries = FileList.read(bundleFs.getPath("META-INF", "libraries.list"));
-        Set<String> artifacts = new HashSet<>();
+        Set<String> artifacts = new LinkedHashSet<>();
         for (FileList.Entry entry : libraries.entries) {
             artifacts.add(entry.id);
         }
@@ -97,7 +97,7 @@ public abstract class ListLibraries extends DefaultRuntime {
         reader.close();
 
         // Gather all the libraries
-        Set<String> artifacts = new HashSet<>();
+        Set<String> artifacts = new LinkedHashSet<>();
         for (JsonElement libElement : json.getAsJsonArray("libraries")) {
             JsonObject library = libElement.getAsJsonObject();
             String name = library.get("name").getAsString();
@@ -1,13 +1,10 @@
 package net.neoforged.gradle.common.runtime.tasks.action;
 
+import net.neoforged.gradle.util.FileHashIndex;
 import net.neoforged.gradle.util.FileUtils;
 import net.neoforged.gradle.util.GradleInternalUtils;
 import net.neoforged.gradle.util.HashFunction;
-import net.neoforged.gradle.util.UrlUtils;
-import org.apache.ivy.core.settings.TimeoutConstraint;
-import org.apache.ivy.util.CopyProgressEvent;
-import org.apache.ivy.util.CopyProgressListener;
-import org.apache.ivy.util.FileUtil;
+import net.neoforged.gradle.util.ResumableDownloader;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
@@ -18,6 +15,7 @@ import org.gradle.workers.WorkParameters;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 
 public abstract class DownloadFileAction implements WorkAction<DownloadFileAction.Params> {
@@ -34,7 +32,7 @@ public abstract class DownloadFileAction implements WorkAction<DownloadFileActio
 
             if (output.exists()) {
                 if (params.getShouldValidateHash().get()) {
-                    final String hash = HashFunction.SHA1.hash(output);
+                    final String hash = hash(output);
                     if (hash.equals(params.getSha1().get())) {
                         return;
                     }
@@ -54,7 +52,7 @@ public abstract class DownloadFileAction implements WorkAction<DownloadFileActio
                 progress.started();
 
                 if (params.getShouldValidateHash().get()) {
-                    final String hash = HashFunction.SHA1.hash(output);
+                    final String hash = hash(output);
                     if (!hash.equals(params.getSha1().get())) {
                         throw new IllegalStateException(String.format("Cannot validate asset %s as Gradle is running in offline mode and the file does not match the expected hash. Expected: %s Actual: %s", params.getUrl().get(), params.getSha1().get(), hash));
                     }
@@ -65,66 +63,24 @@ public abstract class DownloadFileAction implements WorkAction<DownloadFileActio
                 return;
             }
 
-            final URL url = new URL(params.getUrl().get());
-
-            progress.setSize(UrlUtils.getFileSize(url));
-
-            FileUtil.copy(
+            ResumableDownloader.download(
                     new URL(params.getUrl().get()),
                     output,
-                    new Monitor(progress),
-                    Timeout.NONE
+                    params.getShouldValidateHash().get() ? params.getSha1().get() : null,
+                    progress
             );
-
-            if (params.getShouldValidateHash().get()) {
-                final String hash = HashFunction.SHA1.hash(output);
-                if (!hash.equals(params.getSha1().get())) {
-                    throw new IllegalStateException(String.format("Cannot validate asset %s as Gradle is running in offline mode and the file does not match the expected hash. Expected: %s Actual: %s", params.getUrl().get(), params.getSha1().get(), hash));
-                }
-            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
-    private static final class Monitor implements CopyProgressListener {
-        private final GradleInternalUtils.ProgressLoggerWrapper progress;
-
-        private Monitor(GradleInternalUtils.ProgressLoggerWrapper progress) {
-            this.progress = progress;
-        }
-
-        @Override
-        public void start(CopyProgressEvent evt) {
-            progress.started();
-            progress.incrementDownloadProgress(evt.getReadBytes());
-        }
-
-        @Override
-        public void progress(CopyProgressEvent evt) {
-            progress.incrementDownloadProgress(evt.getReadBytes());
-        }
-
-        @Override
-        public void end(CopyProgressEvent evt) {
-            progress.incrementDownloadProgress(evt.getReadBytes());
-            progress.completed();
-        }
-    }
-
-    private static final class Timeout implements TimeoutConstraint {
-
-        private static final Timeout NONE = new Timeout();
-
-        @Override
-        public int getConnectionTimeout() {
-            return -1;
+    private String hash(final File file) throws IOException {
+        final Params params = getParameters();
+        if (!params.getHashIndexFile().isPresent()) {
+            return HashFunction.SHA1.hash(file);
         }
 
-        @Override
-        public int getReadTimeout() {
-            return -1;
-        }
+        return FileHashIndex.get(params.getHashIndexFile().get().getAsFile()).hash(file, HashFunction.SHA1);
     }
 
     public interface Params extends WorkParameters {
@@ -133,5 +89,6 @@ public abstract class DownloadFileAction implements WorkAction<DownloadFileActio
         Property<Boolean> getShouldValidateHash();
         RegularFileProperty getOutputFile();
         Property<Boolean> getIsOffline();
+        RegularFileProperty getHashIndexFile();
     }
 }
@@ -0,0 +1,47 @@
+package net.neoforged.gradle.common.runtime.tasks.action;
+
+import net.neoforged.gradle.util.IsolatedToolRunner;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+/**
+ * Runs a java tool within the worker process which executes this action, see {@link IsolatedToolRunner}.
+ */
+public abstract class ExecuteToolAction implements WorkAction<ExecuteToolAction.Params> {
+
+    @Override
+    public void execute() {
+        final Params params = getParameters();
+        //The log already contains the header written by the task, so the output of the tool is appended.
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(params.getLogFile().get().getAsFile(), true))) {
+            IsolatedToolRunner.run(
+                    new ArrayList<File>(params.getClasspath().getFiles()),
+                    params.getMainClass().get(),
+                    params.getArguments().get(),
+                    output,
+                    params.getPoolSettings().get()
+            );
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public interface Params extends WorkParameters {
+        ConfigurableFileCollection getClasspath();
+        Property<String> getMainClass();
+        ListProperty<String> getArguments();
+        RegularFileProperty getLogFile();
+        Property<IsolatedToolRunner.PoolSettings> getPoolSettings();
+    }
+}
@@ -0,0 +1,153 @@
+package net.neoforged.gradle.common.services.caching;
+
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coordinates the creation of files in shared caches, like the minecraft artifact cache.
+ * <p>
+ * Within a build, concurrent requests for the same file are collapsed into a single flight: the first requester
+ * performs the work, all others wait for it and receive its result. Additionally the work is guarded by a file lock
+ * next to the file, so that other builds, in this or in other gradle daemons, never create the same file at the same time.
+ * <p>
+ * No in memory lock is held while the work runs, as the work may coordinate the creation of other files, like the
+ * version manifest which is needed to download a jar.
+ * <p>
+ * The work itself is expected to check whether the file is already present and valid before creating it, since
+ * another process might have created it while this one was waiting for the lock.
+ */
+public abstract class DownloadCoordinator implements BuildService<BuildServiceParameters.None> {
+    private static final Logger LOGGER = Logging.getLogger(DownloadCoordinator.class);
+
+    /**
+     * The name under which the coordinator is registered as a shared build service.
+     */
+    public static final String NAME = "neogradleDownloadCoordinator";
+
+    /**
+     * The suffix of the lock file next to each coordinated file.
+     */
+    public static final String LOCK_SUFFIX = ".lock";
+
+    /**
+     * The time to wait before retrying to acquire a file lock which is held by another build in this daemon.
+     */
+    private static final long OVERLAPPING_LOCK_RETRY_MILLIS = 50L;
+
+    private final ConcurrentMap<Path, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the coordinator with the build of the given project, if it has not been registered yet.
+     *
+     * @param project The project whose build to register the coordinator with
+     * @return The provider of the coordinator
+     */
+    public static Provider<DownloadCoordinator> register(final Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, DownloadCoordinator.class, spec -> {});
+    }
+
+    /**
+     * Runs the given action, which creates the given target file, exclusively.
+     * If another thread of this build is already creating the same target, this waits for it and returns its result instead.
+     *
+     * @param target The file which is created by the action
+     * @param action The action which creates the file
+     * @return The result of the action
+     * @param <T> The type of the result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coordinate(final File target, final Callable<T> action) {
+        final Path key = target.toPath().toAbsolutePath().normalize();
+
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            LOGGER.debug("Waiting for the running creation of {}", key);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw asRuntimeException(key, e.getCause());
+            }
+        }
+
+        try {
+            final T result = runLocked(key, action);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw asRuntimeException(key, e);
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <T> T runLocked(final Path key, final Callable<T> action) throws Exception {
+        //Within this build the flight already makes the work exclusive per file, the file lock guards against other builds.
+        Files.createDirectories(key.getParent());
+        final Path lockFile = key.resolveSibling(key.getFileName().toString() + LOCK_SUFFIX);
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = acquire(channel, key)) {
+            return action.call();
+        }
+    }
+
+    private static FileLock acquire(final FileChannel channel, final Path key) throws IOException {
+        boolean logged = false;
+        while (true) {
+            try {
+                final FileLock lock = channel.tryLock();
+                if (lock != null) {
+                    return lock;
+                }
+
+                //Held by another process, block until it is released.
+                LOGGER.lifecycle("Waiting for another process to finish creating: {}", key);
+                return channel.lock();
+            } catch (OverlappingFileLockException e) {
+                //Held by another build running in this daemon, which has its own coordinator.
+                if (!logged) {
+                    LOGGER.lifecycle("Waiting for another build to finish creating: {}", key);
+                    logged = true;
+                }
+
+                try {
+                    Thread.sleep(OVERLAPPING_LOCK_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for the lock of: " + key, interrupted);
+                }
+            }
+        }
+    }
+
+    private static RuntimeException asRuntimeException(final Path key, final Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+
+        return new RuntimeException("Failed to create: " + key, throwable);
+    }
+}
@@ -0,0 +1,52 @@
+package net.neoforged.gradle.common.services.caching;
+
+import net.minecraftforge.srgutils.IMappingFile;
+
+/**
+ * Mappings which have been loaded, or derived from loaded mappings, by a {@link MappingsCache}.
+ * Deriving views from them goes through the cache, so that every view is only computed once per build.
+ * The mappings are shared, and as such must not be modified.
+ */
+public final class LoadedMappings {
+
+    private final MappingsCache cache;
+    private final String key;
+    private final IMappingFile mappings;
+
+    LoadedMappings(final MappingsCache cache, final String key, final IMappingFile mappings) {
+        this.cache = cache;
+        this.key = key;
+        this.mappings = mappings;
+    }
+
+    /**
+     * @return The key which identifies the mappings within the cache, derived from the hashes of the files they were loaded from
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The mappings
+     */
+    public IMappingFile get() {
+        return mappings;
+    }
+
+    /**
+     * @return The reversed mappings
+     * @see IMappingFile#reverse()
+     */
+    public LoadedMappings reverse() {
+        return cache.derive(String.format("reverse(%s)", key), mappings::reverse);
+    }
+
+    /**
+     * @param other The mappings to chain with
+     * @return The mappings chained with the given mappings
+     * @see IMappingFile#chain(IMappingFile)
+     */
+    public LoadedMappings chain(final LoadedMappings other) {
+        return cache.derive(String.format("chain(%s,%s)", key, other.getKey()), () -> mappings.chain(other.get()));
+    }
+}
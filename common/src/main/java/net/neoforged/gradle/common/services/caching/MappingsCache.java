@@ -0,0 +1,149 @@
+package net.neoforged.gradle.common.services.caching;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
+import net.neoforged.gradle.util.BinaryMappingFormat;
+import net.neoforged.gradle.util.HashFunction;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Loads mapping files once per build, and shares them, as well as their reversed and chained views, between all consumers.
+ * <p>
+ * Mapping files are identified by the hash of their content. The first time a mapping file is loaded, its text is parsed
+ * and its binary form is stored into the cache directory via {@link BinaryMappingFormat#store(byte[], Path)}, the same
+ * content addressed store which {@link net.neoforged.gradle.common.util.CacheableIMappingFile} uses. An index maps the
+ * hash of the text to the hash of the binary form, so that later builds load it from there without parsing.
+ * Views derived through {@link LoadedMappings#reverse()} and {@link LoadedMappings#chain(LoadedMappings)} are
+ * identified by the hashes they are derived from, so that each view is only computed once per build as well.
+ */
+public abstract class MappingsCache implements BuildService<MappingsCache.Parameters> {
+    private static final Logger LOGGER = Logging.getLogger(MappingsCache.class);
+
+    /**
+     * The name under which the cache is registered as a shared build service.
+     */
+    public static final String NAME = "neogradleMappingsCache";
+
+    /**
+     * The name of the directory, within the mappings cache directory, which holds the hash of the binary form of every parsed mapping file.
+     */
+    private static final String PARSED_DIRECTORY = "parsed";
+
+    private final ConcurrentMap<String, CompletableFuture<LoadedMappings>> loaded = new ConcurrentHashMap<>();
+
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * @return The directory which holds the binary form of mappings
+         */
+        DirectoryProperty getCacheDirectory();
+    }
+
+    /**
+     * Registers the cache with the build of the given project, if it has not been registered yet.
+     *
+     * @param project The project whose build to register the cache with
+     * @return The provider of the cache
+     */
+    public static Provider<MappingsCache> register(final Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, MappingsCache.class, spec ->
+                spec.getParameters().getCacheDirectory().set(FileCacheUtils.getMappingsCacheDirectory(project)));
+    }
+
+    /**
+     * Loads the mappings from the given file, in any format supported by {@link IMappingFile#load(File)}.
+     *
+     * @param file The file to load
+     * @return The loaded mappings
+     */
+    public LoadedMappings load(final File file) {
+        final String hash;
+        try {
+            hash = HashFunction.SHA256.hash(file);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to hash mappings file: %s", file.getAbsolutePath()), e);
+        }
+
+        return derive(hash, () -> loadFromCache(file, hash));
+    }
+
+    /**
+     * Gets the mappings with the given key, computing them if they are not known yet.
+     * Concurrent requests for the same key wait for the first one, instead of computing the mappings again.
+     *
+     * @param key The key which identifies the mappings
+     * @param factory The factory which computes the mappings
+     * @return The mappings
+     */
+    LoadedMappings derive(final String key, final Supplier<IMappingFile> factory) {
+        final CompletableFuture<LoadedMappings> future = new CompletableFuture<>();
+        final CompletableFuture<LoadedMappings> existing = loaded.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            final LoadedMappings result = new LoadedMappings(this, key, factory.get());
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            //Failures are not cached, so that a later request can try again.
+            loaded.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private IMappingFile loadFromCache(final File file, final String hash) {
+        final Path directory = getParameters().getCacheDirectory().get().getAsFile().toPath();
+        final Path index = directory.resolve(PARSED_DIRECTORY).resolve(hash);
+        if (Files.isRegularFile(index)) {
+            try {
+                final Path cached = BinaryMappingFormat.getStoredFile(directory, new String(Files.readAllBytes(index), StandardCharsets.UTF_8).trim());
+                if (Files.isRegularFile(cached)) {
+                    return BinaryMappingFormat.read(cached);
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Ignoring the unreadable binary mappings of: {}", file, e);
+            }
+        }
+
+        final IMappingFile mappings;
+        try {
+            mappings = IMappingFile.load(file);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to load mappings file: %s", file.getAbsolutePath()), e);
+        }
+
+        try {
+            final String binaryHash = BinaryMappingFormat.store(BinaryMappingFormat.toBytes(mappings), directory);
+            //A partially written index names no stored mappings, so it is ignored like a missing one.
+            Files.createDirectories(index.getParent());
+            Files.write(index, binaryHash.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to store the binary form of the mappings: {}", file, e);
+        }
+        return mappings;
+    }
+}
@@ -1,22 +1,33 @@
 package net.neoforged.gradle.common.tasks;
 
+import net.neoforged.gradle.common.util.JarCompressionUtils;
 import net.neoforged.gradle.dsl.common.tasks.NeoGradleBase;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
-import org.apache.commons.io.FileUtils;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.*;
 
+import java.io.File;
+
 @CacheableTask
-public abstract class ArtifactFromOutput extends NeoGradleBase implements WithOutput {
+public abstract class ArtifactFromOutput extends NeoGradleBase implements WithOutput, WithCompression {
 
     public ArtifactFromOutput() {
         getOutputFileName().convention(getName() + ".jar");
         getOutput().convention(getProject().getLayout().getBuildDirectory().dir("artifacts").flatMap(directory -> directory.file(getOutputFileName())));
+        JarCompressionUtils.configureDefaultCompression(this);
     }
 
     @TaskAction
     public void doCopy() throws Exception {
-        FileUtils.copyFile(getInput().getAsFile().get(), getOutput().getAsFile().get(), true);
+        final File output = getOutput().getAsFile().get();
+        output.getParentFile().mkdirs();
+        JarCompressionUtils.copyCompressed(this, getInput().getAsFile().get(), output);
+    }
+
+    @Override
+    public boolean isIntermediateOutput() {
+        return false;
     }
 
     @InputFile
@@ -22,8 +22,10 @@ package net.neoforged.gradle.common.tasks;
 
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Multimap;
+import net.neoforged.gradle.common.util.ToolExecutionUtils;
 import org.codehaus.groovy.control.io.NullWriter;
 import org.gradle.api.Action;
+import org.gradle.api.JavaVersion;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.RegularFile;
@@ -48,6 +50,7 @@ import org.gradle.jvm.toolchain.JavaLanguageVersion;
 import org.gradle.jvm.toolchain.JavaLauncher;
 import org.gradle.jvm.toolchain.JavaToolchainService;
 import org.gradle.jvm.toolchain.JavaToolchainSpec;
+import org.gradle.workers.WorkerExecutor;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -88,6 +91,7 @@ public abstract class JarExec extends DownloadingTask {
         resolvedVersion = getTool().flatMap(toolStr -> getDownloader().flatMap(downloader -> downloader.version(toolStr)));
 
         getDebug().convention(false);
+        getRunInProcess().convention(ToolExecutionUtils.isInProcessExecutionEnabled(getProject()));
 
         final JavaPluginExtension extension = getProject().getExtensions().findByType(JavaPluginExtension.class);
         if (extension != null) {
@@ -100,6 +104,9 @@ public abstract class JarExec extends DownloadingTask {
         throw new UnsupportedOperationException("Decorated instance, this should never be thrown unless shenanigans");
     }
 
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @TaskAction
     public void apply() throws IOException {
         File jar = getToolJar().get();
@@ -121,32 +128,35 @@ public abstract class JarExec extends DownloadingTask {
         final ConfigurableFileCollection classpath = getProject().files(getToolJar(), getClasspath());
         final File workingDirectory = workDir.get().getAsFile();
 
-        try (PrintWriter log = new PrintWriter(hasLog ? new FileWriter(logFile) : NullWriter.DEFAULT, true)) {
-            getProject().javaexec(spec -> {
-                spec.setExecutable(getEffectiveExecutable());
-                spec.setDebug(debug);
-                spec.setArgs(args);
-                spec.setClasspath(classpath);
-                spec.setWorkingDir(workingDirectory);
-                spec.getMainClass().set(mainClass);
-
-                log.println("Java Launcher: " + spec.getExecutable());
-                log.println("Arguments: " + args.stream().collect(Collectors.joining(", ", "'", "'")));
-                log.println("Classpath:");
-                classpath.forEach(f -> log.println(" - " + f.getAbsolutePath()));
-                log.println("Working directory: " + workingDirectory.getAbsolutePath());
-                log.println("Main class: " + mainClass);
-                log.println("====================================");
-
-                spec.setStandardOutput(new OutputStream() {
-                    @Override
-                    public void flush() { log.flush(); }
-                    @Override
-                    public void close() {}
-                    @Override
-                    public void write(int b) { log.write(b); }
-                });
-            }).rethrowFailure().assertNormalExitValue();
+        //Debugging and running without a log require a dedicated JVM.
+        if (getRunInProcess().get() && hasLog && !debug) {
+            final String executable = getEffectiveExecutable();
+            try (PrintWriter log = new PrintWriter(new FileWriter(logFile), true)) {
+                writeLogHeader(log, executable, args, classpath, workingDirectory, mainClass);
+            }
+            ToolExecutionUtils.execute(getWorkerExecutor(), getProject().getProviders(), getTool().get(), executable, getEffectiveJavaVersion(), Collections.emptyList(), classpath, mainClass, args, logFile);
+        } else {
+            try (PrintWriter log = new PrintWriter(hasLog ? new FileWriter(logFile) : NullWriter.DEFAULT, true)) {
+                getProject().javaexec(spec -> {
+                    spec.setExecutable(getEffectiveExecutable());
+                    spec.setDebug(debug);
+                    spec.setArgs(args);
+                    spec.setClasspath(classpath);
+                    spec.setWorkingDir(workingDirectory);
+                    spec.getMainClass().set(mainClass);
+
+                    writeLogHeader(log, spec.getExecutable(), args, classpath, workingDirectory, mainClass);
+
+                    spec.setStandardOutput(new OutputStream() {
+                        @Override
+                        public void flush() { log.flush(); }
+                        @Override
+                        public void close() {}
+                        @Override
+                        public void write(int b) { log.write(b); }
+                    });
+                }).rethrowFailure().assertNormalExitValue();
+            }
         }
 
         if (hasLog) {
@@ -160,6 +170,16 @@ public abstract class JarExec extends DownloadingTask {
         }
     }
 
+    private static void writeLogHeader(PrintWriter log, String executable, List<String> args, Iterable<File> classpath, File workingDirectory, String mainClass) {
+        log.println("Java Launcher: " + executable);
+        log.println("Arguments: " + args.stream().collect(Collectors.joining(", ", "'", "'")));
+        log.println("Classpath:");
+        classpath.forEach(f -> log.println(" - " + f.getAbsolutePath()));
+        log.println("Working directory: " + workingDirectory.getAbsolutePath());
+        log.println("Main class: " + mainClass);
+        log.println("====================================");
+    }
+
     protected List<String> filterArgs(List<String> args) {
         return args;
     }
@@ -255,6 +275,16 @@ public abstract class JarExec extends DownloadingTask {
     @Optional
     public abstract Property<JavaLauncher> getJavaLauncher();
 
+    /**
+     * Indicates whether the tool runs inside of a reused worker process, instead of a new JVM.
+     * Tasks which are debugged or do not have a log always run the tool in a new JVM.
+     *
+     * @return The property which indicates whether the tool runs in a reused worker process
+     * @see ToolExecutionUtils#IN_PROCESS_PROPERTY
+     */
+    @Internal
+    public abstract Property<Boolean> getRunInProcess();
+
     public void setMinimumRuntimeJavaVersion(int version) {
         if (!getJavaLauncher().isPresent() || !getJavaLauncher().get().getMetadata().getLanguageVersion().canCompileOrRun(version)) {
             setRuntimeJavaVersion(version);
@@ -273,6 +303,14 @@ public abstract class JarExec extends DownloadingTask {
         getJavaLauncher().set(getJavaToolchainService().launcherFor(action));
     }
 
+    private int getEffectiveJavaVersion() {
+        if (getJavaLauncher().isPresent()) {
+            return getJavaLauncher().get().getMetadata().getLanguageVersion().asInt();
+        } else {
+            return Integer.parseInt(JavaVersion.current().getMajorVersion());
+        }
+    }
+
     private String getEffectiveExecutable() {
         if (getJavaLauncher().isPresent()) {
             return getJavaLauncher().get().getExecutablePath().toString();
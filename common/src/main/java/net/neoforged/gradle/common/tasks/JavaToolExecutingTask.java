@@ -1,5 +1,6 @@
 package net.neoforged.gradle.common.tasks;
 
+import net.neoforged.gradle.common.util.ToolExecutionUtils;
 import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.dsl.common.tasks.Execute;
 import org.gradle.api.provider.ListProperty;
@@ -7,7 +8,11 @@ import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +48,8 @@ public abstract class JavaToolExecutingTask extends JavaRuntimeTask implements E
         getExecutingJar().fileProvider(getExecutingArtifact().flatMap(artifact -> getDownloader().flatMap(downloader -> downloader.file(artifact))));
 
         getRuntimeProgramArguments().convention(getProgramArguments());
+        getRuntimeJvmArguments().convention(getJvmArguments());
+        getRunInProcess().convention(ToolExecutionUtils.isInProcessExecutionEnabled(getProject()));
 
         //Configure the default runtime data map:
         getRuntimeArguments().convention(getArguments().map(arguments -> {
@@ -56,9 +63,26 @@ public abstract class JavaToolExecutingTask extends JavaRuntimeTask implements E
     @TaskAction
     @Override
     public void execute() throws Throwable {
+        if (getRunInProcess().get()) {
+            ToolExecutionUtils.executeInProcess(this, getWorkerExecutor());
+            return;
+        }
+
         Execute.super.execute();
     }
 
+    /**
+     * Indicates whether the tool runs inside of a reused worker process, instead of a new JVM.
+     *
+     * @return The property which indicates whether the tool runs in a reused worker process
+     * @see ToolExecutionUtils#IN_PROCESS_PROPERTY
+     */
+    @Internal
+    public abstract Property<Boolean> getRunInProcess();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     /**
      * The arguments for this step.
      *
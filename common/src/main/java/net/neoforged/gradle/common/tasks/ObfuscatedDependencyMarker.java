@@ -1,8 +1,14 @@
 package net.neoforged.gradle.common.tasks;
 
-import net.neoforged.gradle.util.AdaptingZipBuildingFileTreeVisitor;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.tasks.WithWorkspace;
+import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.ManifestUtils;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.CacheableTask;
@@ -12,51 +18,52 @@ import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
-import java.util.zip.ZipOutputStream;
 
 @CacheableTask
-public abstract class ObfuscatedDependencyMarker extends DefaultTask implements WithOutput, WithWorkspace {
+public abstract class ObfuscatedDependencyMarker extends DefaultTask implements WithOutput, WithWorkspace, WithCompression {
 
 
     public ObfuscatedDependencyMarker() {
         super();
         getOutput().convention(getProject().getLayout().getBuildDirectory().dir("obfuscated").flatMap(directory -> getObfuscatedJar().map(input -> directory.file(input.getAsFile().getName().substring(0, input.getAsFile().getName().length() - 4) + "-marked.jar"))));
+        JarCompressionUtils.configureDefaultCompression(this);
     }
 
     @TaskAction
     public void doMark() {
-        try {
-            final File outputJar = this.ensureFileWorkspaceReady(getOutput());
-            final FileOutputStream fileOutputStream = new FileOutputStream(outputJar);
-            final ZipOutputStream outputZipStream = new ZipOutputStream(fileOutputStream);
-            final AdaptingZipBuildingFileTreeVisitor zipBuildingFileTreeVisitor = new AdaptingZipBuildingFileTreeVisitor(outputZipStream, (fileVisitDetails, outputStream) -> {
-                if (!fileVisitDetails.getRelativePath().getPathString().equals("META-INF/MANIFEST.MF")) {
-                    fileVisitDetails.copyTo(outputStream);
-                    return;
+        final File outputJar = this.ensureFileWorkspaceReady(getOutput());
+        try (RawZipReader reader = RawZipReader.open(getObfuscatedJar().get().getAsFile());
+             RawZipWriter writer = JarCompressionUtils.openWriter(this, outputJar)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (!entry.getName().equals("META-INF/MANIFEST.MF")) {
+                    writer.copy(reader, entry);
+                    continue;
                 }
-                try {
-                    Manifest manifest = new Manifest(fileVisitDetails.open());
-                    Attributes mainAttributes = manifest.getMainAttributes();
-                    mainAttributes.putValue("Obfuscated", "true");
-                    mainAttributes.putValue("Obfuscated-By", "NeoGradle");
-
-                    manifest.write(outputStream);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to write manifest", e);
+
+                final Manifest manifest;
+                try (InputStream stream = reader.getInputStream(entry)) {
+                    manifest = new Manifest(stream);
                 }
-            });
-            getProject().zipTree(getObfuscatedJar().get()).visit(zipBuildingFileTreeVisitor);
-            outputZipStream.close();
-            fileOutputStream.close();
+                Attributes mainAttributes = manifest.getMainAttributes();
+                mainAttributes.putValue("Obfuscated", "true");
+                mainAttributes.putValue("Obfuscated-By", "NeoGradle");
+
+                writer.write(FileUtils.getStableEntry(entry.getName()), ManifestUtils.toStableBytes(manifest));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to create recompiled output jar", e);
         }
     }
 
+    @Override
+    public boolean isIntermediateOutput() {
+        return false;
+    }
+
     @InputFile
     @PathSensitive(PathSensitivity.NONE)
     public abstract RegularFileProperty getObfuscatedJar();
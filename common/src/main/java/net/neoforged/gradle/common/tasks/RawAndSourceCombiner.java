@@ -1,7 +1,8 @@
 package net.neoforged.gradle.common.tasks;
 
-import com.google.common.io.Files;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
 import net.neoforged.gradle.dsl.common.tasks.NeoGradleBase;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.*;
@@ -9,7 +10,11 @@ import org.gradle.api.tasks.*;
 import java.io.File;
 import java.io.IOException;
 
-public abstract class RawAndSourceCombiner extends NeoGradleBase implements WithOutput {
+public abstract class RawAndSourceCombiner extends NeoGradleBase implements WithOutput, WithCompression {
+
+    public RawAndSourceCombiner() {
+        JarCompressionUtils.configureDefaultCompression(this);
+    }
 
     @TaskAction
     public void doCombine() {
@@ -23,9 +28,14 @@ public abstract class RawAndSourceCombiner extends NeoGradleBase implements With
         copy(sourceJarInput, sourceJarOutput);
     }
 
-    private static void copy(final File input, final File output) {
+    @Override
+    public boolean isIntermediateOutput() {
+        return false;
+    }
+
+    private void copy(final File input, final File output) {
         try {
-            Files.copy(input, output);
+            JarCompressionUtils.copyCompressed(this, input, output);
         } catch (IOException e) {
             throw new RuntimeException(String.format("Failed to copy: %s to output: %s", input.getAbsolutePath(), output.getAbsolutePath()), e);
         }
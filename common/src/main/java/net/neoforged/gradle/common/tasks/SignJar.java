@@ -20,6 +20,9 @@
 
 package net.neoforged.gradle.common.tasks;
 
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.NonNullApi;
 import org.gradle.api.file.FileTreeElement;
@@ -33,21 +36,12 @@ import org.gradle.api.tasks.util.PatternFilterable;
 import org.gradle.api.tasks.util.PatternSet;
 
 import com.google.common.collect.Maps;
-import com.google.common.io.ByteStreams;
+import com.google.common.collect.Sets;
 import groovy.lang.Closure;
-import groovy.util.MapEntry;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.Collections;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.jar.JarOutputStream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 @CacheableTask
 @NonNullApi
@@ -55,14 +49,14 @@ public abstract class SignJar extends DefaultTask implements PatternFilterable {
     private final PatternSet patternSet = new PatternSet();
     @TaskAction
     public void doTask() throws IOException {
-        final Map<String, Entry<byte[], Long>> ignoredStuff = Maps.newHashMap();
+        final Set<String> unsigned = Sets.newHashSet();
         File input = getInputFile().get().getAsFile();
         File toSign = new File(getTemporaryDir(), input.getName() + ".unsigned.tmp");
         File signed = new File(getTemporaryDir(), input.getName() + ".signed.tmp");
         File output = getOutputFile().get().getAsFile();
 
         // load in input jar, and create temp jar
-        processInputJar(input, toSign, ignoredStuff);
+        processInputJar(input, toSign, unsigned);
 
         // SIGN!
         Map<String, Object> map = Maps.newHashMap();
@@ -79,80 +73,53 @@ public abstract class SignJar extends DefaultTask implements PatternFilterable {
         getProject().getAnt().invokeMethod("signjar", map);
 
         // write out
-        writeOutputJar(signed, output, ignoredStuff);
+        writeOutputJar(signed, input, output, unsigned);
     }
 
-    private void processInputJar(File inputJar, File toSign, final Map<String, Entry<byte[], Long>> unsigned) throws IOException {
+    private void processInputJar(File inputJar, File toSign, final Set<String> unsigned) throws IOException {
         final Spec<FileTreeElement> spec = patternSet.getAsSpec();
 
-        toSign.getParentFile().mkdirs();
-        final JarOutputStream outs = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(toSign)));
-
+        // Only the names are needed to decide what to sign, the entries themselves are copied without recompressing them
         getProject().zipTree(inputJar).visit(new FileVisitor() {
             @Override
             public void visitDir(FileVisitDetails details) {
-                try {
-                    String path = details.getPath();
-                    ZipEntry entry = new ZipEntry(path.endsWith("/") ? path : path + "/");
-                    outs.putNextEntry(entry);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
             }
 
             @Override
-            @SuppressWarnings("unchecked")
             public void visitFile(FileVisitDetails details) {
-                try {
-                    if (spec.isSatisfiedBy(details)) {
-                        ZipEntry entry = new ZipEntry(details.getPath());
-                        entry.setTime(details.getLastModified());
-                        outs.putNextEntry(entry);
-                        details.copyTo(outs);
-                        outs.closeEntry();
-                    } else {
-                        InputStream stream = details.open();
-                        unsigned.put(details.getPath(), new MapEntry(ByteStreams.toByteArray(stream), details.getLastModified()));
-                        stream.close();
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
+                if (!spec.isSatisfiedBy(details)) {
+                    unsigned.add(details.getPath());
                 }
             }
-
         });
 
-        outs.close();
+        toSign.getParentFile().mkdirs();
+        try (RawZipReader reader = RawZipReader.open(inputJar);
+             RawZipWriter writer = new RawZipWriter(toSign)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (!unsigned.contains(entry.getName())) {
+                    writer.copy(reader, entry);
+                }
+            }
+        }
     }
 
-    private void writeOutputJar(File signedJar, File outputJar, Map<String, Entry<byte[], Long>> unsigned) throws IOException {
+    private void writeOutputJar(File signedJar, File inputJar, File outputJar, Set<String> unsigned) throws IOException {
         outputJar.getParentFile().mkdirs();
 
-        JarOutputStream outs = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(outputJar)));
-
-        ZipFile base = new ZipFile(signedJar);
-        for (ZipEntry e : Collections.list(base.entries())) {
-            if (e.isDirectory()) {
-                outs.putNextEntry(e);
-            } else {
-                ZipEntry n = new ZipEntry(e.getName());
-                n.setTime(e.getTime());
-                outs.putNextEntry(n);
-                ByteStreams.copy(base.getInputStream(e), outs);
-                outs.closeEntry();
+        try (RawZipReader signed = RawZipReader.open(signedJar);
+             RawZipReader input = RawZipReader.open(inputJar);
+             RawZipWriter writer = new RawZipWriter(outputJar)) {
+            for (RawZipEntry entry : signed.getEntries()) {
+                writer.copy(signed, entry);
             }
-        }
-        base.close();
-
-        for (Entry<String, Entry<byte[], Long>> e : unsigned.entrySet()) {
-            ZipEntry n = new ZipEntry(e.getKey());
-            n.setTime(e.getValue().getValue());
-            outs.putNextEntry(n);
-            outs.write(e.getValue().getKey());
-            outs.closeEntry();
-        }
 
-        outs.close();
+            for (RawZipEntry entry : input.getEntries()) {
+                if (unsigned.contains(entry.getName())) {
+                    writer.copy(input, entry);
+                }
+            }
+        }
     }
 
     @InputFile
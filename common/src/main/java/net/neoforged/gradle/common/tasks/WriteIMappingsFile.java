@@ -8,6 +8,7 @@ import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.IOException;
@@ -41,7 +42,7 @@ public abstract class WriteIMappingsFile extends DefaultRuntime implements WithO
         );
     }
 
-    @Input
+    @Nested
     public abstract Property<CacheableIMappingFile> getMappings();
 
     @Input
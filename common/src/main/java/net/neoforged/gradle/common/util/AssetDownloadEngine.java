@@ -0,0 +1,374 @@
+package net.neoforged.gradle.common.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.neoforged.gradle.util.FileHashIndex;
+import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.GradleInternalUtils;
+import net.neoforged.gradle.util.HashFunction;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A download engine for large amounts of small files, like the asset objects of the game.
+ * <p>
+ * All downloads share a single pool of keep-alive connections, whose size is bounded by the configured concurrency.
+ * The requested files are split into one batch per worker, so that each worker can reuse its connection for its
+ * entire batch, instead of paying for the connection setup of every single file.
+ */
+public final class AssetDownloadEngine implements Closeable {
+    private static final Logger LOGGER = Logging.getLogger(AssetDownloadEngine.class);
+
+    /**
+     * The size of the buffer each worker uses to stream the downloaded files.
+     */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The base delay between two attempts to download the same file, doubled on every retry.
+     */
+    private static final long RETRY_DELAY_MILLIS = 250L;
+
+    private final int concurrency;
+    private final int maxRetries;
+    private final boolean offline;
+    @Nullable
+    private final FileHashIndex hashIndex;
+    private final CloseableHttpClient client;
+
+    /**
+     * Creates a new download engine.
+     *
+     * @param concurrency The maximum amount of concurrent downloads, and as such connections
+     * @param connectTimeout The timeout in milliseconds for establishing a connection
+     * @param readTimeout The timeout in milliseconds between two packets of data
+     * @param maxRetries The amount of times a failed download is retried before giving up
+     * @param offline Whether gradle runs in offline mode, in which case only the existing files are verified
+     * @param hashIndex The index used to verify existing files without rehashing them, if any
+     */
+    public AssetDownloadEngine(final int concurrency, final int connectTimeout, final int readTimeout, final int maxRetries, final boolean offline, @Nullable final FileHashIndex hashIndex) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("The asset download concurrency needs to be at least 1, but was: " + concurrency);
+        }
+
+        this.concurrency = concurrency;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.offline = offline;
+        this.hashIndex = hashIndex;
+
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(concurrency);
+        connectionManager.setDefaultMaxPerRoute(concurrency);
+
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+
+        this.client = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    /**
+     * Downloads all the given requests, skipping those whose target already exists with the expected hash.
+     *
+     * @param requests The requests to download
+     * @param progress The progress logger to report to, if any
+     * @return The statistics of the download run
+     * @throws IOException If one or more files could not be downloaded, all individual failures are attached as suppressed exceptions
+     */
+    public Statistics download(final Collection<Request> requests, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) throws IOException {
+        final Statistics statistics = new Statistics(requests.size());
+        if (requests.isEmpty()) {
+            return statistics;
+        }
+
+        final List<List<Request>> batches = new ArrayList<>();
+        final int batchCount = Math.min(concurrency, requests.size());
+        for (int i = 0; i < batchCount; i++) {
+            batches.add(new ArrayList<>());
+        }
+
+        int index = 0;
+        for (Request request : requests) {
+            batches.get(index++ % batchCount).add(request);
+        }
+
+        if (progress != null) {
+            progress.setSize(requests.size());
+            progress.started();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(batchCount, new ThreadFactoryBuilder()
+                .setNameFormat("neogradle-asset-download-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            final List<Future<List<IOException>>> futures = new ArrayList<>();
+            for (List<Request> batch : batches) {
+                futures.add(executor.submit(() -> downloadBatch(batch, statistics, progress)));
+            }
+
+            final List<IOException> failures = new ArrayList<>();
+            for (Future<List<IOException>> future : futures) {
+                try {
+                    failures.addAll(future.get());
+                } catch (ExecutionException e) {
+                    failures.add(new IOException("Asset download worker failed", e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for the asset downloads to complete", e);
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                final IOException exception = new IOException(String.format("Failed to download %d of %d assets", failures.size(), requests.size()));
+                failures.forEach(exception::addSuppressed);
+                throw exception;
+            }
+        } finally {
+            executor.shutdownNow();
+            statistics.finish();
+
+            if (progress != null) {
+                progress.completed();
+            }
+        }
+
+        return statistics;
+    }
+
+    private List<IOException> downloadBatch(final List<Request> batch, final Statistics statistics, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) {
+        final List<IOException> failures = new ArrayList<>();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+
+        for (Request request : batch) {
+            if (Thread.currentThread().isInterrupted()) {
+                failures.add(new IOException("Interrupted before downloading: " + request.getUrl()));
+                break;
+            }
+
+            try {
+                if (isUpToDate(request)) {
+                    statistics.cached.incrementAndGet();
+                } else if (offline) {
+                    throw new IOException(String.format("Cannot download asset %s as Gradle is running in offline mode and the file does not exist or does not match the expected hash: %s", request.getUrl(), request.getSha1()));
+                } else {
+                    statistics.bytes.addAndGet(downloadWithRetries(request, buffer));
+                    statistics.downloaded.incrementAndGet();
+                }
+            } catch (IOException e) {
+                failures.add(e);
+            }
+
+            if (progress != null) {
+                synchronized (progress) {
+                    progress.incrementProcessedFileCount();
+                }
+            }
+        }
+
+        return failures;
+    }
+
+    private boolean isUpToDate(final Request request) throws IOException {
+        if (hashIndex != null) {
+            return hashIndex.matches(request.getTarget(), HashFunction.SHA1, request.getSha1());
+        }
+
+        return request.getTarget().exists() && HashFunction.SHA1.hash(request.getTarget()).equals(request.getSha1());
+    }
+
+    private long downloadWithRetries(final Request request, final byte[] buffer) throws IOException {
+        IOException failure = null;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            try {
+                return downloadOnce(request, buffer);
+            } catch (IOException e) {
+                LOGGER.debug("Attempt {} of {} to download {} failed", attempt + 1, maxRetries + 1, request.getUrl(), e);
+                if (failure == null) {
+                    failure = new IOException(String.format("Failed to download %s after %d attempt(s)", request.getUrl(), attempt + 1), e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        throw failure != null ? failure : new IOException("Interrupted while downloading: " + request.getUrl());
+    }
+
+    private long downloadOnce(final Request request, final byte[] buffer) throws IOException {
+        final File target = request.getTarget();
+        final Path parent = target.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(parent);
+
+        final Path temporary = FileUtils.temporaryPath(parent, target.getName());
+        try {
+            final MessageDigest digest = HashFunction.SHA1.get();
+            long size = 0;
+
+            try (CloseableHttpResponse response = client.execute(new HttpGet(request.getUrl()))) {
+                final HttpEntity entity = response.getEntity();
+                final int status = response.getStatusLine().getStatusCode();
+                if (status != 200 || entity == null) {
+                    EntityUtils.consumeQuietly(entity);
+                    throw new IOException(String.format("Server responded with status %d for: %s", status, request.getUrl()));
+                }
+
+                // Fully consuming the entity hands the connection back to the pool, so the next file can reuse it.
+                try (InputStream input = entity.getContent(); OutputStream output = Files.newOutputStream(temporary)) {
+                    int read;
+                    while ((read = input.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        output.write(buffer, 0, read);
+                        size += read;
+                    }
+                }
+            }
+
+            final String hash = HashFunction.SHA1.pad(new BigInteger(1, digest.digest()).toString(16));
+            if (!hash.equals(request.getSha1())) {
+                throw new IOException(String.format("Downloaded asset %s does not match the expected hash. Expected: %s Actual: %s", request.getUrl(), request.getSha1(), hash));
+            }
+
+            FileUtils.atomicMove(temporary, target.toPath());
+            return size;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+    /**
+     * A single file to download.
+     */
+    public static final class Request {
+        private final String url;
+        private final File target;
+        private final String sha1;
+
+        public Request(String url, File target, String sha1) {
+            this.url = url;
+            this.target = target;
+            this.sha1 = sha1;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public File getTarget() {
+            return target;
+        }
+
+        public String getSha1() {
+            return sha1;
+        }
+    }
+
+    /**
+     * The aggregate statistics of a single download run.
+     */
+    public static final class Statistics {
+        private final int requested;
+        private final AtomicInteger downloaded = new AtomicInteger();
+        private final AtomicInteger cached = new AtomicInteger();
+        private final AtomicLong bytes = new AtomicLong();
+        private final long start = System.nanoTime();
+        private long end = -1;
+
+        private Statistics(int requested) {
+            this.requested = requested;
+        }
+
+        private void finish() {
+            end = System.nanoTime();
+        }
+
+        public int getRequested() {
+            return requested;
+        }
+
+        public int getDownloaded() {
+            return downloaded.get();
+        }
+
+        public int getCached() {
+            return cached.get();
+        }
+
+        public long getBytes() {
+            return bytes.get();
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis((end == -1 ? System.nanoTime() : end) - start);
+        }
+
+        /**
+         * @return The average throughput of the run in bytes per second.
+         */
+        public double getThroughput() {
+            final long elapsed = getElapsedMillis();
+            return elapsed == 0 ? 0 : getBytes() * 1000.0 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d of %d assets downloaded (%d already cached): %.2f MB in %.2f s (%.2f MB/s)",
+                    getDownloaded(),
+                    getRequested(),
+                    getCached(),
+                    getBytes() / (1024.0 * 1024.0),
+                    getElapsedMillis() / 1000.0,
+                    getThroughput() / (1024.0 * 1024.0));
+        }
+    }
+}
@@ -1,94 +1,167 @@
 package net.neoforged.gradle.common.util;
 
-import net.neoforged.gradle.util.IMappingFileUtils;
+import net.neoforged.gradle.util.BinaryMappingFormat;
 import net.minecraftforge.srgutils.IMappingFile;
 import net.minecraftforge.srgutils.IRenamer;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A mapping file which can be used as a nested task input, and which can be stored in the configuration cache.
+ * <p>
+ * The input of a task is only the SHA-256 hash of the canonical form of the mappings, which is their binary form as
+ * written by {@link BinaryMappingFormat#toBytes(IMappingFile)}. The canonical form is computed once, when the hash is
+ * first requested, and stored into a content addressed cache directory via {@link BinaryMappingFormat#store(byte[], Path)},
+ * so that only the hash and the cache directory are serialized. A deserialized mapping file is loaded lazily from that directory on first use, and
+ * loaded mappings are shared between all mapping files with the same hash.
+ */
 public class CacheableIMappingFile implements IMappingFile, Serializable {
 
-    private IMappingFile delegate;
+    private static final Map<String, SoftReference<IMappingFile>> LOADED = new ConcurrentHashMap<>();
+
+    private transient volatile IMappingFile delegate;
+    private transient volatile String hash;
+    private File cacheDirectory;
 
-    public CacheableIMappingFile(IMappingFile delegate) {
+    /**
+     * Creates a new mapping file.
+     *
+     * @param delegate The mappings
+     * @param cacheDirectory The directory which holds the canonical form of the mappings once they are serialized
+     */
+    public CacheableIMappingFile(IMappingFile delegate, File cacheDirectory) {
         this.delegate = delegate;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Gets the hash of the canonical form of the mappings, which identifies the mappings as a task input.
+     *
+     * @return The SHA-256 hash of the mappings
+     */
+    @Input
+    public String getHash() {
+        String result = hash;
+        if (result == null) {
+            result = BinaryMappingFormat.store(BinaryMappingFormat.toBytes(getDelegate()), cacheDirectory.toPath());
+            hash = result;
+        }
+        return result;
     }
 
     @Override
+    @Internal
     public Collection<? extends IPackage> getPackages() {
-        return this.delegate.getPackages();
+        return getDelegate().getPackages();
     }
 
     @Override
     public IPackage getPackage(String original) {
-        return this.delegate.getPackage(original);
+        return getDelegate().getPackage(original);
     }
 
     @Override
+    @Internal
     public Collection<? extends IClass> getClasses() {
-        return this.delegate.getClasses();
+        return getDelegate().getClasses();
     }
 
     @Override
     public IClass getClass(String original) {
-        return this.delegate.getClass(original);
+        return getDelegate().getClass(original);
     }
 
     @Override
     public String remapPackage(String pkg) {
-        return this.delegate.remapClass(pkg);
+        return getDelegate().remapPackage(pkg);
     }
 
     @Override
     public String remapClass(String desc) {
-        return this.delegate.remapClass(desc);
+        return getDelegate().remapClass(desc);
     }
 
     @Override
     public String remapDescriptor(String desc) {
-        return this.delegate.remapDescriptor(desc);
+        return getDelegate().remapDescriptor(desc);
     }
 
     @Override
     public void write(Path path, Format format, boolean reversed) throws IOException {
-        this.delegate.write(path, format, reversed);
+        getDelegate().write(path, format, reversed);
     }
 
     @Override
     public IMappingFile reverse() {
-        return new CacheableIMappingFile(this.delegate.reverse());
+        return new CacheableIMappingFile(getDelegate().reverse(), cacheDirectory);
     }
 
     @Override
     public IMappingFile rename(IRenamer renamer) {
-        return new CacheableIMappingFile(this.delegate.rename(renamer));
+        return new CacheableIMappingFile(getDelegate().rename(renamer), cacheDirectory);
     }
 
     @Override
     public IMappingFile chain(IMappingFile other) {
-        return new CacheableIMappingFile(this.delegate.chain(other));
+        return new CacheableIMappingFile(getDelegate().chain(other), cacheDirectory);
     }
 
-    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
-        final List<String> clientLines = IMappingFileUtils.writeMappingFile(delegate, IMappingFile.Format.TSRG2, false);
-
-        out.writeObject(clientLines);
+    private IMappingFile getDelegate() {
+        IMappingFile result = delegate;
+        if (result == null) {
+            synchronized (this) {
+                result = delegate;
+                if (result == null) {
+                    result = load(hash, cacheDirectory);
+                    delegate = result;
+                }
+            }
+        }
+        return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
-        final List<String> clientLines = (List<String>) in.readObject();
+    private static IMappingFile load(final String hash, final File cacheDirectory) {
+        final SoftReference<IMappingFile> reference = LOADED.get(hash);
+        final IMappingFile loaded = reference == null ? null : reference.get();
+        if (loaded != null) {
+            return loaded;
+        }
+
+        final Path file = BinaryMappingFormat.getStoredFile(cacheDirectory.toPath(), hash);
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException(String.format("The mappings with the hash: %s are no longer cached in: %s", hash, cacheDirectory.getAbsolutePath()));
+        }
+
+        final IMappingFile result = BinaryMappingFormat.read(file);
+        LOADED.put(hash, new SoftReference<>(result));
+        return result;
+    }
 
-        InputStream clientStream = new ByteArrayInputStream(String.join("\n", clientLines).getBytes());
+    private void writeObject(java.io.ObjectOutputStream out) throws IOException {
+        //Computing the hash stores the canonical form, it is only written again if it was removed from the cache since.
+        final String name = getHash();
+        if (!Files.isRegularFile(BinaryMappingFormat.getStoredFile(cacheDirectory.toPath(), name))) {
+            BinaryMappingFormat.store(BinaryMappingFormat.toBytes(getDelegate()), cacheDirectory.toPath());
+        }
+
+        out.writeUTF(name);
+        out.writeObject(cacheDirectory);
+    }
 
-        delegate = IMappingFile.load(clientStream);
+    private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+        hash = in.readUTF();
+        cacheDirectory = (File) in.readObject();
     }
 
     private void readObjectNoData() throws ObjectStreamException {
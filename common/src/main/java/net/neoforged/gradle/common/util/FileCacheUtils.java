@@ -1,11 +1,15 @@
 package net.neoforged.gradle.common.util;
 
 import net.neoforged.gradle.common.tasks.FileCacheProviding;
+import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
 import net.neoforged.gradle.dsl.common.util.CacheFileSelector;
+import net.neoforged.gradle.util.UnpackedArchiveCache;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 
@@ -13,10 +17,97 @@ import java.io.File;
 
 public final class FileCacheUtils {
 
+    /**
+     * The name of the file, within the minecraft artifact cache directory, which holds the persistent file hash index.
+     */
+    public static final String HASH_INDEX_FILE_NAME = "hashes.index";
+
+    /**
+     * The path, within the gradle user home, of the directory which holds the unpacked NeoForm and userdev archives.
+     */
+    public static final String UNPACKED_ARCHIVES_DIRECTORY = "caches/neogradle/unpacked";
+
+    /**
+     * The path, within the gradle user home, of the directory which holds the canonical form of serialized mapping files.
+     */
+    public static final String MAPPINGS_DIRECTORY = "caches/neogradle/mappings";
+
     private FileCacheUtils() {
         throw new IllegalStateException("Can not instantiate an instance of: FileCacheUtils. This is a utility class");
     }
 
+    /**
+     * Gets the persistent file hash index of the minecraft artifact cache of the given project.
+     *
+     * @param project The project to get the index for
+     * @return The file which holds the index
+     */
+    @NotNull
+    public static Provider<RegularFile> getHashIndexFile(final Project project) {
+        return project.getExtensions().getByType(MinecraftArtifactCache.class).getCacheDirectory().file(HASH_INDEX_FILE_NAME);
+    }
+
+    /**
+     * Unpacks the given archive into the shared cache in the gradle user home, unless it has already been unpacked there.
+     *
+     * @param project The project whose gradle user home to use
+     * @param archive The archive to unpack
+     * @return The directory which contains the contents of the archive
+     */
+    @NotNull
+    public static File unpackIntoCache(final Project project, final File archive) {
+        return UnpackedArchiveCache.unpack(archive, new File(project.getGradle().getGradleUserHomeDir(), UNPACKED_ARCHIVES_DIRECTORY));
+    }
+
+    /**
+     * Gets the directory of the shared cache in the gradle user home into which the given archive is unpacked, without unpacking it.
+     *
+     * @param project The project whose gradle user home to use
+     * @param archive The archive to locate
+     * @return The directory which contains the contents of the archive, once it has been unpacked
+     * @see #createUnpackIntoCacheTask(Project, String, File)
+     */
+    @NotNull
+    public static File getUnpackedArchiveDirectory(final Project project, final File archive) {
+        return UnpackedArchiveCache.getDirectory(archive, new File(project.getGradle().getGradleUserHomeDir(), UNPACKED_ARCHIVES_DIRECTORY));
+    }
+
+    /**
+     * Creates a task which unpacks the given archive into the shared cache in the gradle user home, unless it has already been unpacked there.
+     *
+     * @param project The project to create the task in
+     * @param name The name of the task
+     * @param archive The archive to unpack
+     * @return The task which unpacks the archive
+     */
+    @SuppressWarnings("Convert2Lambda") // Task actions can not be lambdas.
+    @NotNull
+    public static TaskProvider<Task> createUnpackIntoCacheTask(final Project project, final String name, final File archive) {
+        final File cacheDirectory = new File(project.getGradle().getGradleUserHomeDir(), UNPACKED_ARCHIVES_DIRECTORY);
+        return project.getTasks().register(name, task -> {
+            task.doFirst(new Action<Task>() {
+                @Override
+                public void execute(Task task) {
+                    UnpackedArchiveCache.unpack(archive, cacheDirectory);
+                }
+            });
+            task.setDescription("Unpacks: " + archive.getName() + " into the shared cache.");
+        });
+    }
+
+    /**
+     * Gets the shared directory in the gradle user home which holds the canonical form of serialized and parsed mapping files.
+     *
+     * @param project The project whose gradle user home to use
+     * @return The directory which holds the mappings
+     * @see CacheableIMappingFile
+     * @see net.neoforged.gradle.common.services.caching.MappingsCache
+     */
+    @NotNull
+    public static File getMappingsCacheDirectory(final Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), MAPPINGS_DIRECTORY);
+    }
+
     @SuppressWarnings("Convert2Lambda") // Task actions can not be lambdas.
     @NotNull
     public static TaskProvider<FileCacheProviding> createFileCacheEntryProvidingTask(final Project project, final String name, final String gameVersion, final File outputDirectory, final DirectoryProperty cacheDirectory, final CacheFileSelector selector, final Runnable action) {
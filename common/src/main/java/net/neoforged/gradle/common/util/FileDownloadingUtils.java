@@ -1,7 +1,8 @@
 package net.neoforged.gradle.common.util;
 
+import net.neoforged.gradle.util.FileHashIndex;
 import net.neoforged.gradle.util.HashFunction;
-import org.apache.commons.io.FileUtils;
+import net.neoforged.gradle.util.ResumableDownloader;
 import org.gradle.api.Project;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Optional;
@@ -26,17 +27,30 @@ public final class FileDownloadingUtils {
     }
 
     public static void downloadTo(Project project, DownloadInfo info, File file) throws IOException {
+        downloadTo(project.getGradle().getStartParameter().isOffline(), FileCacheUtils.getHashIndexFile(project).get().getAsFile(), info, file);
+    }
+
+    /**
+     * Downloads the given file, without accessing any project, so that this can run on any thread.
+     *
+     * @param offline Whether gradle runs offline, in which case the file has to exist already
+     * @param hashIndexFile The file which holds the hash index of the minecraft artifact cache
+     * @param info The information about the download
+     * @param file The file to download to
+     * @throws IOException If the download fails
+     */
+    public static void downloadTo(boolean offline, File hashIndexFile, DownloadInfo info, File file) throws IOException {
         // Check if file exists in local installer cache
         if (info.type.equals("jar") && info.side.equals("client")) {
             File localPath = new File(getMCDir() + File.separator + "versions" + File.separator + info.version + File.separator + info.version + ".jar");
-            if (localPath.exists() && HashFunction.SHA1.hash(localPath).equalsIgnoreCase(info.hash)) {
+            if (info.hash != null && FileHashIndex.get(hashIndexFile).matches(localPath, HashFunction.SHA1, info.hash)) {
                 org.apache.commons.io.FileUtils.copyFile(localPath, file);
                 return;
             }
         }
 
-        if (!project.getGradle().getStartParameter().isOffline()) {
-            FileUtils.copyURLToFile(new URL(info.url), file);
+        if (!offline) {
+            ResumableDownloader.download(new URL(info.url), file, info.hash, null);
         } else if (!file.exists()) {
             throw new RuntimeException("Could not find the file: " + file + " and we are offline.");
         }
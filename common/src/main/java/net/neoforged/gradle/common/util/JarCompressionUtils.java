@@ -0,0 +1,111 @@
+package net.neoforged.gradle.common.util;
+
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
+import net.neoforged.gradle.dsl.common.util.JarCompression;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.zip.ZipException;
+
+public final class JarCompressionUtils {
+
+    /**
+     * The gradle property which provides the compression of intermediate jars.
+     */
+    public static final String INTERMEDIATE_COMPRESSION_PROPERTY = "neogradle.runtime.intermediateCompression";
+
+    /**
+     * The gradle property which provides the compression of final jars.
+     */
+    public static final String FINAL_COMPRESSION_PROPERTY = "neogradle.runtime.finalCompression";
+
+    private JarCompressionUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: JarCompressionUtils. This is a utility class");
+    }
+
+    /**
+     * Gets the compression of intermediate or final jars, as configured via the gradle properties of the project.
+     * Intermediate jars are stored by default, final jars are deflated with the default level.
+     *
+     * @param project The project to get the compression for
+     * @param intermediate Whether the compression of intermediate jars is requested
+     * @return The provider of the compression
+     */
+    public static Provider<JarCompression> getDefaultCompression(final Project project, final boolean intermediate) {
+        return project.getProviders().gradleProperty(intermediate ? INTERMEDIATE_COMPRESSION_PROPERTY : FINAL_COMPRESSION_PROPERTY)
+                .map(value -> JarCompression.valueOf(value.trim().toUpperCase(Locale.ROOT)))
+                .orElse(intermediate ? JarCompression.STORED : JarCompression.DEFAULT);
+    }
+
+    /**
+     * Configures the compression of the given task to follow the gradle properties of its project.
+     * Tasks which are part of a runtime follow the compression of that runtime instead, once they are configured by it.
+     *
+     * @param task The task to configure
+     */
+    public static void configureDefaultCompression(final WithCompression task) {
+        task.getCompression().convention(getDefaultCompression(task.getProject(), task.isIntermediateOutput()));
+    }
+
+    /**
+     * Opens a writer for the jar of the given task, which compresses new entries as configured on the task.
+     *
+     * @param task The task which writes the jar
+     * @param output The jar to write
+     * @return The writer
+     * @throws IOException If the jar could not be opened
+     */
+    public static RawZipWriter openWriter(final WithCompression task, final File output) throws IOException {
+        return new RawZipWriter(output, task.getCompression().get().getLevel(), RawZipWriter.DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Opens a writer for the jar of the given task, which compresses new entries as configured on the task,
+     * and keeps at most the given amount of entries in memory while they are produced or compressed.
+     *
+     * @param task The task which writes the jar
+     * @param output The jar to write
+     * @param parallelism The amount of threads which produce and compress new entries
+     * @param maxPendingEntries The maximum amount of entries which are added but not yet written
+     * @return The writer
+     * @throws IOException If the jar could not be opened
+     */
+    public static RawZipWriter openWriter(final WithCompression task, final File output, final int parallelism, final int maxPendingEntries) throws IOException {
+        return new RawZipWriter(output, task.getCompression().get().getLevel(), parallelism, maxPendingEntries);
+    }
+
+    /**
+     * Copies the given file, if it is a jar then entries which an intermediate task stored are compressed as configured on the task.
+     * All other entries, as well as files which are not jars, are copied as is.
+     *
+     * @param task The task which copies the file
+     * @param input The file to copy
+     * @param output The target of the copy
+     * @throws IOException If the file could not be copied
+     */
+    public static void copyCompressed(final WithCompression task, final File input, final File output) throws IOException {
+        final RawZipReader reader;
+        try {
+            reader = RawZipReader.open(input);
+        } catch (ZipException e) {
+            //Not a (supported) zip file, so there is nothing to compress.
+            Files.copy(input.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        try (RawZipReader source = reader;
+             RawZipWriter writer = openWriter(task, output)) {
+            for (RawZipEntry entry : source.getEntries()) {
+                writer.copyAndCompressStored(source, entry);
+            }
+        }
+    }
+}
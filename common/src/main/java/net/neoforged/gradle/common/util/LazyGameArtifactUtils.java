@@ -0,0 +1,57 @@
+package net.neoforged.gradle.common.util;
+
+import com.google.common.base.Suppliers;
+import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.provider.Provider;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for accessing game artifacts without touching the network or the file system until they are actually needed.
+ * Used by runtimes which are created lazily.
+ */
+public final class LazyGameArtifactUtils {
+
+    private LazyGameArtifactUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: LazyGameArtifactUtils. This is a utility class");
+    }
+
+    /**
+     * Creates a supplier of the version json of the given game version.
+     * The version manifest is only cached, and potentially downloaded, when the supplier is first queried.
+     *
+     * @param artifactCache The artifact cache to get the version manifest from
+     * @param gameVersion The game version
+     * @return The memoizing supplier of the version json
+     */
+    public static Supplier<VersionJson> versionJson(final MinecraftArtifactCache artifactCache, final String gameVersion) {
+        return Suppliers.memoize(() -> {
+            try (InputStream stream = new FileInputStream(artifactCache.cacheVersionManifest(gameVersion))) {
+                return VersionJson.get(stream);
+            } catch (IOException e) {
+                throw new RuntimeException(String.format("Failed to read VersionJson from the launcher metadata for the minecraft version: %s", gameVersion), e);
+            }
+        });
+    }
+
+    /**
+     * Creates a provider of the library dependencies of the given version json.
+     * Meant to be added to a configuration via {@code addAllLater}, so that the version json is only read when the configuration is resolved.
+     *
+     * @param project The project to create the dependencies in
+     * @param versionJson The supplier of the version json
+     * @return The provider of the library dependencies
+     */
+    public static Provider<List<Dependency>> libraries(final Project project, final Supplier<VersionJson> versionJson) {
+        return project.provider(() -> versionJson.get().getLibraries().stream()
+                .map(library -> project.getDependencies().create(library.getName()))
+                .collect(Collectors.toList()));
+    }
+}
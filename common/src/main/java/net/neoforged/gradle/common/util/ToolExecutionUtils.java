@@ -0,0 +1,138 @@
+package net.neoforged.gradle.common.util;
+
+import net.neoforged.gradle.common.runtime.tasks.action.ExecuteToolAction;
+import net.neoforged.gradle.dsl.common.tasks.Execute;
+import net.neoforged.gradle.util.IsolatedToolRunner;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.ProviderFactory;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class ToolExecutionUtils {
+
+    /**
+     * The gradle property which enables running java tools inside of reused worker processes, instead of starting a new
+     * JVM for each invocation of a tool.
+     * <p>
+     * Each tool is loaded by an isolated class loader in a worker process. Gradle keeps these processes alive between
+     * tasks, runtimes and builds of the same daemon, and reuses a process for the same tool, java executable and jvm
+     * arguments, so that later invocations of the same tool version skip the JVM startup and start warm.
+     * Tools are run with the working directory of the worker process, so they need to be passed absolute paths.
+     */
+    public static final String IN_PROCESS_PROPERTY = "neogradle.runtime.inProcessTools";
+
+    /**
+     * The gradle property which defines the percentage of the heap of a worker process which may stay in use after a
+     * collection, before all of its tools are unloaded, defaults to 75.
+     */
+    public static final String POOL_MAX_HEAP_USAGE_PROPERTY = "neogradle.runtime.toolPool.maxHeapUsage";
+
+    private ToolExecutionUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: ToolExecutionUtils. This is a utility class");
+    }
+
+    /**
+     * Indicates whether java tools run inside of reused worker processes, as configured via the gradle properties of the project.
+     * This is disabled by default.
+     *
+     * @param project The project to check
+     * @return The provider which indicates whether tools run in reused worker processes
+     */
+    public static Provider<Boolean> isInProcessExecutionEnabled(final Project project) {
+        return project.getProviders().gradleProperty(IN_PROCESS_PROPERTY)
+                .map(value -> Boolean.parseBoolean(value.trim()))
+                .orElse(false);
+    }
+
+    /**
+     * Runs the tool of the given task within a reused worker process, and writes the same console log as forking the tool would.
+     *
+     * @param task The task to run the tool of
+     * @param workerExecutor The worker executor of the task
+     */
+    public static void executeInProcess(final Execute task, final WorkerExecutor workerExecutor) {
+        final List<String> jvmArgs = task.applyVariableSubstitutions(task.getRuntimeJvmArguments()).get();
+        final List<String> programArgs = task.applyVariableSubstitutions(task.getRuntimeProgramArguments()).get();
+
+        final File outputFile = task.ensureFileWorkspaceReady(task.getOutput());
+        final File logFile = task.ensureFileWorkspaceReady(task.getLogFile());
+        final File consoleLogFile = task.ensureFileWorkspaceReady(task.getConsoleLogFile().get());
+
+        final String mainClass = task.getMainClass().get();
+        final String executable = task.getExecutablePath().get();
+        final File jar = task.getExecutingJar().get().getAsFile();
+
+        try (PrintWriter writer = new PrintWriter(new FileOutputStream(consoleLogFile))) {
+            writer.println("JVM Args:          " + jvmArgs.stream().map(ToolExecutionUtils::quote).collect(Collectors.joining(", ")));
+            writer.println("Run Args:          " + programArgs.stream().map(ToolExecutionUtils::quote).collect(Collectors.joining(", ")));
+            writer.println("JVM:               " + executable);
+            writer.println("Classpath:         " + jar.getAbsolutePath());
+            writer.println("Working Dir:       " + task.getOutputDirectory().get().getAsFile().getAbsolutePath() + " (not applied, the tool runs in a worker process)");
+            writer.println("Main Class:        " + mainClass);
+            writer.println("Program log file:  " + logFile.getAbsolutePath());
+            writer.println("Output file:       " + outputFile.getAbsolutePath());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write the console log of: " + task.getName(), e);
+        }
+
+        execute(workerExecutor, task.getProject().getProviders(), jar.getName(), executable, task.getJavaLauncher().get().getMetadata().getLanguageVersion().asInt(), jvmArgs, Collections.singletonList(jar), mainClass, programArgs, consoleLogFile);
+    }
+
+    /**
+     * Runs the given tool within a reused worker process, and waits for it to complete.
+     *
+     * @param workerExecutor The worker executor of the calling task
+     * @param providers The providers of the project of the calling task, to read the pool settings from
+     * @param tool The identifier of the tool, for example its coordinate, tools with different identifiers do not share a worker process
+     * @param executable The java executable of the worker process
+     * @param javaVersion The java version of the executable
+     * @param jvmArguments The jvm arguments of the worker process
+     * @param classpath The classpath of the tool
+     * @param mainClass The main class of the tool
+     * @param arguments The arguments of the tool
+     * @param logFile The file to append the output of the tool to
+     */
+    public static void execute(final WorkerExecutor workerExecutor, final ProviderFactory providers, final String tool, final String executable, final int javaVersion, final List<String> jvmArguments,
+                               final Iterable<File> classpath, final String mainClass, final List<String> arguments, final File logFile) {
+        final List<String> workerJvmArguments = new ArrayList<>(jvmArguments);
+        if (javaVersion >= 12) {
+            //Java 18 and newer refuse to install the security manager which intercepts System.exit without this.
+            workerJvmArguments.add("-Djava.security.manager=allow");
+        }
+        //Gradle only reuses worker processes with equal fork options, this gives each tool a pool of its own.
+        workerJvmArguments.add("-Dneogradle.tool=" + tool);
+
+        final WorkQueue queue = workerExecutor.processIsolation(spec -> {
+            spec.getForkOptions().setExecutable(executable);
+            spec.getForkOptions().setJvmArgs(workerJvmArguments);
+        });
+        queue.submit(ExecuteToolAction.class, params -> {
+            params.getClasspath().from(classpath);
+            params.getMainClass().set(mainClass);
+            params.getArguments().set(arguments);
+            params.getLogFile().set(logFile);
+            params.getPoolSettings().set(getPoolSettings(providers));
+        });
+        queue.await();
+    }
+
+    private static IsolatedToolRunner.PoolSettings getPoolSettings(final ProviderFactory providers) {
+        return new IsolatedToolRunner.PoolSettings(
+                providers.gradleProperty(POOL_MAX_HEAP_USAGE_PROPERTY).map(value -> Integer.parseInt(value.trim()) / 100D).getOrElse(IsolatedToolRunner.PoolSettings.DEFAULT.getMaxHeapUsage())
+        );
+    }
+
+    private static CharSequence quote(final String value) {
+        return '"' + value + '"';
+    }
+}
@@ -0,0 +1,280 @@
+package net.neoforged.gradle.common.util;
+
+import net.neoforged.gradle.common.runtime.tasks.Execute;
+import org.gradle.api.Project;
+import org.gradle.api.execution.TaskExecutionGraph;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.plugins.ExtraPropertiesExtension;
+import org.gradle.api.provider.Provider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the heap size and thread count of memory heavy java tools, instead of giving every invocation the same fixed heap.
+ * <p>
+ * The memory which is available to the build, being the physical memory or the memory limit of the container, is
+ * shared by all heavy tools which can run at the same time, after the heap of the gradle daemon and some headroom for
+ * the system have been reserved. How many tools can run at the same time is derived from the heavy tasks which are
+ * scheduled in the current build, limited by the maximum amount of workers. The plan is logged once per build.
+ * <p>
+ * The planned values can be overridden per tool with the gradle properties {@code neogradle.runtime.tools.<tool>.heap},
+ * which takes a size like {@code 6g} or {@code 3072m}, and {@code neogradle.runtime.tools.<tool>.threads}.
+ */
+public final class ToolResourceUtils {
+    private static final Logger LOGGER = Logging.getLogger(ToolResourceUtils.class);
+
+    /**
+     * The prefix of the gradle properties which override the planned resources of a tool.
+     */
+    public static final String TOOL_PROPERTY_PREFIX = "neogradle.runtime.tools.";
+
+    private static final String HEAVY_TOOL_EXTRA_PROPERTY = "neogradleHeavyTool";
+    private static final String PLAN_LOGGING_EXTRA_PROPERTY = "neogradleToolPlanLogging";
+    private static final long MEGABYTE = 1024L * 1024L;
+    private static final long MIN_HEAP = 512L * MEGABYTE;
+    private static final long SYSTEM_HEADROOM = 1024L * MEGABYTE;
+
+    /**
+     * The memory heavy tools whose resources are planned.
+     */
+    public enum Tool {
+        /**
+         * The decompiler, which can use multiple threads.
+         */
+        DECOMPILER("decompiler", 8192L * MEGABYTE, "-thr="),
+        /**
+         * The renamer of compiled jars.
+         */
+        RENAMER("renamer", 4096L * MEGABYTE, null);
+
+        private final String name;
+        private final long maxHeap;
+        private final String threadsArgument;
+
+        Tool(final String name, final long maxHeap, final String threadsArgument) {
+            this.name = name;
+            this.maxHeap = maxHeap;
+            this.threadsArgument = threadsArgument;
+        }
+
+        /**
+         * @return The name of the tool, as used in the gradle properties which override its resources
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * The heap size and thread count of a tool invocation.
+     */
+    static final class Plan {
+        private final long heap;
+        private final int threads;
+
+        Plan(final long heap, final int threads) {
+            this.heap = heap;
+            this.threads = threads;
+        }
+
+        long getHeap() {
+            return heap;
+        }
+
+        int getThreads() {
+            return threads;
+        }
+    }
+
+    private ToolResourceUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: ToolResourceUtils. This is a utility class");
+    }
+
+    /**
+     * Configures the given task to run the given tool with planned resources.
+     * Any maximum heap size in the jvm arguments of the task is replaced, and a thread count is added to the program
+     * arguments if the tool supports it and they do not specify one already.
+     * The resources are planned once the task graph is ready, if the task is scheduled, and are not an input of the task.
+     *
+     * @param task The task which runs the tool
+     * @param tool The tool which the task runs
+     */
+    public static void configure(final Execute task, final Tool tool) {
+        task.getExtensions().getExtraProperties().set(HEAVY_TOOL_EXTRA_PROPERTY, tool.getName());
+
+        final Project project = task.getProject();
+        final int maxWorkers = project.getGradle().getStartParameter().getMaxWorkerCount();
+        final String prefix = TOOL_PROPERTY_PREFIX + tool.getName();
+        final Provider<Long> heapOverride = project.getProviders().gradleProperty(prefix + ".heap").map(ToolResourceUtils::parseSize);
+        final Provider<Integer> threadsOverride = project.getProviders().gradleProperty(prefix + ".threads").map(value -> Integer.parseInt(value.trim()));
+
+        registerPlanLogging(project.getGradle(), maxWorkers);
+        project.getGradle().getTaskGraph().whenReady(graph -> {
+            if (!graph.hasTask(task))
+                return;
+
+            final int concurrentTools = Math.max(1, Math.min(maxWorkers, countScheduledHeavyTasks(graph)));
+            apply(task, tool, plan(task, tool, concurrentTools, heapOverride, threadsOverride));
+        });
+    }
+
+    private static void apply(final Execute task, final Tool tool, final Plan plan) {
+        //Only the planned values are captured, so the arguments do not depend on the project when the task runs.
+        final long heapMegabytes = plan.getHeap() / MEGABYTE;
+        task.getRuntimeJvmArguments().set(task.getJvmArguments().map(jvmArguments -> {
+            final List<String> result = new ArrayList<>(jvmArguments.size() + 1);
+            jvmArguments.stream().filter(argument -> !argument.startsWith("-Xmx")).forEach(result::add);
+            result.add(String.format("-Xmx%dm", heapMegabytes));
+            return result;
+        }));
+
+        if (tool.threadsArgument != null) {
+            final String threadsArgument = tool.threadsArgument + plan.getThreads();
+            task.getRuntimeProgramArguments().set(task.getProgramArguments().map(programArguments -> {
+                if (programArguments.stream().anyMatch(argument -> argument.startsWith(tool.threadsArgument)))
+                    return programArguments;
+
+                //Options have to precede the positional arguments.
+                final List<String> result = new ArrayList<>(programArguments.size() + 1);
+                result.add(threadsArgument);
+                result.addAll(programArguments);
+                return result;
+            }));
+        }
+    }
+
+    private static Plan plan(final Execute task, final Tool tool, final int concurrentTools, final Provider<Long> heapOverride, final Provider<Integer> threadsOverride) {
+        final long memory = getAvailableMemory();
+        final long daemonHeap = Runtime.getRuntime().maxMemory();
+        final int processors = Runtime.getRuntime().availableProcessors();
+
+        final Plan planned = plan(tool, memory, daemonHeap + SYSTEM_HEADROOM, concurrentTools, processors);
+        final Plan plan = new Plan(heapOverride.getOrElse(planned.getHeap()), threadsOverride.getOrElse(planned.getThreads()));
+
+        LOGGER.debug("Planned to run {} of {} with a heap of {}m and {} threads (planned {}m and {} threads: {}m of memory, {}m reserved, {} concurrent heavy tools on {} processors)",
+                tool.getName(), task.getPath(), plan.getHeap() / MEGABYTE, plan.getThreads(),
+                planned.getHeap() / MEGABYTE, planned.getThreads(), memory / MEGABYTE, (daemonHeap + SYSTEM_HEADROOM) / MEGABYTE, concurrentTools, processors);
+        return plan;
+    }
+
+    /**
+     * Shares the memory and processors which remain after the reserved memory between the tools which run at the same time.
+     *
+     * @param tool The tool to plan the resources for
+     * @param memory The memory which is available to the build
+     * @param reserved The memory which is reserved for the gradle daemon and the system
+     * @param concurrentTools The amount of heavy tools which can run at the same time
+     * @param processors The amount of available processors
+     * @return The planned resources
+     */
+    static Plan plan(final Tool tool, final long memory, final long reserved, final int concurrentTools, final int processors) {
+        final long heap = Math.max(MIN_HEAP, Math.min(tool.maxHeap, (memory - reserved) / concurrentTools));
+        final int threads = Math.max(1, processors / concurrentTools);
+        return new Plan(heap, threads);
+    }
+
+    /**
+     * Logs the planned resources of every scheduled tool once per build, instead of once per task which runs a tool.
+     */
+    private static void registerPlanLogging(final Gradle gradle, final int maxWorkers) {
+        final ExtraPropertiesExtension extraProperties = gradle.getExtensions().getExtraProperties();
+        if (extraProperties.has(PLAN_LOGGING_EXTRA_PROPERTY))
+            return;
+
+        extraProperties.set(PLAN_LOGGING_EXTRA_PROPERTY, true);
+        gradle.getTaskGraph().whenReady(graph -> {
+            final Set<String> scheduledTools = graph.getAllTasks().stream()
+                    .filter(task -> task.getExtensions().getExtraProperties().has(HEAVY_TOOL_EXTRA_PROPERTY))
+                    .map(task -> String.valueOf(task.getExtensions().getExtraProperties().get(HEAVY_TOOL_EXTRA_PROPERTY)))
+                    .collect(Collectors.toSet());
+            if (scheduledTools.isEmpty())
+                return;
+
+            final long memory = getAvailableMemory();
+            final long reserved = Runtime.getRuntime().maxMemory() + SYSTEM_HEADROOM;
+            final int processors = Runtime.getRuntime().availableProcessors();
+            final int concurrentTools = Math.max(1, Math.min(maxWorkers, countScheduledHeavyTasks(graph)));
+
+            final String plans = Arrays.stream(Tool.values())
+                    .filter(tool -> scheduledTools.contains(tool.getName()))
+                    .map(tool -> {
+                        final Plan plan = plan(tool, memory, reserved, concurrentTools, processors);
+                        return String.format("%s with a heap of %dm and %d threads", tool.getName(), plan.getHeap() / MEGABYTE, plan.getThreads());
+                    })
+                    .collect(Collectors.joining(", "));
+            LOGGER.lifecycle("Planned heavy tools: {} ({}m of memory, {}m reserved, {} concurrent heavy tools on {} processors, overridable with {}<tool>.heap and .threads)",
+                    plans, memory / MEGABYTE, reserved / MEGABYTE, concurrentTools, processors, TOOL_PROPERTY_PREFIX);
+        });
+    }
+
+    private static int countScheduledHeavyTasks(final TaskExecutionGraph graph) {
+        return (int) graph.getAllTasks().stream()
+                .filter(task -> task.getExtensions().getExtraProperties().has(HEAVY_TOOL_EXTRA_PROPERTY))
+                .count();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long getAvailableMemory() {
+        long memory = Long.MAX_VALUE;
+        final OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof com.sun.management.OperatingSystemMXBean) {
+            memory = ((com.sun.management.OperatingSystemMXBean) operatingSystem).getTotalPhysicalMemorySize();
+        }
+
+        //Older JVMs do not respect the memory limit of the container when reporting the physical memory.
+        memory = Math.min(memory, readCgroupMemoryLimit(Paths.get("/sys/fs/cgroup/memory.max")));
+        memory = Math.min(memory, readCgroupMemoryLimit(Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes")));
+
+        if (memory == Long.MAX_VALUE) {
+            //Nothing is known, so this behaves like the previously fixed heap of 4 gigabytes for a single tool.
+            memory = 4096L * MEGABYTE + Runtime.getRuntime().maxMemory() + SYSTEM_HEADROOM;
+        }
+        return memory;
+    }
+
+    private static long readCgroupMemoryLimit(final Path file) {
+        if (!Files.isRegularFile(file))
+            return Long.MAX_VALUE;
+
+        try {
+            final String value = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+            return value.equals("max") ? Long.MAX_VALUE : Long.parseLong(value);
+        } catch (IOException | NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Parses a size in the format of the maximum heap size jvm argument, in bytes if no unit is given.
+     *
+     * @param value The size, for example {@code 4g}, {@code 512m} or {@code 1048576}
+     * @return The size in bytes
+     */
+    static long parseSize(final String value) {
+        final String size = value.trim().toLowerCase(Locale.ROOT);
+        switch (size.charAt(size.length() - 1)) {
+            case 'k':
+                return Long.parseLong(size.substring(0, size.length() - 1)) * 1024L;
+            case 'm':
+                return Long.parseLong(size.substring(0, size.length() - 1)) * MEGABYTE;
+            case 'g':
+                return Long.parseLong(size.substring(0, size.length() - 1)) * 1024L * MEGABYTE;
+            default:
+                return Long.parseLong(size);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessTransformerRenamerTest {
+
+    @Test
+    public void onlyMemberNamesAreRenamed() {
+        final List<String> renamed = AccessTransformerRenamer.rename(new SuffixRenamer(), Arrays.asList(
+                "# A comment",
+                "",
+                "public net.minecraft.world.Level",
+                "public-f net.minecraft.world.Level level # The level",
+                "protected\tnet.minecraft.world.Level   tick(ILjava/lang/String;)V",
+                "   private net.minecraft.world.Level$Inner *()   ",
+                "   # Indented comment"
+        ));
+
+        assertEquals(Arrays.asList(
+                "public net.minecraft.world.Level",
+                "public-f net.minecraft.world.Level level_field_net.minecraft.world.Level",
+                "protected net.minecraft.world.Level tick_method_(ILjava/lang/String;)V(ILjava/lang/String;)V",
+                "private net.minecraft.world.Level$Inner *_method_()()"
+        ), renamed);
+    }
+
+    private static final class SuffixRenamer implements ITypeRenamer {
+
+        @Override
+        public String renameType(String type) {
+            return type;
+        }
+
+        @Override
+        public String renameField(String owner, String name) {
+            return name + "_field_" + owner;
+        }
+
+        @Override
+        public String renameMethod(String owner, String name, String desc) {
+            return name + "_method_" + desc;
+        }
+
+        @Override
+        public String renameDescriptor(String desc) {
+            return desc;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourceLineTokenizerTest {
+
+    private static final Pattern CONSTRUCTOR_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(public |private|protected |)(?<generic><[\\w\\W]*>\\s+)?(?<name>[\\w.]+)\\((?<parameters>.*)\\)\\s+(?:throws[\\w.,\\s]+)?\\{");
+    private static final Pattern METHOD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*(?<generic><[\\w\\W]*>\\s+)?(?<return>\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*)\\s+(?<name>(?:func_|m_)[0-9]+_[a-zA-Z_]*)\\(");
+    private static final Pattern FIELD_JAVADOC_PATTERN = Pattern.compile("^(?<indent>(?: {3})+|\\t+)(?!return)(?:\\w+\\s+)*\\w+[\\w$.]*(?:<[\\w\\W]*>)?[\\[\\]]*\\s+(?<name>(?:field_|f_)[0-9]+_[a-zA-Z_]*) *[=;]");
+    private static final Pattern CLASS_JAVADOC_PATTERN = Pattern.compile("^(?<indent> *|\\t*)([\\w|@]*\\s)*(class|interface|@interface|enum) (?<name>[\\w]+)");
+    private static final Pattern CLOSING_CURLY_BRACE = Pattern.compile("^(?<indent> *|\\t*)}");
+    private static final Pattern PACKAGE_DECL = Pattern.compile("^[\\s]*package(\\s)*(?<name>[\\w|.]+);$");
+
+    @Test
+    public void everyLineMatchedByThePatternsIsClassifiedAsCandidate() {
+        final Random random = new Random(18);
+        final String[] fragments = {"   ", "\t", " ", "public ", "private", "static ", "class ", "interface ", "@interface ", "enum ", "Foo", "{", "}", "(", ")",
+                "func_1_a", "m_3_", "field_2_b", "f_4_", " = 1", ";", "package ", "a.b;", "return ", "<T> ", "List<T> ", " throws X ", "int ", "p_1_", ", ", "\u000B"};
+        for (int i = 0; i < 100000; i++) {
+            final StringBuilder line = new StringBuilder();
+            final int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                line.append(fragments[random.nextInt(fragments.length)]);
+            }
+            assertClassifiedLikeThePatterns(line.toString());
+        }
+    }
+
+    @Test
+    public void javadocsAreInjectedIntoTheGoldenSource() throws IOException {
+        final String source = String.join("\n",
+                "package net.minecraft;",
+                "",
+                "public class Test {",
+                "   private final int field_2_b;",
+                "   protected static int f_4_ = 3;",
+                "",
+                "   public Test(int p_1_) {",
+                "      this.field_2_b = p_1_;",
+                "   }",
+                "",
+                "   @Override",
+                "   public void func_1_a() {",
+                "      this.m_3_();",
+                "   }",
+                "",
+                "   public static class Inner {",
+                "      public Inner() {",
+                "      }",
+                "   }",
+                "",
+                "   interface Callback {",
+                "      void m_3_();",
+                "   }",
+                "}",
+                "");
+        final String expected = String.join(System.getProperty("line.separator"),
+                "package net.minecraft;",
+                "",
+                "/**",
+                " * A test class.",
+                " */",
+                "public class Test {",
+                "   /** The level. */",
+                "   private final int level;",
+                "   /** The count. */",
+                "   protected static int count = 3;",
+                "",
+                "   /**",
+                "    * Creates it.",
+                "    */",
+                "   public Test(int p_1_) {",
+                "      this.level = p_1_;",
+                "   }",
+                "",
+                "   /**",
+                "    * Ticks the thing.",
+                "    */",
+                "   @Override",
+                "   public void tick() {",
+                "      this.update();",
+                "   }",
+                "",
+                "   /**",
+                "    * An inner class.",
+                "    */",
+                "   public static class Inner {",
+                "      /**",
+                "       * Creates it.",
+                "       */",
+                "      public Inner() {",
+                "      }",
+                "   }",
+                "",
+                "   interface Callback {",
+                "      /**",
+                "       * Updates.",
+                "       */",
+                "      void update();",
+                "   }",
+                "}",
+                "");
+
+        final Map<String, String> names = new HashMap<>();
+        names.put("func_1_a", "tick");
+        names.put("field_2_b", "level");
+        names.put("m_3_", "update");
+        names.put("f_4_", "count");
+        final Map<String, String> docs = new HashMap<>();
+        docs.put("func_1_a", "Ticks the thing.");
+        docs.put("field_2_b", "The level.");
+        docs.put("m_3_", "Updates.");
+        docs.put("f_4_", "The count.");
+        docs.put("<init>", "Creates it.");
+        docs.put("net.minecraft.Test", "A test class.");
+        docs.put("net.minecraft.Test$Inner", "An inner class.");
+
+        final RegexBasedSourceRenamer renamer = new RegexBasedSourceRenamer() {
+            @Override
+            public Map<String, String> getNames() {
+                return names;
+            }
+
+            @Override
+            public Map<String, String> getDocs() {
+                return docs;
+            }
+        };
+
+        assertEquals(expected, new String(renamer.rename(source.getBytes(StandardCharsets.UTF_8), true, true), StandardCharsets.UTF_8));
+    }
+
+    private static void assertClassifiedLikeThePatterns(final String line) {
+        final int declarations = SourceLineTokenizer.classify(line);
+        assertCandidate(line, declarations, SourceLineTokenizer.PACKAGE, PACKAGE_DECL);
+        assertCandidate(line, declarations, SourceLineTokenizer.CONSTRUCTOR, CONSTRUCTOR_JAVADOC_PATTERN);
+        assertCandidate(line, declarations, SourceLineTokenizer.METHOD, METHOD_JAVADOC_PATTERN);
+        assertCandidate(line, declarations, SourceLineTokenizer.FIELD, FIELD_JAVADOC_PATTERN);
+        assertCandidate(line, declarations, SourceLineTokenizer.CLASS, CLASS_JAVADOC_PATTERN);
+
+        final Matcher closingBrace = CLOSING_CURLY_BRACE.matcher(line);
+        assertEquals(closingBrace.find() ? closingBrace.group("indent").length() : -1, SourceLineTokenizer.closingBraceIndent(line), "Closing brace of: " + line);
+    }
+
+    private static void assertCandidate(final String line, final int declarations, final int flag, final Pattern pattern) {
+        if (pattern.matcher(line).find()) {
+            assertTrue((declarations & flag) != 0, "Not classified as " + pattern + ": " + line);
+        }
+    }
+}
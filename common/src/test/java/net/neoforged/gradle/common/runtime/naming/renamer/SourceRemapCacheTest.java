@@ -0,0 +1,72 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceRemapCacheTest {
+
+    @Test
+    public void onlyUnchangedEntriesAreFound(@TempDir Path directory) throws IOException {
+        final File cacheDirectory = directory.resolve("cache").toFile();
+        final File firstInput = createJar(directory.resolve("first.jar").toFile(), "class A {}", "class B {}");
+        final File renamed = createJar(directory.resolve("renamed.jar").toFile(), "class A { renamed }", "class B { renamed }");
+
+        final SourceRemapCache empty = SourceRemapCache.open(cacheDirectory, "fingerprint");
+        try (RawZipReader input = RawZipReader.open(firstInput)) {
+            assertNull(empty.find(input.getEntry("A.java")));
+            assertNull(empty.find(input.getEntry("B.java")));
+        }
+        empty.close();
+        empty.store(renamed);
+
+        final File secondInput = createJar(directory.resolve("second.jar").toFile(), "class A {}", "class B { changed }");
+        try (SourceRemapCache cache = SourceRemapCache.open(cacheDirectory, "fingerprint"); RawZipReader input = RawZipReader.open(secondInput)) {
+            assertEquals("class A { renamed }", new String(cache.getReader().readAllBytes(cache.find(input.getEntry("A.java"))), StandardCharsets.UTF_8));
+            assertNull(cache.find(input.getEntry("B.java")));
+        }
+
+        try (SourceRemapCache cache = SourceRemapCache.open(cacheDirectory, "other"); RawZipReader input = RawZipReader.open(firstInput)) {
+            assertNull(cache.find(input.getEntry("A.java")));
+        }
+    }
+
+    @Test
+    public void onlyTheMostRecentFingerprintsAreKept(@TempDir Path directory) throws IOException {
+        final File cacheDirectory = directory.resolve("cache").toFile();
+        final File input = createJar(directory.resolve("input.jar").toFile(), "class A {}", "class B {}");
+
+        for (int i = 0; i < 5; i++) {
+            final SourceRemapCache cache = SourceRemapCache.open(cacheDirectory, "fingerprint" + i);
+            try (RawZipReader reader = RawZipReader.open(input)) {
+                cache.find(reader.getEntry("A.java"));
+            }
+            cache.close();
+            cache.store(input);
+            assertTrue(new File(cacheDirectory, "fingerprint" + i + ".jar").setLastModified(1000L * i));
+        }
+
+        final String[] files = cacheDirectory.list();
+        assertNotNull(files);
+        assertEquals(6, files.length);
+        assertFalse(new File(cacheDirectory, "fingerprint0.jar").exists());
+        assertTrue(new File(cacheDirectory, "fingerprint4.index").exists());
+    }
+
+    private static File createJar(final File file, final String a, final String b) throws IOException {
+        try (RawZipWriter writer = new RawZipWriter(file)) {
+            writer.write(FileUtils.getStableEntry("A.java"), a.getBytes(StandardCharsets.UTF_8));
+            writer.write(FileUtils.getStableEntry("B.java"), b.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
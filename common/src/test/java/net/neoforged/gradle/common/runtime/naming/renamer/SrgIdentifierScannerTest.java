@@ -0,0 +1,135 @@
+package net.neoforged.gradle.common.runtime.naming.renamer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SrgIdentifierScannerTest {
+
+    private static final String NEWLINE = System.getProperty("line.separator");
+    private static final Pattern SRG_FINDER = Pattern.compile("[fF]unc_\\d+_[a-zA-Z_]+|m_\\d+_|[fF]ield_\\d+_[a-zA-Z_]+|f_\\d+_|p_\\w+_\\d+_|p_\\d+_");
+    private static final Pattern LAMBDA_DECL = Pattern.compile("\\((?<args>(?:(?:, ){0,1}p_[\\w]+_\\d+_\\b)+)\\) ->");
+
+    private static final String CORPUS = "package net.minecraft.world;\n" +
+            "\r\n" +
+            "public class Test {\n" +
+            "   private final int field_70170_p;\n" +
+            "   private static int f_19853_ = 0;\r" +
+            "   public void func_70071_h_(int p_70071_1_, int p_i1582_1_2_) {\n" +
+            "      this.m_6075_();\n" +
+            "      Runnable r = (p_12_, p_abc_3_) -> this.func_1_a(p_12_);\n" +
+            "      String s = \"func_2_b field_3_c m_4_ f_5_ p_6_ Func_70071_h_ Field_70170_p\";\n" +
+            "      int x = myfunc_1_a + field_12_ + func_1_ + m__ + p__1_ + p_a_1_2_ + f_1 + m_1_2_ + $func_1_a$;\n" +
+            "   }\n" +
+            "}\n";
+
+    @Test
+    public void renamingMatchesTheRegexOnACorpus() throws IOException {
+        assertRenamedLikeTheRegex(CORPUS, true);
+        assertRenamedLikeTheRegex(CORPUS, false);
+    }
+
+    @Test
+    public void renamingMatchesTheRegexOnRandomInput() throws IOException {
+        final Random random = new Random(4);
+        final String[] fragments = {"f", "F", "func_", "Func_", "field_", "Field_", "m_", "p_", "_", "1", "23", "a", "bC", "$", " ", "(", ", ", ") ->", "\n", "\r\n", "\r", "\u00e4"};
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder text = new StringBuilder();
+            final int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                text.append(fragments[random.nextInt(fragments.length)]);
+            }
+            assertRenamedLikeTheRegex(text.toString(), true);
+            assertRenamedLikeTheRegex(text.toString(), false);
+        }
+    }
+
+    private static void assertRenamedLikeTheRegex(final String text, final boolean lambdas) throws IOException {
+        final Map<String, String> names = new HashMap<>();
+        names.put("func_70071_h_", "tick");
+        names.put("field_70170_p", "level");
+        names.put("f_19853_", "count");
+        names.put("m_6075_", "baseTick");
+        names.put("p_70071_1_", "amount");
+        names.put("p_12_", "first");
+        names.put("p_abc_3_", "second");
+        names.put("func_1_a", "\u00e4pply");
+        names.put("func_1_", "unused");
+        names.put("p_a_1_2_", "a$b");
+
+        final RegexBasedSourceRenamer renamer = new RegexBasedSourceRenamer() {
+            @Override
+            public Map<String, String> getNames() {
+                return names;
+            }
+
+            @Override
+            public Map<String, String> getDocs() {
+                return new HashMap<>();
+            }
+        };
+
+        final String renamed = new String(renamer.rename(text.getBytes(StandardCharsets.UTF_8), false, lambdas), StandardCharsets.UTF_8);
+        assertEquals(renameWithRegex(text, names, lambdas), renamed, "Renaming differs for: " + text);
+    }
+
+    /**
+     * The line based regex renaming which the scanner replaces.
+     */
+    private static String renameWithRegex(final String text, final Map<String, String> names, final boolean lambdas) {
+        if (text.isEmpty())
+            return "";
+
+        final String[] lines = text.split("\r\n|\r|\n", -1);
+        Set<String> blacklist = null;
+        if (!lambdas) {
+            blacklist = new HashSet<>();
+            for (String line : lines) {
+                final Matcher matcher = LAMBDA_DECL.matcher(line);
+                if (matcher.find())
+                    blacklist.addAll(Arrays.asList(matcher.group("args").split(", ")));
+            }
+        }
+
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0)
+                result.append(NEWLINE);
+
+            final StringBuffer buffer = new StringBuffer();
+            final Matcher matcher = SRG_FINDER.matcher(lines[i]);
+            while (matcher.find()) {
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(getMapped(matcher.group(), names, blacklist)));
+            }
+            matcher.appendTail(buffer);
+            result.append(buffer);
+        }
+        return result.toString();
+    }
+
+    private static String getMapped(String srg, final Map<String, String> names, final Set<String> blacklist) {
+        if (blacklist != null && blacklist.contains(srg))
+            return srg;
+
+        final boolean cap = srg.charAt(0) == 'F';
+        if (cap)
+            srg = 'f' + srg.substring(1);
+
+        String ret = names.getOrDefault(srg, srg);
+        if (cap)
+            ret = ret.substring(0, 1).toUpperCase(Locale.ENGLISH) + ret.substring(1);
+        return ret;
+    }
+}
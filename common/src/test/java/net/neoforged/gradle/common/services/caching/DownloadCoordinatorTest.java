@@ -0,0 +1,115 @@
+package net.neoforged.gradle.common.services.caching;
+
+import org.gradle.api.services.BuildServiceParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DownloadCoordinatorTest {
+
+    @Test
+    public void concurrentRequestersOfTheSameFileShareASingleFlight(@TempDir Path directory) throws Exception {
+        final DownloadCoordinator coordinator = new TestDownloadCoordinator();
+        final File target = directory.resolve("client.jar").toFile();
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> first = executor.submit(() -> coordinator.coordinate(target, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+                return "downloaded";
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            final Future<String> second = executor.submit(() -> coordinator.coordinate(target, () -> {
+                executions.incrementAndGet();
+                return "downloaded again";
+            }));
+
+            //Give the second requester the chance to join the running flight.
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("downloaded", first.get(10, TimeUnit.SECONDS));
+            assertEquals("downloaded", second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sequentialRequestsRunTheActionAgain(@TempDir Path directory) {
+        final DownloadCoordinator coordinator = new TestDownloadCoordinator();
+        final File target = directory.resolve("client.jar").toFile();
+        final AtomicInteger executions = new AtomicInteger();
+
+        coordinator.coordinate(target, executions::incrementAndGet);
+        coordinator.coordinate(target, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void nestedCoordinationsRunConcurrently(@TempDir Path directory) throws Exception {
+        final DownloadCoordinator coordinator = new TestDownloadCoordinator();
+        final File manifest = directory.resolve("version.json").toFile();
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<String>> jars = new ArrayList<>();
+            for (String name : Arrays.asList("client.jar", "server.jar")) {
+                final File jar = directory.resolve(name).toFile();
+                jars.add(executor.submit(() -> coordinator.coordinate(jar, () -> {
+                    //Both jars are created at the same time, each needing the shared manifest.
+                    bothStarted.countDown();
+                    assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+                    return coordinator.coordinate(manifest, () -> "manifest") + " " + name;
+                })));
+            }
+
+            assertEquals("manifest client.jar", jars.get(0).get(10, TimeUnit.SECONDS));
+            assertEquals("manifest server.jar", jars.get(1).get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void checkedFailuresAreRethrownAsRuntimeExceptions(@TempDir Path directory) {
+        final DownloadCoordinator coordinator = new TestDownloadCoordinator();
+        final File target = directory.resolve("client.jar").toFile();
+
+        final RuntimeException exception = assertThrows(RuntimeException.class, () -> coordinator.coordinate(target, () -> {
+            throw new IOException("Connection reset");
+        }));
+
+        assertTrue(exception.getCause() instanceof IOException);
+    }
+
+    private static final class TestDownloadCoordinator extends DownloadCoordinator {
+        @Override
+        public BuildServiceParameters.None getParameters() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package net.neoforged.gradle.common.util;
+
+import net.neoforged.gradle.dsl.common.extensions.MinecraftArtifactCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LazyGameArtifactUtilsTest {
+
+    @Test
+    public void creatingTheVersionJsonSupplierDoesNotTouchTheCache() {
+        final MinecraftArtifactCache cache = mock(MinecraftArtifactCache.class);
+
+        LazyGameArtifactUtils.versionJson(cache, "1.20.1");
+
+        verify(cache, never()).cacheVersionManifest(anyString());
+    }
+
+    @Test
+    public void theVersionManifestIsOnlyCachedOnce(@TempDir Path directory) throws IOException {
+        final Path manifest = directory.resolve("1.20.1.json");
+        Files.write(manifest, "{\"assets\":\"5\",\"libraries\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        final MinecraftArtifactCache cache = mock(MinecraftArtifactCache.class);
+        when(cache.cacheVersionManifest("1.20.1")).thenReturn(manifest.toFile());
+
+        final Supplier<VersionJson> versionJson = LazyGameArtifactUtils.versionJson(cache, "1.20.1");
+        assertEquals("5", versionJson.get().getAssets());
+        assertEquals("5", versionJson.get().getAssets());
+
+        verify(cache, times(1)).cacheVersionManifest("1.20.1");
+    }
+}
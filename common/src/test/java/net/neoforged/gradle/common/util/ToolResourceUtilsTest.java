@@ -0,0 +1,34 @@
+package net.neoforged.gradle.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolResourceUtilsTest {
+
+    private static final long MEGABYTE = 1024L * 1024L;
+    private static final long GIGABYTE = 1024L * MEGABYTE;
+
+    @Test
+    public void memoryAndProcessorsAreSharedBetweenConcurrentTools() {
+        final ToolResourceUtils.Plan plan = ToolResourceUtils.plan(ToolResourceUtils.Tool.DECOMPILER, 8 * GIGABYTE, 3 * GIGABYTE, 2, 4);
+
+        assertEquals(2560 * MEGABYTE, plan.getHeap());
+        assertEquals(2, plan.getThreads());
+    }
+
+    @Test
+    public void heapIsLimitedPerTool() {
+        assertEquals(8 * GIGABYTE, ToolResourceUtils.plan(ToolResourceUtils.Tool.DECOMPILER, 64 * GIGABYTE, 3 * GIGABYTE, 1, 16).getHeap());
+        assertEquals(4 * GIGABYTE, ToolResourceUtils.plan(ToolResourceUtils.Tool.RENAMER, 64 * GIGABYTE, 3 * GIGABYTE, 1, 16).getHeap());
+        assertEquals(512 * MEGABYTE, ToolResourceUtils.plan(ToolResourceUtils.Tool.RENAMER, 2 * GIGABYTE, 3 * GIGABYTE, 4, 1).getHeap());
+    }
+
+    @Test
+    public void sizesAreParsedLikeJvmArguments() {
+        assertEquals(6 * GIGABYTE, ToolResourceUtils.parseSize("6g"));
+        assertEquals(3072 * MEGABYTE, ToolResourceUtils.parseSize(" 3072M "));
+        assertEquals(1024L, ToolResourceUtils.parseSize("1k"));
+        assertEquals(1048576L, ToolResourceUtils.parseSize("1048576"));
+    }
+}
@@ -9,9 +9,12 @@ import net.neoforged.gradle.dsl.common.util.DistributionType
 import net.neoforged.gradle.dsl.common.util.GameArtifact
 import org.gradle.api.Project
 import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.provider.Property
 import org.gradle.api.tasks.TaskProvider
 import org.jetbrains.annotations.NotNull
 
+import java.time.Duration
+
 /**
  * Defines a cache for minecraft artifacts.
  */
@@ -24,6 +27,14 @@ interface MinecraftArtifactCache extends BaseDSLElement<MinecraftArtifactCache>
     @DSLProperty
     DirectoryProperty getCacheDirectory();
 
+    /**
+     * The time after a successful check during which the cached launcher and version manifests are used
+     * without revalidating them against the server.
+     * Once expired, the manifests are revalidated with a conditional request.
+     */
+    @DSLProperty
+    Property<Duration> getMetadataTimeToLive();
+
     /**
      * Gives access to all cached files in the current session.
      *
@@ -81,6 +92,16 @@ interface MinecraftArtifactCache extends BaseDSLElement<MinecraftArtifactCache>
     @NotNull
     File cacheVersionArtifact(@NotNull String gameVersion, @NotNull DistributionType side);
 
+    /**
+     * Eagerly caches the server of the given game version, extracted from its bundle if the server is bundled.
+     * The downloaded server is cached as well, and is left untouched.
+     *
+     * @param gameVersion The game version to cache.
+     * @return The cached server jar, which is never a bundle.
+     */
+    @NotNull
+    File cacheExtractedServer(@NotNull String gameVersion);
+
     /**
      * Eagerly caches the given mappings of the given game version.
      *
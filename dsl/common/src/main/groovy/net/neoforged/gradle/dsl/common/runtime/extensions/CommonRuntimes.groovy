@@ -7,6 +7,7 @@ import net.minecraftforge.gdi.annotations.ProjectGetter
 import net.neoforged.gradle.dsl.common.runtime.definition.Definition
 import net.neoforged.gradle.dsl.common.runtime.spec.Specification
 import net.neoforged.gradle.dsl.common.util.DistributionType
+import net.neoforged.gradle.dsl.common.util.JarCompression
 import org.gradle.api.Action
 import org.gradle.api.Project
 import org.gradle.api.artifacts.Configuration
@@ -48,6 +49,35 @@ interface CommonRuntimes<S extends Specification, B extends Specification.Builde
      */
     Provider<Map<String, D>> getRuntimes();
 
+    /**
+     * Indicates whether runtimes are created lazily.
+     * When enabled, creating a runtime only wires tasks and providers, all game artifacts are downloaded
+     * and parsed when the tasks which need them execute, instead of while the build is configuring.
+     * Defaults to the value of the {@code neogradle.runtime.lazyCreation} gradle property, or false if not set.
+     *
+     * @return The property which indicates whether runtimes are created lazily.
+     */
+    @DSLProperty
+    Property<Boolean> getLazyCreation();
+
+    /**
+     * The compression of jars which are only consumed by the next task of a runtime, and never leave the build directory.
+     * Defaults to the value of the {@code neogradle.runtime.intermediateCompression} gradle property, or stored if not set.
+     *
+     * @return The property which holds the compression of intermediate jars.
+     */
+    @DSLProperty
+    Property<JarCompression> getIntermediateCompression();
+
+    /**
+     * The compression of jars which are the final artifacts of a runtime.
+     * Defaults to the value of the {@code neogradle.runtime.finalCompression} gradle property, or the default deflate compression if not set.
+     *
+     * @return The property which holds the compression of final jars.
+     */
+    @DSLProperty
+    Property<JarCompression> getFinalCompression();
+
     /**
      * Potentially creates a new runtime based on the specification created by the given builder.
      * If a runtime with the same name already exists, the existing runtime is returned.
@@ -27,7 +27,7 @@ interface Execute extends WithWorkspace, WithOutput, WithJavaVersion, ExecuteSpe
 
     @TaskAction
     default void execute() throws Throwable {
-        final Provider<List<String>> jvmArgs = applyVariableSubstitutions(getJvmArguments());
+        final Provider<List<String>> jvmArgs = applyVariableSubstitutions(getRuntimeJvmArguments());
         final Provider<List<String>> programArgs = applyVariableSubstitutions(getRuntimeProgramArguments());
 
         final File outputFile = ensureFileWorkspaceReady(getOutput());
@@ -0,0 +1,35 @@
+package net.neoforged.gradle.dsl.common.tasks
+
+import groovy.transform.CompileStatic
+import net.minecraftforge.gdi.annotations.DSLProperty
+import net.neoforged.gradle.dsl.common.util.JarCompression
+import org.gradle.api.Task
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.Internal
+
+/**
+ * Defines a task which writes a jar.
+ * The task declares whether its jar is an intermediate artifact, which is only consumed by other tasks of the build,
+ * or a final artifact. Runtimes use this to select the compression of the jar.
+ */
+@CompileStatic
+trait WithCompression extends WithProject implements Task {
+
+    /**
+     * Indicates whether the jar written by this task is an intermediate artifact, which never leaves the build directory.
+     *
+     * @return True when the jar is only consumed by other tasks, false when it is a final artifact.
+     */
+    @Internal
+    abstract boolean isIntermediateOutput();
+
+    /**
+     * The compression of the jar written by this task.
+     *
+     * @return The compression of the jar.
+     */
+    @Input
+    @DSLProperty
+    abstract Property<JarCompression> getCompression();
+}
@@ -71,6 +71,15 @@ interface ExecuteSpecification extends ProjectSpecification, OutputSpecification
     @Internal
     ListProperty<String> getRuntimeProgramArguments();
 
+    /**
+     * Defines the jvm arguments that are passed to the java executable when the program runs.
+     * These default to the jvm arguments, but are not an input, so they may depend on the machine which runs the program.
+     *
+     * @return The jvm arguments for the run.
+     */
+    @Internal
+    ListProperty<String> getRuntimeJvmArguments();
+
     /**
      * Defines the path to the executable that will be used to run the program.
      * Normally this is derived from the base java version.
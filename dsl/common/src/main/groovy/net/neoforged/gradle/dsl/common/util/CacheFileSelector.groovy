@@ -38,6 +38,15 @@ abstract class CacheFileSelector implements Serializable {
         };
     }
 
+    static CacheFileSelector forExtractedServerJar(final String version) {
+        return new CacheFileSelector() {
+            @Override
+            String getCacheFileName() {
+                return String.format("versions/%s/server-extracted.jar", version);
+            }
+        };
+    }
+
     static CacheFileSelector forVersionMappings(final String version, final String side) {
         return new CacheFileSelector() {
             @Override
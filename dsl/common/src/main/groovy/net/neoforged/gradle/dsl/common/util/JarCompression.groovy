@@ -0,0 +1,40 @@
+package net.neoforged.gradle.dsl.common.util
+
+import groovy.transform.CompileStatic
+
+import java.util.zip.Deflater
+
+/**
+ * Defines how the entries of a jar which is written by a task are compressed.
+ */
+@CompileStatic
+enum JarCompression {
+    /**
+     * Entries are stored without any compression.
+     * The fastest option to write and read, but produces the largest files.
+     */
+    STORED(Deflater.NO_COMPRESSION),
+    /**
+     * Entries are deflated with the fastest compression level.
+     */
+    FAST(Deflater.BEST_SPEED),
+    /**
+     * Entries are deflated with the default compression level, like any other jar.
+     */
+    DEFAULT(Deflater.DEFAULT_COMPRESSION);
+
+    private final int level
+
+    JarCompression(int level) {
+        this.level = level
+    }
+
+    /**
+     * Gets the deflater level of this compression, {@link Deflater#NO_COMPRESSION} indicates that entries are stored.
+     *
+     * @return The deflater level.
+     */
+    int getLevel() {
+        return level
+    }
+}
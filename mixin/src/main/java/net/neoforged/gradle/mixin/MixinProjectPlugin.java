@@ -4,8 +4,10 @@ import net.minecraftforge.srgutils.IMappingFile;
 import net.neoforged.gradle.common.CommonProjectPlugin;
 import net.neoforged.gradle.common.runtime.definition.CommonRuntimeDefinition;
 import net.neoforged.gradle.common.runtime.extensions.RuntimesExtension;
+import net.neoforged.gradle.common.services.caching.MappingsCache;
 import net.neoforged.gradle.common.tasks.WriteIMappingsFile;
 import net.neoforged.gradle.common.util.CacheableIMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.common.util.TaskDependencyUtils;
 import net.neoforged.gradle.common.util.exceptions.MultipleDefinitionsFoundException;
 import net.neoforged.gradle.dsl.common.runs.run.Run;
@@ -13,7 +15,6 @@ import net.neoforged.gradle.dsl.common.runs.run.Runs;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.util.CommonRuntimeUtils;
 import net.neoforged.gradle.dsl.mixin.extension.Mixin;
-import net.neoforged.gradle.util.IMappingFileUtils;
 import net.neoforged.gradle.util.TransformerUtils;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -168,11 +169,14 @@ public class MixinProjectPlugin implements Plugin<Project> {
     }
 
     private void createRefmapMappingsTask(CommonRuntimeDefinition<?> runtimeDefinition) {
+        final Provider<MappingsCache> mappingsCache = MappingsCache.register(this.project);
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(this.project);
         runtimeDefinition.getTasks().computeIfAbsent(CommonRuntimeUtils.buildTaskName(runtimeDefinition, REFMAP_REMAP_MAPPINGS_TASK_NAME), name -> {
             final TaskProvider<WriteIMappingsFile> writeMappingsForMixinRefmapRemapping = this.project.getTasks().register(name, WriteIMappingsFile.class, task -> {
                 final TaskProvider<? extends WithOutput> mappingsTaskProvider = runtimeDefinition.getRuntimeToSourceMappingsTaskProvider();
-                final Provider<IMappingFile> mappings = mappingsTaskProvider.flatMap(WithOutput::getOutput).map(RegularFile::getAsFile).map(TransformerUtils.guard(IMappingFileUtils::load));
-                task.getMappings().set(mappings.map(CacheableIMappingFile::new));
+                final Provider<IMappingFile> mappings = mappingsTaskProvider.flatMap(WithOutput::getOutput).map(RegularFile::getAsFile).map(file -> mappingsCache.get().load(file).get());
+                task.usesService(mappingsCache);
+                task.getMappings().set(mappings.map(mapping -> new CacheableIMappingFile(mapping, mappingsCacheDirectory)));
                 task.getFormat().set(IMappingFile.Format.SRG);
                 task.dependsOn(mappingsTaskProvider);
             });
@@ -182,8 +186,9 @@ public class MixinProjectPlugin implements Plugin<Project> {
         runtimeDefinition.getTasks().computeIfAbsent(CommonRuntimeUtils.buildTaskName(runtimeDefinition, AP_MAPPINGS_TASK_NAME), name -> {
             final TaskProvider<WriteIMappingsFile> writeMappingsForMixinRefmapRemapping = this.project.getTasks().register(name, WriteIMappingsFile.class, task -> {
                 final TaskProvider<? extends WithOutput> mappingsTaskProvider = runtimeDefinition.getRuntimeToSourceMappingsTaskProvider();
-                final Provider<IMappingFile> mappings = mappingsTaskProvider.flatMap(WithOutput::getOutput).map(RegularFile::getAsFile).map(TransformerUtils.guard(IMappingFileUtils::load));
-                task.getMappings().set(mappings.map(IMappingFile::reverse).map(CacheableIMappingFile::new));
+                final Provider<IMappingFile> mappings = mappingsTaskProvider.flatMap(WithOutput::getOutput).map(RegularFile::getAsFile).map(file -> mappingsCache.get().load(file).reverse().get());
+                task.usesService(mappingsCache);
+                task.getMappings().set(mappings.map(mapping -> new CacheableIMappingFile(mapping, mappingsCacheDirectory)));
                 task.dependsOn(mappingsTaskProvider);
             });
             runtimeDefinition.configureAssociatedTask(writeMappingsForMixinRefmapRemapping);
@@ -120,5 +120,84 @@ class FunctionalTests extends BuilderBasedTestSpecification {
         secondRun.task(':neoFormRecompile').outcome == TaskOutcome.FROM_CACHE
     }
 
+    def "neoform produces byte identical jars when set up again" () {
+        given:
+        def project = create "neoform-reproducible-jars", {
+            it.build("""
+            java {
+                toolchain {
+                    languageVersion = JavaLanguageVersion.of(17)
+                }
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:neoform_client:+'
+            }
+            """)
+        }
+
+        when:
+        //An IDE import also writes the source jar and the raw jar into the repository.
+        def run = project.run { it.tasks(':idePostSync').arguments('-Didea.active=true') }
+        def firstJars = collectJars(project.getProjectDir())
+
+        then:
+        run.task(':idePostSync').outcome == TaskOutcome.SUCCESS
+        firstJars.keySet().any { it.startsWith('build') }
+        firstJars.keySet().any { it.startsWith('.gradle') && it.endsWith('-sources.jar') }
 
+        when:
+        new File(project.getProjectDir(), 'build').deleteDir()
+        new File(project.getProjectDir(), '.gradle/repositories').deleteDir()
+        def secondRun = project.run { it.tasks(':idePostSync').arguments('-Didea.active=true') }
+        def secondJars = collectJars(project.getProjectDir())
+
+        then:
+        secondRun.task(':idePostSync').outcome == TaskOutcome.SUCCESS
+        secondJars.keySet() == firstJars.keySet()
+        firstJars.every { path, bytes -> Arrays.equals(bytes, secondJars[path]) }
+    }
+
+    def "configuring a lazily created neoform runtime does not touch the minecraft cache"() {
+        given:
+        def project = create "neoform-lazy-runtime", {
+            it.build("""
+            minecraftArtifactCache {
+                cacheDirectory = file('minecraft-cache')
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:neoform_client:+'
+            }
+            """)
+        }
+
+        when:
+        //A gradle user home of its own shows whether the shared caches of neogradle in it are written to.
+        def gradleUserHome = new File(project.getProjectDir(), 'gradle-user-home')
+        def run = project.run { it.tasks('tasks').arguments('-Pneogradle.runtime.lazyCreation=true', '--gradle-user-home', gradleUserHome.getAbsolutePath()) }
+        def cacheDirectory = new File(project.getProjectDir(), 'minecraft-cache')
+
+        then:
+        run.task(':tasks').outcome == TaskOutcome.SUCCESS
+        !cacheDirectory.exists() || cacheDirectory.listFiles().length == 0
+        !new File(project.getProjectDir(), 'build/neoForm').exists()
+        !new File(gradleUserHome, 'caches/neogradle').exists()
+    }
+
+    private static Map<String, byte[]> collectJars(File projectDir) {
+        def jars = new TreeMap<String, byte[]>()
+        ['build/neoForm', '.gradle/repositories'].each { path ->
+            def directory = new File(projectDir, path)
+            if (!directory.exists())
+                return
+
+            directory.eachFileRecurse { file ->
+                if (file.name.endsWith('.jar')) {
+                    jars.put(projectDir.toPath().relativize(file.toPath()).toString(), file.bytes)
+                }
+            }
+        }
+        return jars
+    }
 }
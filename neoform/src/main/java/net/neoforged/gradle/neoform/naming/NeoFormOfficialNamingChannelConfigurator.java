@@ -8,8 +8,11 @@ import net.neoforged.gradle.common.runtime.naming.tasks.ApplyMappingsToSourceJar
 import net.neoforged.gradle.common.runtime.naming.tasks.ApplyOfficialMappingsToCompiledJar;
 import net.neoforged.gradle.common.runtime.naming.tasks.UnapplyOfficialMappingsToAccessTransformer;
 import net.neoforged.gradle.common.runtime.naming.tasks.UnapplyOfficialMappingsToCompiledJar;
+import net.neoforged.gradle.common.services.caching.LoadedMappings;
+import net.neoforged.gradle.common.services.caching.MappingsCache;
 import net.neoforged.gradle.common.tasks.WriteIMappingsFile;
 import net.neoforged.gradle.common.util.CacheableIMappingFile;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.dsl.common.extensions.Minecraft;
 import net.neoforged.gradle.dsl.common.runtime.naming.GenerationTaskBuildingContext;
 import net.neoforged.gradle.dsl.common.runtime.naming.NamingChannel;
@@ -17,9 +20,9 @@ import net.neoforged.gradle.dsl.common.runtime.naming.TaskBuildingContext;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
 import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.neoform.runtime.definition.NeoFormRuntimeDefinition;
-import net.neoforged.gradle.util.IMappingFileUtils;
 import net.neoforged.gradle.util.TransformerUtils;
 import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -86,9 +89,11 @@ public final class NeoFormOfficialNamingChannelConfigurator {
         final String mappingsFilePath = mcpRuntimeDefinition.getNeoFormConfig().getData("mappings");
         final File mappingsFile = new File(mcpRuntimeDefinition.getUnpackedNeoFormZipDirectory(), Objects.requireNonNull(mappingsFilePath));
 
+        final Provider<MappingsCache> mappingsCacheService = MappingsCache.register(context.getProject());
         applySourceMappingsTask.configure(task -> {
             if (task instanceof ApplyMappingsToSourceJar) {
                 final ApplyMappingsToSourceJar applyMappingsToSourceJar = (ApplyMappingsToSourceJar) task;
+                applyMappingsToSourceJar.usesService(mappingsCacheService);
                 applyMappingsToSourceJar.getSourceRenamer().set(
                         context.getClientMappings()
                                 .flatMap(WithOutput::getOutput)
@@ -96,13 +101,13 @@ public final class NeoFormOfficialNamingChannelConfigurator {
                                         context.getServerMappings()
                                                 .flatMap(WithOutput::getOutput)
                                                 .map(TransformerUtils.guard(serverMappings -> {
-                                                    final IMappingFile clientMappingFile = IMappingFile.load(clientMappings.getAsFile()).reverse();
-                                                    final IMappingFile serverMappingFile = IMappingFile.load(serverMappings.getAsFile()).reverse();
-                                                    final IMappingFile mcpConfigMappings = IMappingFile.load(mappingsFile);
-                                                    final IMappingFile reversedMcpConfigMappings = mcpConfigMappings.reverse();
+                                                    final MappingsCache mappingsCache = mappingsCacheService.get();
+                                                    final LoadedMappings clientMappingFile = mappingsCache.load(clientMappings.getAsFile()).reverse();
+                                                    final LoadedMappings serverMappingFile = mappingsCache.load(serverMappings.getAsFile()).reverse();
+                                                    final LoadedMappings reversedMcpConfigMappings = mappingsCache.load(mappingsFile).reverse();
                                                     return IMappingFileSourceRenamer.from(
-                                                            reversedMcpConfigMappings.chain(clientMappingFile).reverse(),
-                                                            reversedMcpConfigMappings.chain(serverMappingFile).reverse()
+                                                            reversedMcpConfigMappings.chain(clientMappingFile).reverse().get(),
+                                                            reversedMcpConfigMappings.chain(serverMappingFile).reverse().get()
                                                     );
                                                 }))
                                 )
@@ -183,13 +188,13 @@ public final class NeoFormOfficialNamingChannelConfigurator {
                                         context.getServerMappings()
                                                 .flatMap(WithOutput::getOutput)
                                                 .map(TransformerUtils.guard(serverMappings -> {
-                                                    final IMappingFile clientMappingFile = IMappingFile.load(clientMappings.getAsFile());
-                                                    final IMappingFile serverMappingFile = IMappingFile.load(serverMappings.getAsFile());
-                                                    final IMappingFile mcpConfigMappings = IMappingFile.load(mappingsFile);
-                                                    final IMappingFile reversedMcpConfigMappings = mcpConfigMappings.reverse();
+                                                    final MappingsCache mappingsCache = applyMappingsToSourceJar.getMappingsCache().get();
+                                                    final LoadedMappings clientMappingFile = mappingsCache.load(clientMappings.getAsFile());
+                                                    final LoadedMappings serverMappingFile = mappingsCache.load(serverMappings.getAsFile());
+                                                    final LoadedMappings reversedMcpConfigMappings = mappingsCache.load(mappingsFile).reverse();
                                                     return IMappingFileTypeRenamer.from(
-                                                            reversedMcpConfigMappings.chain(clientMappingFile.reverse()).reverse(),
-                                                            reversedMcpConfigMappings.chain(serverMappingFile.reverse()).reverse()
+                                                            reversedMcpConfigMappings.chain(clientMappingFile.reverse()).reverse().get(),
+                                                            reversedMcpConfigMappings.chain(serverMappingFile.reverse()).reverse().get()
                                                     );
                                                 }))
                                 )
@@ -224,17 +229,20 @@ public final class NeoFormOfficialNamingChannelConfigurator {
         final String mappingsFilePath = mcpRuntimeDefinition.getNeoFormConfig().getData("mappings");
         final File mappingsFile = new File(mcpRuntimeDefinition.getUnpackedNeoFormZipDirectory(), Objects.requireNonNull(mappingsFilePath));
 
+        final Provider<MappingsCache> mappingsCacheService = MappingsCache.register(context.getProject());
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(context.getProject());
         final TaskProvider<? extends Runtime> reverseMappingsTask = context.getProject().getTasks().register(context.getTaskNameBuilder().apply(String.format(format, context.getEnvironmentName())), WriteIMappingsFile.class, task -> {
+            task.usesService(mappingsCacheService);
             task.getMappings().set(
                     context.getClientMappings()
                             .flatMap(WithOutput::getOutput)
                             .map(TransformerUtils.guard(
                                     clientMappingsFile -> {
-                                        final IMappingFile clientMappingFile = IMappingFileUtils.load(clientMappingsFile.getAsFile());
-                                        final IMappingFile mcpConfigMappings = IMappingFile.load(mappingsFile);
-                                        final IMappingFile reversedMcpConfigMappings = mcpConfigMappings.reverse();
-                                        final IMappingFile resultantFile = reversedMcpConfigMappings.chain(clientMappingFile);
-                                        return new CacheableIMappingFile(resultantFile);
+                                        final MappingsCache mappingsCache = mappingsCacheService.get();
+                                        final LoadedMappings clientMappingFile = mappingsCache.load(clientMappingsFile.getAsFile());
+                                        final LoadedMappings reversedMcpConfigMappings = mappingsCache.load(mappingsFile).reverse();
+                                        final IMappingFile resultantFile = reversedMcpConfigMappings.chain(clientMappingFile).get();
+                                        return new CacheableIMappingFile(resultantFile, mappingsCacheDirectory);
                                     }
                             ))
             );
@@ -270,7 +278,10 @@ public final class NeoFormOfficialNamingChannelConfigurator {
 
         final String writeRuntimeToSourceMappingsTaskName = context.getTaskNameBuilder().apply("writeRuntimeToSourceMappings");
 
+        final Provider<MappingsCache> mappingsCacheService = MappingsCache.register(context.getProject());
+        final File mappingsCacheDirectory = FileCacheUtils.getMappingsCacheDirectory(context.getProject());
         return context.getProject().getTasks().register(writeRuntimeToSourceMappingsTaskName, WriteIMappingsFile.class, task -> {
+            task.usesService(mappingsCacheService);
             task.setGroup("mappings/official");
             task.setDescription("Writes the mapping file from runtime to source mappings");
             task.getFormat().set(IMappingFile.Format.TSRG2);
@@ -279,11 +290,11 @@ public final class NeoFormOfficialNamingChannelConfigurator {
                             .flatMap(WithOutput::getOutput)
                             .map(TransformerUtils.guard(
                                     clientMappingsFile -> {
-                                        final IMappingFile clientMappingFile = IMappingFileUtils.load(clientMappingsFile.getAsFile());
-                                        final IMappingFile mcpConfigMappings = IMappingFile.load(mappingsFile);
-                                        final IMappingFile reversedMcpConfigMappings = mcpConfigMappings.reverse();
-                                        final IMappingFile resultantFile = reversedMcpConfigMappings.chain(clientMappingFile.reverse());
-                                        return new CacheableIMappingFile(resultantFile);
+                                        final MappingsCache mappingsCache = mappingsCacheService.get();
+                                        final LoadedMappings clientMappingFile = mappingsCache.load(clientMappingsFile.getAsFile());
+                                        final LoadedMappings reversedMcpConfigMappings = mappingsCache.load(mappingsFile).reverse();
+                                        final IMappingFile resultantFile = reversedMcpConfigMappings.chain(clientMappingFile.reverse()).get();
+                                        return new CacheableIMappingFile(resultantFile, mappingsCacheDirectory);
                                     }
                             ))
             );
@@ -34,6 +34,9 @@ import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+/**
+ * Renames sources with the names read from the csv files of the mappings zip.
+ */
 public class NeoFormSourceRenamer extends RegexBasedSourceRenamer {
 
     public static NeoFormSourceRenamer from(File data) throws IOException {
@@ -7,6 +7,9 @@ import net.neoforged.gradle.common.runtime.extensions.CommonRuntimeExtension;
 import net.neoforged.gradle.common.runtime.tasks.Execute;
 import net.neoforged.gradle.common.runtime.tasks.ListLibraries;
 import net.neoforged.gradle.common.util.ConfigurationUtils;
+import net.neoforged.gradle.common.util.FileCacheUtils;
+import net.neoforged.gradle.common.util.LazyGameArtifactUtils;
+import net.neoforged.gradle.common.util.ToolResourceUtils;
 import net.neoforged.gradle.common.util.VersionJson;
 import net.neoforged.gradle.dsl.common.extensions.Mappings;
 import net.neoforged.gradle.dsl.common.extensions.Minecraft;
@@ -31,7 +34,7 @@ import net.neoforged.gradle.neoform.runtime.tasks.RecompileSourceJar;
 import net.neoforged.gradle.neoform.runtime.tasks.StripJar;
 import net.neoforged.gradle.neoform.util.NeoFormRuntimeConstants;
 import net.neoforged.gradle.neoform.util.NeoFormRuntimeUtils;
-import net.neoforged.gradle.util.CopyingFileTreeVisitor;
+import net.neoforged.gradle.util.UnpackedArchiveCache;
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
@@ -39,7 +42,6 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ResolvedConfiguration;
 import org.gradle.api.file.FileCollection;
-import org.gradle.api.file.FileTree;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
@@ -58,13 +60,21 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         super(project);
     }
 
-    private static void configureMcpRuntimeTaskWithDefaults(NeoFormRuntimeSpecification spec, File neoFormDirectory, Map<String, File> data, LinkedHashMap<String, TaskProvider<? extends WithOutput>> tasks, NeoFormConfigConfigurationSpecV1.Step step, Runtime neoFormRuntimeTask, Optional<TaskProvider<? extends WithOutput>> alternativeInputProvider) {
+    private static void configureMcpRuntimeTaskWithDefaults(NeoFormRuntimeSpecification spec, File neoFormDirectory, File unpackedMcpZipDirectory, Map<String, File> data, LinkedHashMap<String, TaskProvider<? extends WithOutput>> tasks, NeoFormConfigConfigurationSpecV1.Step step, Runtime neoFormRuntimeTask, Optional<TaskProvider<? extends WithOutput>> alternativeInputProvider) {
         neoFormRuntimeTask.getArguments().putAll(buildArguments(spec, step, tasks, neoFormRuntimeTask, alternativeInputProvider));
         configureCommonRuntimeTaskParameters(neoFormRuntimeTask, data, step.getName(), spec, neoFormDirectory);
+        neoFormRuntimeTask.getUnpackedMcpZipDirectory().set(unpackedMcpZipDirectory);
+        neoFormRuntimeTask.dependsOn(buildUnpackTaskName(spec));
     }
 
-    private static void configureMcpRuntimeTaskWithDefaults(NeoFormRuntimeSpecification spec, File neoFormDirectory, Map<String, File> data, Runtime neoFormRuntimeTask) {
+    private static void configureMcpRuntimeTaskWithDefaults(NeoFormRuntimeSpecification spec, File neoFormDirectory, File unpackedMcpZipDirectory, Map<String, File> data, Runtime neoFormRuntimeTask) {
         configureCommonRuntimeTaskParameters(neoFormRuntimeTask, data, CommonRuntimeUtils.buildStepName(spec, neoFormRuntimeTask.getName()), spec, neoFormDirectory);
+        neoFormRuntimeTask.getUnpackedMcpZipDirectory().set(unpackedMcpZipDirectory);
+        neoFormRuntimeTask.dependsOn(buildUnpackTaskName(spec));
+    }
+
+    private static String buildUnpackTaskName(NeoFormRuntimeSpecification spec) {
+        return CommonRuntimeUtils.buildTaskName(spec, "unpackNeoForm");
     }
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
@@ -135,6 +145,13 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
             task.getExecutingArtifact().set(function.getVersion());
             task.getJvmArguments().addAll(function.getJvmArgs());
             task.getProgramArguments().addAll(function.getArgs());
+
+            //The heap from the config is replaced by one which fits the machine.
+            if (step.getType().equals("decompile")) {
+                ToolResourceUtils.configure(task, ToolResourceUtils.Tool.DECOMPILER);
+            } else if (step.getType().equals("rename")) {
+                ToolResourceUtils.configure(task, ToolResourceUtils.Tool.RENAMER);
+            }
         });
     }
 
@@ -182,38 +199,44 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         final ResolvedConfiguration resolvedConfiguration = neoFormDownloadConfiguration.getResolvedConfiguration();
         final File neoFormZipFile = resolvedConfiguration.getFiles().iterator().next();
 
-        final File minecraftCache = artifactCacheExtension.getCacheDirectory().get().getAsFile();
-
-        final Map<GameArtifact, File> gameArtifacts = artifactCacheExtension.cacheGameVersion(spec.getMinecraftVersion(), spec.getDistribution());
-
-        final VersionJson versionJson;
-        try {
-            versionJson = VersionJson.get(gameArtifacts.get(GameArtifact.VERSION_MANIFEST));
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(String.format("Failed to read VersionJson from the launcher metadata for the minecraft version: %s", spec.getMinecraftVersion()), e);
-        }
+        final boolean lazy = getLazyCreation().get();
 
         final Configuration minecraftDependenciesConfiguration = spec.getProject().getConfigurations().detachedConfiguration();
         minecraftDependenciesConfiguration.setCanBeResolved(true);
         minecraftDependenciesConfiguration.setCanBeConsumed(false);
-        for (VersionJson.Library library : versionJson.getLibraries()) {
-            minecraftDependenciesConfiguration.getDependencies().add(
-                    spec.getProject().getDependencies().create(library.getName())
-            );
+
+        if (lazy) {
+            //The game artifacts are only needed once tasks execute, or the dependencies are resolved.
+            minecraftDependenciesConfiguration.getDependencies().addAllLater(LazyGameArtifactUtils.libraries(spec.getProject(), LazyGameArtifactUtils.versionJson(artifactCacheExtension, spec.getMinecraftVersion())));
+        } else {
+            final Map<GameArtifact, File> gameArtifacts = artifactCacheExtension.cacheGameVersion(spec.getMinecraftVersion(), spec.getDistribution());
+
+            final VersionJson versionJson;
+            try {
+                versionJson = VersionJson.get(gameArtifacts.get(GameArtifact.VERSION_MANIFEST));
+            } catch (FileNotFoundException e) {
+                throw new RuntimeException(String.format("Failed to read VersionJson from the launcher metadata for the minecraft version: %s", spec.getMinecraftVersion()), e);
+            }
+
+            for (VersionJson.Library library : versionJson.getLibraries()) {
+                minecraftDependenciesConfiguration.getDependencies().add(
+                        spec.getProject().getDependencies().create(library.getName())
+                );
+            }
         }
 
         final File neoFormDirectory = spec.getProject().getLayout().getBuildDirectory().dir(String.format("neoForm/%s", spec.getIdentifier())).get().getAsFile();
-        final File unpackedMcpZipDirectory = new File(neoFormDirectory, "unpacked");
         final File stepsMcpDirectory = new File(neoFormDirectory, "steps");
 
-        stepsMcpDirectory.mkdirs();
-
-        final FileTree neoFormZipFileTree = spec.getProject().zipTree(neoFormZipFile);
-        final CopyingFileTreeVisitor unpackingVisitor = new CopyingFileTreeVisitor(unpackedMcpZipDirectory);
-        neoFormZipFileTree.visit(unpackingVisitor);
+        if (!lazy) {
+            stepsMcpDirectory.mkdirs();
+        }
 
-        final File neoFormConfigFile = new File(unpackedMcpZipDirectory, "config.json");
-        final NeoFormConfigConfigurationSpecV2 neoFormConfig = NeoFormConfigConfigurationSpecV2.get(neoFormConfigFile);
+        //Only unpacked once per distinct archive, the config is read from the archive itself.
+        //Lazily created runtimes leave the unpacking to the task which all their tasks depend on.
+        final File unpackedMcpZipDirectory = lazy ? FileCacheUtils.getUnpackedArchiveDirectory(spec.getProject(), neoFormZipFile) : FileCacheUtils.unpackIntoCache(spec.getProject(), neoFormZipFile);
+        FileCacheUtils.createUnpackIntoCacheTask(spec.getProject(), buildUnpackTaskName(spec), neoFormZipFile);
+        final NeoFormConfigConfigurationSpecV2 neoFormConfig = NeoFormConfigConfigurationSpecV2.get(UnpackedArchiveCache.readEntry(neoFormZipFile, "config.json"));
 
         neoFormConfig.getLibraries(spec.getDistribution().getName()).forEach(library -> minecraftDependenciesConfiguration.getDependencies().add(
                 spec.getProject().getDependencies().create(library)
@@ -231,8 +254,10 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         });
 
         return new NeoFormRuntimeDefinition(spec, new LinkedHashMap<>(), sourceJarTask, rawJarTask, gameArtifactTasks, minecraftDependenciesConfiguration, taskProvider -> taskProvider.configure(runtimeTask -> {
-            configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, runtimeTask);
-        }), unpackedMcpZipDirectory, neoFormConfig, createDownloadAssetsTasks(spec, data, neoFormDirectory, versionJson), createExtractNativesTasks(spec, data, neoFormDirectory, versionJson));
+            configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, runtimeTask);
+        }), unpackedMcpZipDirectory, neoFormConfig,
+                createDownloadAssetsTasks(spec, data, neoFormDirectory, gameArtifactTasks.get(GameArtifact.VERSION_MANIFEST)),
+                createExtractNativesTasks(spec, data, neoFormDirectory, gameArtifactTasks.get(GameArtifact.VERSION_MANIFEST)));
     }
 
     @Override
@@ -252,7 +277,7 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         final File minecraftCache = artifactCacheExtension.getCacheDirectory().get().getAsFile();
 
         final File neoFormDirectory = spec.getProject().getLayout().getBuildDirectory().dir(String.format("neoForm/%s", spec.getIdentifier())).get().getAsFile();
-        final File unpackedMcpZipDirectory = new File(neoFormDirectory, "unpacked");
+        final File unpackedMcpZipDirectory = definition.getUnpackedNeoFormZipDirectory();
         final File stepsMcpDirectory = new File(neoFormDirectory, "steps");
 
         final Map<String, String> versionData = Maps.newHashMap(mappingsExtension.getVersion().get());
@@ -281,9 +306,9 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
 
                 if (!spec.getPreTaskTypeAdapters().get(step.getName()).isEmpty() && inputTask.isPresent()) {
                     for (TaskTreeAdapter taskTreeAdapter : spec.getPreTaskTypeAdapters().get(step.getName())) {
-                        final TaskProvider<? extends Runtime> modifiedTree = taskTreeAdapter.adapt(definition, inputTask.get(), neoFormDirectory, definition.getGameArtifactProvidingTasks(), definition.getMappingVersionData(), taskProvider -> taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task)));
+                        final TaskProvider<? extends Runtime> modifiedTree = taskTreeAdapter.adapt(definition, inputTask.get(), neoFormDirectory, definition.getGameArtifactProvidingTasks(), definition.getMappingVersionData(), taskProvider -> taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task)));
                         if (modifiedTree != null) {
-                            modifiedTree.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task));
+                            modifiedTree.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task));
                             inputTask = Optional.of(modifiedTree);
                         }
                     }
@@ -307,7 +332,7 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
             neoFormRuntimeTaskProvider.configure((WithOutput neoFormRuntimeTask) -> {
                 if (neoFormRuntimeTask instanceof Runtime) {
                     final Runtime runtimeTask = (Runtime) neoFormRuntimeTask;
-                    configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, taskOutputs, step, runtimeTask, finalAdaptedInput);
+                    configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, taskOutputs, step, runtimeTask, finalAdaptedInput);
                 }
             });
 
@@ -315,9 +340,9 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
                 taskOutputs.put(neoFormRuntimeTaskProvider.getName(), neoFormRuntimeTaskProvider);
             } else {
                 for (TaskTreeAdapter taskTreeAdapter : spec.getPostTypeAdapters().get(step.getName())) {
-                    final TaskProvider<? extends Runtime> taskProvider = taskTreeAdapter.adapt(definition, neoFormRuntimeTaskProvider, neoFormDirectory, definition.getGameArtifactProvidingTasks(), definition.getMappingVersionData(), dependentTaskProvider -> dependentTaskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task)));
+                    final TaskProvider<? extends Runtime> taskProvider = taskTreeAdapter.adapt(definition, neoFormRuntimeTaskProvider, neoFormDirectory, definition.getGameArtifactProvidingTasks(), definition.getMappingVersionData(), dependentTaskProvider -> dependentTaskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task)));
                     if (taskProvider != null) {
-                        taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task));
+                        taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task));
                         neoFormRuntimeTaskProvider = taskProvider;
                     }
                 }
@@ -333,8 +358,8 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         );
 
         final TaskProvider<? extends Runtime> remapTask = context.getNamingChannel().getApplySourceMappingsTaskBuilder().get().build(context);
-        additionalRuntimeTasks.forEach(taskProvider -> taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task)));
-        remapTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task));
+        additionalRuntimeTasks.forEach(taskProvider -> taskProvider.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task)));
+        remapTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task));
 
         final FileCollection recompileDependencies = spec.getAdditionalRecompileDependencies().plus(spec.getProject().files(definition.getMinecraftDependenciesConfiguration()));
         final TaskProvider<? extends Runtime> recompileTask = spec.getProject()
@@ -347,7 +372,7 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
                         recompileSourceJar.dependsOn(task);
                     }
                 });
-        recompileTask.configure(neoFormRuntimeTask -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, neoFormRuntimeTask));
+        recompileTask.configure(neoFormRuntimeTask -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, neoFormRuntimeTask));
 
         taskOutputs.put(recompileTask.getName(), recompileTask);
 
@@ -365,12 +390,12 @@ public abstract class NeoFormRuntimeExtension extends CommonRuntimeExtension<Neo
         );
 
         final TaskProvider<? extends Runtime> runtimeToSourceMappingsTask = generationTaskBuildingContext.getNamingChannel().getRuntimeToSourceMappingsTaskBuilder().get().build(generationTaskBuildingContext);
-        runtimeToSourceMappingsTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task));
+        runtimeToSourceMappingsTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task));
         taskOutputs.put(runtimeToSourceMappingsTask.getName(), runtimeToSourceMappingsTask);
         definition.setRuntimeToSourceMappingsTaskProvider(runtimeToSourceMappingsTask);
 
         final TaskProvider<? extends Runtime> generateDebuggingMappingsTask = generationTaskBuildingContext.getNamingChannel().getGenerateDebuggingMappingsJarTaskBuilder().get().build(generationTaskBuildingContext);
-        generateDebuggingMappingsTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, data, task));
+        generateDebuggingMappingsTask.configure(task -> configureMcpRuntimeTaskWithDefaults(spec, neoFormDirectory, unpackedMcpZipDirectory, data, task));
         taskOutputs.put(generateDebuggingMappingsTask.getName(), generateDebuggingMappingsTask);
         definition.setDebuggingMappingsTaskProvider(generateDebuggingMappingsTask);
 
@@ -1,33 +1,38 @@
 package net.neoforged.gradle.neoform.runtime.tasks;
 
 import net.neoforged.gradle.common.runtime.tasks.DefaultRuntime;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
 import net.neoforged.gradle.dsl.common.util.CacheableMinecraftVersion;
 import net.neoforged.gradle.util.FileUtils;
-import net.neoforged.gradle.util.ZipBuildingFileTreeVisitor;
-import org.apache.commons.io.IOUtils;
+import net.neoforged.gradle.util.RawZipBuildingFileTreeVisitor;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import org.gradle.api.file.*;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.*;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
 @CacheableTask
-public abstract class InjectCode extends DefaultRuntime {
+public abstract class InjectCode extends DefaultRuntime implements WithCompression {
 
     public InjectCode() {
         super();
 
         getInjectionDirectory().fileProvider(getRuntimeData().map(data -> data.get("inject")));
+        JarCompressionUtils.configureDefaultCompression(this);
+    }
+
+    @Override
+    public boolean isIntermediateOutput() {
+        return true;
     }
 
     @TaskAction
@@ -41,16 +46,14 @@ public abstract class InjectCode extends DefaultRuntime {
         final RegularFile packageInfoTemplate = injectionDirectory.file("package-info-template.java");
         final String packageInfoTemplateContent = packageInfoTemplate.getAsFile().exists() ? FileUtils.readAllLines(packageInfoTemplate.getAsFile().toPath()).collect(Collectors.joining("\n")) : null;
 
-        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(inputZipFile.get().getAsFile()));
-             ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(outputFile))) {
+        try (RawZipReader reader = RawZipReader.open(inputZipFile.get().getAsFile());
+             RawZipWriter writer = JarCompressionUtils.openWriter(this, outputFile)) {
 
             Set<String> visited = new HashSet<>();
 
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                zos.putNextEntry(entry);
-                IOUtils.copyLarge(zis, zos);
-                zos.closeEntry();
+            for (RawZipEntry entry : reader.getEntries()) {
+                //Existing entries are never changed, so they are copied without recompressing them.
+                writer.copy(reader, entry);
 
                 if (packageInfoTemplateContent != null) {
                     String pkg = entry.isDirectory() && !entry.getName().endsWith("/") ? entry.getName() : entry.getName().indexOf('/') == -1 ? "" : entry.getName().substring(0, entry.getName().lastIndexOf('/'));
@@ -58,14 +61,12 @@ public abstract class InjectCode extends DefaultRuntime {
                         if (!pkg.startsWith("net/minecraft/") &&
                                 (!pkg.startsWith("com/mojang/") || getMinecraftVersion().get().compareTo(minimalSupportedVersion) <= 0)) //Add com/mojang package-infos in 1.15+, could probably get away without the version check
                             continue;
-                        zos.putNextEntry(FileUtils.getStableEntry(pkg + "/package-info.java"));
-                        zos.write(packageInfoTemplateContent.replace("{PACKAGE}", pkg.replaceAll("/", ".")).getBytes(StandardCharsets.UTF_8));
-                        zos.closeEntry();
+                        writer.write(FileUtils.getStableEntry(pkg + "/package-info.java"), packageInfoTemplateContent.replace("{PACKAGE}", pkg.replaceAll("/", ".")).getBytes(StandardCharsets.UTF_8));
                     }
                 }
             }
 
-            getFilteredInjectionDirectory().visit(new ZipBuildingFileTreeVisitor(zos));
+            new RawZipBuildingFileTreeVisitor(writer).visitSorted(getFilteredInjectionDirectory());
         }
     }
 
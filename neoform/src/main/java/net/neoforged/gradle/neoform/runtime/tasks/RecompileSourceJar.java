@@ -1,6 +1,11 @@
 package net.neoforged.gradle.neoform.runtime.tasks;
 
-import net.neoforged.gradle.util.ZipBuildingFileTreeVisitor;
+import net.neoforged.gradle.common.util.JarCompressionUtils;
+import net.neoforged.gradle.dsl.common.tasks.WithCompression;
+import net.neoforged.gradle.util.RawZipBuildingFileTreeVisitor;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import net.neoforged.gradle.dsl.common.runtime.tasks.Runtime;
 import org.gradle.api.Action;
 import org.gradle.api.Task;
@@ -25,12 +30,10 @@ import org.gradle.jvm.toolchain.JavaToolchainService;
 import org.gradle.jvm.toolchain.internal.CurrentJvmToolchainSpec;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.zip.ZipOutputStream;
 
 @CacheableTask
-public abstract class RecompileSourceJar extends JavaCompile implements Runtime {
+public abstract class RecompileSourceJar extends JavaCompile implements Runtime, WithCompression {
 
     private Property<JavaLanguageVersion> javaVersion;
 
@@ -84,22 +87,26 @@ public abstract class RecompileSourceJar extends JavaCompile implements Runtime
         getOptions().setIncremental(true);
         getOptions().getIncrementalAfterFailure().set(true);
 
+        JarCompressionUtils.configureDefaultCompression(this);
+
         //Leave this as an anon class, so that gradle is aware of this. Lambdas can not be used during task tree analysis.
         //noinspection Convert2Lambda
         doLast(new Action<Task>() {
             @Override
             public void execute(Task doLast) {
-                try {
-                    final File outputJar = RecompileSourceJar.this.ensureFileWorkspaceReady(RecompileSourceJar.this.getOutput());
-                    final FileOutputStream fileOutputStream = new FileOutputStream(outputJar);
-                    final ZipOutputStream outputZipStream = new ZipOutputStream(fileOutputStream);
-                    final ZipBuildingFileTreeVisitor zipBuildingFileTreeVisitor = new ZipBuildingFileTreeVisitor(outputZipStream);
+                final File outputJar = RecompileSourceJar.this.ensureFileWorkspaceReady(RecompileSourceJar.this.getOutput());
+                try (RawZipReader inputJar = RawZipReader.open(RecompileSourceJar.this.getInputJar().get().getAsFile());
+                     RawZipWriter writer = JarCompressionUtils.openWriter(RecompileSourceJar.this, outputJar)) {
                     //Add the compiled output.
-                    RecompileSourceJar.this.getDestinationDirectory().getAsFileTree().visit(zipBuildingFileTreeVisitor);
-                    //Add the original resources.
-                    RecompileSourceJar.this.getProject().zipTree(RecompileSourceJar.this.getInputJar()).matching(filter -> filter.exclude("**/*.java")).visit(zipBuildingFileTreeVisitor);
-                    outputZipStream.close();
-                    fileOutputStream.close();
+                    new RawZipBuildingFileTreeVisitor(writer).visitSorted(RecompileSourceJar.this.getDestinationDirectory().getAsFileTree());
+                    //Add the original resources, without recompressing them.
+                    for (RawZipEntry entry : inputJar.getEntries()) {
+                        if (entry.getName().endsWith(".java") || (entry.isDirectory() && writer.contains(entry.getName()))) {
+                            continue;
+                        }
+
+                        writer.copy(inputJar, entry);
+                    }
                 } catch (IOException e) {
                     throw new RuntimeException("Failed to create recompiled output jar", e);
                 }
@@ -115,6 +122,11 @@ public abstract class RecompileSourceJar extends JavaCompile implements Runtime
         return String.format("NeoGradle/Runtime/%s", name);
     }
 
+    @Override
+    public boolean isIntermediateOutput() {
+        return true;
+    }
+
     @Internal
     public final Provider<JavaToolchainService> getJavaToolChain() {
         return getProject().provider(() -> getProject().getExtensions().getByType(JavaToolchainService.class));
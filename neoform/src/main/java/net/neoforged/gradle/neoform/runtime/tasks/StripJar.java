@@ -1,9 +1,12 @@
 package net.neoforged.gradle.neoform.runtime.tasks;
 
+import com.google.common.collect.ImmutableSet;
 import net.neoforged.gradle.util.FileUtils;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import net.neoforged.gradle.util.TransformerUtils;
 import net.neoforged.gradle.common.runtime.tasks.DefaultRuntime;
-import org.apache.commons.io.IOUtils;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
@@ -15,12 +18,9 @@ import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
-import java.util.jar.JarOutputStream;
+import java.util.Set;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 @CacheableTask
@@ -50,29 +50,26 @@ public abstract class StripJar extends DefaultRuntime {
         final File input = getInput().get().getAsFile();
         final File output = ensureFileWorkspaceReady(getOutput());
         final boolean isWhitelist = getIsWhitelistMode().get();
+        //Resolved once, every entry is then checked with a single hash lookup.
+        final Set<String> filters = ImmutableSet.copyOf(getFilters().get());
 
-        strip(input, output, isWhitelist);
+        strip(input, output, filters, isWhitelist);
     }
 
-    private void strip(File input, File output, boolean whitelist) throws IOException {
-        JarInputStream is = new JarInputStream(new FileInputStream(input));
-        JarOutputStream os = new JarOutputStream(new FileOutputStream(output));
-
-        // Ignore any entry that's not allowed
-        JarEntry entry;
-        while ((entry = is.getNextJarEntry()) != null) {
-            if (!isEntryValid(entry, whitelist)) continue;
-            os.putNextEntry(entry);
-            IOUtils.copyLarge(is, os);
-            os.closeEntry();
+    private static void strip(File input, File output, Set<String> filters, boolean whitelist) throws IOException {
+        try (RawZipReader reader = RawZipReader.open(input);
+             RawZipWriter writer = new RawZipWriter(output)) {
+            // Ignore any entry that's not allowed, the others are copied without recompressing them
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (!isEntryValid(entry, filters, whitelist)) continue;
+                writer.copy(reader, entry);
+            }
         }
-
-        os.close();
-        is.close();
     }
 
-    private boolean isEntryValid(JarEntry entry, boolean whitelist) {
-        return !entry.isDirectory() && getFilters().get().contains(entry.getName()) == whitelist;
+    private static boolean isEntryValid(RawZipEntry entry, Set<String> filters, boolean whitelist) {
+        //The manifest of the input is dropped in either mode, as it is not one of the filtered class files.
+        return !entry.isDirectory() && !entry.getName().equalsIgnoreCase(JarFile.MANIFEST_NAME) && filters.contains(entry.getName()) == whitelist;
     }
 
     @InputFile
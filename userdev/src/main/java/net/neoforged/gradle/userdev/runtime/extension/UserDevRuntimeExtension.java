@@ -4,6 +4,7 @@ import net.neoforged.gradle.common.runtime.extensions.CommonRuntimeExtension;
 import net.neoforged.gradle.common.runtime.tasks.AccessTransformer;
 import net.neoforged.gradle.common.util.CommonRuntimeTaskUtils;
 import net.neoforged.gradle.common.util.ConfigurationUtils;
+import net.neoforged.gradle.common.util.FileCacheUtils;
 import net.neoforged.gradle.dsl.common.extensions.Mappings;
 import net.neoforged.gradle.dsl.common.extensions.Minecraft;
 import net.neoforged.gradle.dsl.common.runs.type.Types;
@@ -25,12 +26,11 @@ import net.neoforged.gradle.neoform.util.NeoFormRuntimeUtils;
 import net.neoforged.gradle.userdev.runtime.definition.UserDevRuntimeDefinition;
 import net.neoforged.gradle.userdev.runtime.specification.UserDevRuntimeSpecification;
 import net.neoforged.gradle.userdev.utils.UserDevConfigurationSpecUtils;
-import net.neoforged.gradle.util.CopyingFileTreeVisitor;
+import net.neoforged.gradle.util.UnpackedArchiveCache;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ResolvedConfiguration;
-import org.gradle.api.file.FileTree;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 
@@ -57,17 +57,9 @@ public abstract class UserDevRuntimeExtension extends CommonRuntimeExtension<Use
         final ResolvedConfiguration resolvedUserDevConfiguration = userDevConfiguration.getResolvedConfiguration();
         final File userDevJar = resolvedUserDevConfiguration.getFiles().iterator().next();
 
-        final File forgeDirectory = spec.getProject().getLayout().getBuildDirectory().dir(String.format("forge/%s", spec.getIdentifier())).get().getAsFile();
-        final File unpackedForgeDirectory = new File(forgeDirectory, "unpacked");
-
-        unpackedForgeDirectory.mkdirs();
-
-        final FileTree userDevJarZipTree = spec.getProject().zipTree(userDevJar);
-        final CopyingFileTreeVisitor unpackingVisitor = new CopyingFileTreeVisitor(unpackedForgeDirectory);
-        userDevJarZipTree.visit(unpackingVisitor);
-
-        final File userDevConfigFile = new File(unpackedForgeDirectory, "config.json");
-        final UserDevConfigurationSpecV2 userDevConfigurationSpec = UserDevConfigurationSpecUtils.get(getProject(), userDevConfigFile);
+        //Only unpacked once per distinct jar, the config is read from the jar itself.
+        final File unpackedForgeDirectory = FileCacheUtils.unpackIntoCache(spec.getProject(), userDevJar);
+        final UserDevConfigurationSpecV2 userDevConfigurationSpec = UserDevConfigurationSpecUtils.get(getProject(), UnpackedArchiveCache.readEntry(userDevJar, "config.json"));
 
         final Configuration userDevAdditionalDependenciesConfiguration = ConfigurationUtils.temporaryConfiguration(getProject());
         for (String dependencyCoordinate : userDevConfigurationSpec.getAdditionalDependencies()) {
@@ -56,6 +56,8 @@ public abstract class JarJar extends Jar {
     public JarJar() {
         super();
         setDuplicatesStrategy(DuplicatesStrategy.EXCLUDE); //As opposed to shadow, we do not filter out our entries early!, So we need to handle them accordingly.
+        setPreserveFileTimestamps(false);
+        setReproducibleFileOrder(true);
         dependencyFilter = new DefaultDependencyFilter(getProject());
         dependencyVersionInformationHandler = new DefaultDependencyVersionInformationHandler(getProject());
         setManifest(new DefaultInheritManifest(getServices().get(FileResolver.class)));
@@ -9,6 +9,8 @@ import org.gradle.api.Project;
 
 import java.io.File;
 import java.io.FileReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
 public final class UserDevConfigurationSpecUtils {
 
@@ -18,14 +20,24 @@ public final class UserDevConfigurationSpecUtils {
 
 
     public static UserDevConfigurationSpecV2 get(final Project project, final File userDevConfigFile) {
-        final Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Type.class, TypeImpl.Serializer.scoped(project))
-                .create();
+        try (Reader reader = new FileReader(userDevConfigFile)) {
+            return createGson(project).fromJson(reader, UserDevConfigurationSpecV2.class);
+        } catch (Exception e) {
+            throw new RuntimeException(String.format("Failed to read the userdev configuration from: %s", userDevConfigFile.getAbsolutePath()), e);
+        }
+    }
 
+    public static UserDevConfigurationSpecV2 get(final Project project, final byte[] userDevConfig) {
         try {
-            return gson.fromJson(new FileReader(userDevConfigFile), UserDevConfigurationSpecV2.class);
+            return createGson(project).fromJson(new String(userDevConfig, StandardCharsets.UTF_8), UserDevConfigurationSpecV2.class);
         } catch (Exception e) {
-            throw new RuntimeException(String.format("Failed to read the userdev configuration from: %s", userDevConfigFile.getAbsolutePath()), e);
+            throw new RuntimeException("Failed to read the userdev configuration", e);
         }
     }
+
+    private static Gson createGson(final Project project) {
+        return new GsonBuilder()
+                .registerTypeAdapter(Type.class, TypeImpl.Serializer.scoped(project))
+                .create();
+    }
 }
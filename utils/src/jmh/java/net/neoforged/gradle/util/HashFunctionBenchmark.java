@@ -0,0 +1,72 @@
+package net.neoforged.gradle.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming implementation of {@link HashFunction#hash(Path)} with the previous implementation,
+ * which read the entire file onto the heap before hashing it.
+ * <p>
+ * Run with: {@code ./gradlew :utils:jmh}, and compare the time as well as the allocation rate (-prof gc) of both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class HashFunctionBenchmark {
+
+    @Param({"1", "100", "1024"})
+    public int sizeInMegabytes;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("neogradle-hash-benchmark", ".bin");
+
+        final Random random = new Random(42);
+        final byte[] chunk = new byte[1024 * 1024];
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            for (int i = 0; i < sizeInMegabytes; i++) {
+                random.nextBytes(chunk);
+                stream.write(chunk);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String readAllBytes() throws IOException {
+        return HashFunction.SHA1.pad(new BigInteger(1, HashFunction.SHA1.get().digest(Files.readAllBytes(file))).toString(16));
+    }
+
+    @Benchmark
+    public String streaming() throws IOException {
+        return HashFunction.SHA1.hash(file);
+    }
+}
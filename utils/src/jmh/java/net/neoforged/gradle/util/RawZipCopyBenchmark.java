@@ -0,0 +1,166 @@
+package net.neoforged.gradle.util;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compares copying the entries of a jar through {@link RawZipReader} and {@link RawZipWriter}, which keeps their
+ * compressed data, with the previous implementations of the strip and inject steps, which inflated every entry and
+ * deflated it again.
+ * <p>
+ * The strip benchmarks keep every second class of the jar, the inject benchmarks copy every entry and add a few new ones.
+ * Run with: {@code ./gradlew :utils:jmh}, and compare the time of the stream and raw variants of each step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RawZipCopyBenchmark {
+
+    private static final int INJECTED_ENTRIES = 16;
+
+    @Param({"1000", "10000"})
+    public int entries;
+
+    private Path directory;
+    private File input;
+    private File output;
+    private Set<String> kept;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("neogradle-zip-benchmark");
+        input = directory.resolve("input.jar").toFile();
+        output = directory.resolve("output.jar").toFile();
+        kept = new HashSet<>();
+
+        //Repetitive content, so that it compresses about as well as class files do.
+        final Random random = new Random(42);
+        final String[] words = {"java/lang/Object", "net/minecraft/world/Level", "getValue", "<init>", "(Ljava/lang/String;)V", "Code", "LineNumberTable"};
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(input))) {
+            jar.putNextEntry(new JarEntry(JarFile.MANIFEST_NAME));
+            jar.write("Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+
+            for (int i = 0; i < entries; i++) {
+                final String name = String.format("net/minecraft/package%d/Class%d.class", i % 100, i);
+                if (i % 2 == 0) {
+                    kept.add(name);
+                }
+
+                final StringBuilder content = new StringBuilder();
+                final int length = 1000 + random.nextInt(8000);
+                while (content.length() < length) {
+                    content.append(words[random.nextInt(words.length)]).append(random.nextInt(100));
+                }
+
+                jar.putNextEntry(new JarEntry(name));
+                jar.write(content.toString().getBytes(StandardCharsets.UTF_8));
+                jar.closeEntry();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input.toPath());
+        Files.deleteIfExists(output.toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public File stripStream() throws IOException {
+        try (JarInputStream is = new JarInputStream(new FileInputStream(input));
+             JarOutputStream os = new JarOutputStream(new FileOutputStream(output))) {
+            JarEntry entry;
+            while ((entry = is.getNextJarEntry()) != null) {
+                if (entry.isDirectory() || !kept.contains(entry.getName())) continue;
+                os.putNextEntry(entry);
+                IOUtils.copyLarge(is, os);
+                os.closeEntry();
+            }
+        }
+        return output;
+    }
+
+    @Benchmark
+    public File stripRaw() throws IOException {
+        try (RawZipReader reader = RawZipReader.open(input);
+             RawZipWriter writer = new RawZipWriter(output)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (entry.isDirectory() || !kept.contains(entry.getName())) continue;
+                writer.copy(reader, entry);
+            }
+        }
+        return output;
+    }
+
+    @Benchmark
+    public File injectStream() throws IOException {
+        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(input));
+             ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(output))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                zos.putNextEntry(entry);
+                IOUtils.copyLarge(zis, zos);
+                zos.closeEntry();
+            }
+
+            for (int i = 0; i < INJECTED_ENTRIES; i++) {
+                zos.putNextEntry(FileUtils.getStableEntry(String.format("net/minecraft/package%d/package-info.java", i)));
+                zos.write(String.format("package net.minecraft.package%d;", i).getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return output;
+    }
+
+    @Benchmark
+    public File injectRaw() throws IOException {
+        try (RawZipReader reader = RawZipReader.open(input);
+             RawZipWriter writer = new RawZipWriter(output)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                writer.copy(reader, entry);
+            }
+
+            for (int i = 0; i < INJECTED_ENTRIES; i++) {
+                writer.write(FileUtils.getStableEntry(String.format("net/minecraft/package%d/package-info.java", i)), String.format("package net.minecraft.package%d;", i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return output;
+    }
+}
@@ -0,0 +1,104 @@
+package net.neoforged.gradle.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+
+/**
+ * Compares how the strip step decides which entries of a jar to keep: checking every entry against the list of
+ * filters, as it did before, or against a hashed set which is built once per execution.
+ * <p>
+ * The previous implementation also queried the filter provider for every entry, which this benchmark does not include,
+ * so the list variant is a lower bound of its cost.
+ * Run with: {@code ./gradlew :utils:jmh}, and compare the time of both variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class StripFilterBenchmark {
+
+    @Param({"20000"})
+    public int entries;
+
+    @Param({"1000", "10000"})
+    public int filters;
+
+    private File input;
+    private RawZipReader reader;
+    private List<String> filterList;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        input = Files.createTempFile("neogradle-strip-benchmark", ".jar").toFile();
+        try (RawZipWriter writer = new RawZipWriter(input)) {
+            for (int i = 0; i < entries; i++) {
+                writer.write(new ZipEntry(getEntryName(i)), new byte[0]);
+            }
+        }
+        reader = RawZipReader.open(input);
+
+        //Every second entry is filtered, like the client classes in the server jar.
+        final List<String> names = new ArrayList<>(filters);
+        for (int i = 0; i < filters; i++) {
+            names.add(getEntryName(i * 2 % entries));
+        }
+        filterList = ImmutableList.copyOf(names);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(input.toPath());
+    }
+
+    @Benchmark
+    public int listContains() {
+        int kept = 0;
+        for (RawZipEntry entry : reader.getEntries()) {
+            if (!entry.isDirectory() && filterList.contains(entry.getName())) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    @Benchmark
+    public int hashedSet() {
+        final Set<String> filterSet = ImmutableSet.copyOf(filterList);
+        int kept = 0;
+        for (RawZipEntry entry : reader.getEntries()) {
+            if (!entry.isDirectory() && filterSet.contains(entry.getName())) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private static String getEntryName(final int index) {
+        return String.format("net/minecraft/package%d/Class%d.class", index % 100, index);
+    }
+}
@@ -23,7 +23,7 @@ public class AdaptingZipBuildingFileTreeVisitor extends ZipBuildingFileTreeVisit
     @Override
     public void visitFile(FileVisitDetails fileVisitDetails) {
         try {
-            final ZipEntry fileEntry = new ZipEntry(fileVisitDetails.getRelativePath().getPathString());
+            final ZipEntry fileEntry = FileUtils.getStableEntry(fileVisitDetails.getRelativePath().getPathString());
             outputZipStream.putNextEntry(fileEntry);
             fileAdapter.accept(fileVisitDetails, outputZipStream);
             outputZipStream.closeEntry();
@@ -0,0 +1,350 @@
+package net.neoforged.gradle.util;
+
+import net.minecraftforge.srgutils.IMappingBuilder;
+import net.minecraftforge.srgutils.IMappingFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compact binary form of {@link IMappingFile}s, which can be loaded without parsing text.
+ * <p>
+ * The file starts with a string table, which holds every distinct name, descriptor and metadata entry once, followed by
+ * the packages and an index of the classes sorted by their original name, which points at the class records.
+ * Records only reference strings by their index in the table, so a file is read into a single buffer and strings are
+ * decoded once, no matter how often they are referenced.
+ * <p>
+ * Elements are written in a sorted order, so the bytes of mappings with the same content are identical.
+ */
+public final class BinaryMappingFormat {
+
+    private static final int MAGIC = 0x4E474D42; //NGMB
+    private static final int VERSION = 1;
+    private static final int NO_STRING = -1;
+    private static final String EXTENSION = ".bin";
+
+    private static final String LEFT = "left";
+    private static final String RIGHT = "right";
+
+    private static final Comparator<IMappingFile.INode> BY_ORIGINAL = Comparator.comparing(IMappingFile.INode::getOriginal);
+    private static final Comparator<IMappingFile.IMethod> METHOD_ORDER = Comparator.comparing(IMappingFile.IMethod::getOriginal)
+            .thenComparing(IMappingFile.IMethod::getDescriptor, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private BinaryMappingFormat() {
+        throw new IllegalStateException("Can not instantiate an instance of: BinaryMappingFormat. This is a utility class");
+    }
+
+    /**
+     * Converts the given mappings into their binary form.
+     *
+     * @param mappings The mappings to convert
+     * @return The bytes of the binary form
+     */
+    public static byte[] toBytes(final IMappingFile mappings) {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        final List<Integer> classOffsets = new ArrayList<>();
+
+        try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+            final List<IMappingFile.IPackage> packages = new ArrayList<>(mappings.getPackages());
+            packages.sort(BY_ORIGINAL);
+            body.writeInt(packages.size());
+            for (IMappingFile.IPackage pkg : packages) {
+                writeString(body, strings, pkg.getOriginal());
+                writeString(body, strings, pkg.getMapped());
+                writeMetadata(body, strings, pkg.getMetadata());
+            }
+
+            final List<IMappingFile.IClass> classes = new ArrayList<>(mappings.getClasses());
+            classes.sort(BY_ORIGINAL);
+            for (IMappingFile.IClass cls : classes) {
+                classOffsets.add(body.size());
+                writeClass(body, strings, cls);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to convert mappings into their binary form", e);
+        }
+
+        final List<byte[]> encoded = new ArrayList<>(strings.size());
+        int stringBytes = 0;
+        for (String string : strings.keySet()) {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringBytes += bytes.length;
+        }
+
+        final int headerSize = 3 * Integer.BYTES + (encoded.size() + 1) * Integer.BYTES + stringBytes + (classOffsets.size() + 1) * Integer.BYTES;
+        final ByteBuffer buffer = ByteBuffer.allocate(headerSize + bodyBytes.size());
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+
+        //The string table: the offsets of all strings, followed by their bytes.
+        buffer.putInt(encoded.size());
+        int offset = 0;
+        for (byte[] bytes : encoded) {
+            buffer.putInt(offset);
+            offset += bytes.length;
+        }
+        buffer.putInt(offset);
+        for (byte[] bytes : encoded) {
+            buffer.put(bytes);
+        }
+
+        //The class index, pointing at the class records in the body.
+        buffer.putInt(classOffsets.size());
+        for (int classOffset : classOffsets) {
+            buffer.putInt(headerSize + classOffset);
+        }
+
+        buffer.put(bodyBytes.toByteArray());
+        return buffer.array();
+    }
+
+    /**
+     * Writes the binary form of the given mappings to the given file.
+     *
+     * @param mappings The mappings to write
+     * @param file The file to write to
+     */
+    public static void write(final IMappingFile mappings, final Path file) {
+        try {
+            Files.write(file, toBytes(mappings));
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to write binary mappings file: %s", file.toAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Stores the given binary form of mappings in the given content addressed directory, under the SHA-256 hash of the bytes.
+     * Nothing is written if mappings with the same hash are already stored in the directory.
+     *
+     * @param bytes The binary form of the mappings, as produced by {@link #toBytes(IMappingFile)}
+     * @param directory The directory which holds the stored mappings
+     * @return The hash which identifies the mappings in the directory
+     * @see #getStoredFile(Path, String)
+     */
+    public static String store(final byte[] bytes, final Path directory) {
+        final String hash = HashFunction.SHA256.hash(bytes);
+        final Path target = getStoredFile(directory, hash);
+        if (Files.isRegularFile(target)) {
+            return hash;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            final Path temporary = FileUtils.temporaryPath(directory, hash);
+            try {
+                Files.write(temporary, bytes);
+                FileUtils.atomicMove(temporary, target);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to store binary mappings file: %s", target.toAbsolutePath()), e);
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the file which holds the mappings with the given hash in the given content addressed directory.
+     *
+     * @param directory The directory which holds the stored mappings
+     * @param hash The hash returned by {@link #store(byte[], Path)}
+     * @return The file, which does not exist if the mappings are not stored
+     */
+    public static Path getStoredFile(final Path directory, final String hash) {
+        return directory.resolve(hash + EXTENSION);
+    }
+
+    /**
+     * Reads mappings from the given file, which holds their binary form.
+     *
+     * @param file The file to read
+     * @return The mappings
+     */
+    public static IMappingFile read(final Path file) {
+        try {
+            //The file is read onto the heap instead of being mapped, as a mapped file can not be replaced on windows.
+            return read(ByteBuffer.wrap(Files.readAllBytes(file)));
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException(String.format("Failed to read binary mappings file: %s", file.toAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Reads mappings from the given buffer, which holds their binary form.
+     *
+     * @param buffer The buffer to read, starting at its current position
+     * @return The mappings
+     */
+    public static IMappingFile read(final ByteBuffer buffer) {
+        final ByteBuffer input = buffer.slice();
+        if (input.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The buffer does not contain binary mappings");
+        }
+        final int version = input.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported version of binary mappings: %d", version));
+        }
+
+        final StringTable strings = new StringTable(input);
+        final IMappingBuilder builder = IMappingBuilder.create(LEFT, RIGHT);
+
+        final int classCount = input.getInt();
+        final int classIndex = input.position();
+        input.position(classIndex + classCount * Integer.BYTES);
+
+        final int packageCount = input.getInt();
+        for (int i = 0; i < packageCount; i++) {
+            final IMappingBuilder.IPackage pkg = builder.addPackage(strings.read(input), strings.read(input));
+            readMetadata(input, strings, pkg::meta);
+        }
+
+        for (int i = 0; i < classCount; i++) {
+            input.position(input.getInt(classIndex + i * Integer.BYTES));
+            readClass(input, strings, builder);
+        }
+
+        return builder.build().getMap(LEFT, RIGHT);
+    }
+
+    private static void writeClass(final DataOutputStream body, final Map<String, Integer> strings, final IMappingFile.IClass cls) throws IOException {
+        writeString(body, strings, cls.getOriginal());
+        writeString(body, strings, cls.getMapped());
+        writeMetadata(body, strings, cls.getMetadata());
+
+        final List<IMappingFile.IField> fields = new ArrayList<>(cls.getFields());
+        fields.sort(BY_ORIGINAL);
+        body.writeInt(fields.size());
+        for (IMappingFile.IField field : fields) {
+            writeString(body, strings, field.getOriginal());
+            writeString(body, strings, field.getMapped());
+            writeString(body, strings, field.getDescriptor());
+            writeMetadata(body, strings, field.getMetadata());
+        }
+
+        final List<IMappingFile.IMethod> methods = new ArrayList<>(cls.getMethods());
+        methods.sort(METHOD_ORDER);
+        body.writeInt(methods.size());
+        for (IMappingFile.IMethod method : methods) {
+            writeString(body, strings, method.getOriginal());
+            writeString(body, strings, method.getMapped());
+            writeString(body, strings, method.getDescriptor());
+            writeMetadata(body, strings, method.getMetadata());
+
+            final List<IMappingFile.IParameter> parameters = new ArrayList<>(method.getParameters());
+            parameters.sort(Comparator.comparingInt(IMappingFile.IParameter::getIndex));
+            body.writeInt(parameters.size());
+            for (IMappingFile.IParameter parameter : parameters) {
+                body.writeInt(parameter.getIndex());
+                writeString(body, strings, parameter.getOriginal());
+                writeString(body, strings, parameter.getMapped());
+                writeMetadata(body, strings, parameter.getMetadata());
+            }
+        }
+    }
+
+    private static void readClass(final ByteBuffer input, final StringTable strings, final IMappingBuilder builder) {
+        final IMappingBuilder.IClass cls = builder.addClass(strings.read(input), strings.read(input));
+        readMetadata(input, strings, cls::meta);
+
+        final int fieldCount = input.getInt();
+        for (int i = 0; i < fieldCount; i++) {
+            final IMappingBuilder.IField field = cls.field(strings.read(input), strings.read(input));
+            final String descriptor = strings.read(input);
+            if (descriptor != null) {
+                field.descriptor(descriptor);
+            }
+            readMetadata(input, strings, field::meta);
+        }
+
+        final int methodCount = input.getInt();
+        for (int i = 0; i < methodCount; i++) {
+            final String original = strings.read(input);
+            final String mapped = strings.read(input);
+            final IMappingBuilder.IMethod method = cls.method(strings.read(input), original, mapped);
+            readMetadata(input, strings, method::meta);
+
+            final int parameterCount = input.getInt();
+            for (int j = 0; j < parameterCount; j++) {
+                final IMappingBuilder.IParameter parameter = method.parameter(input.getInt(), strings.read(input), strings.read(input));
+                readMetadata(input, strings, parameter::meta);
+            }
+        }
+    }
+
+    private static void writeString(final DataOutputStream body, final Map<String, Integer> strings, final String value) throws IOException {
+        body.writeInt(value == null ? NO_STRING : strings.computeIfAbsent(value, key -> strings.size()));
+    }
+
+    private static void writeMetadata(final DataOutputStream body, final Map<String, Integer> strings, final Map<String, String> metadata) throws IOException {
+        final Map<String, String> sorted = new TreeMap<>(metadata);
+        body.writeInt(sorted.size());
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            writeString(body, strings, entry.getKey());
+            writeString(body, strings, entry.getValue());
+        }
+    }
+
+    private static void readMetadata(final ByteBuffer input, final StringTable strings, final MetadataConsumer consumer) {
+        final int count = input.getInt();
+        for (int i = 0; i < count; i++) {
+            consumer.accept(strings.read(input), strings.read(input));
+        }
+    }
+
+    @FunctionalInterface
+    private interface MetadataConsumer {
+        Object accept(String key, String value);
+    }
+
+    /**
+     * The string table of a binary mappings buffer, which decodes every string once on first use.
+     */
+    private static final class StringTable {
+        private final ByteBuffer buffer;
+        private final int offsets;
+        private final int data;
+        private final String[] decoded;
+
+        private StringTable(final ByteBuffer input) {
+            final int count = input.getInt();
+            this.buffer = input.duplicate();
+            this.offsets = input.position();
+            this.data = offsets + (count + 1) * Integer.BYTES;
+            this.decoded = new String[count];
+            input.position(data + input.getInt(offsets + count * Integer.BYTES));
+        }
+
+        private String read(final ByteBuffer input) {
+            final int index = input.getInt();
+            if (index == NO_STRING) {
+                return null;
+            }
+
+            String result = decoded[index];
+            if (result == null) {
+                final int start = buffer.getInt(offsets + index * Integer.BYTES);
+                final int end = buffer.getInt(offsets + (index + 1) * Integer.BYTES);
+                final byte[] bytes = new byte[end - start];
+                final ByteBuffer view = buffer.duplicate();
+                view.position(data + start);
+                view.get(bytes);
+                result = new String(bytes, StandardCharsets.UTF_8);
+                decoded[index] = result;
+            }
+            return result;
+        }
+    }
+}
@@ -12,8 +12,10 @@ public final class DecompileUtils {
 
     /**
      * The default JVM arguments for the decompiler.
+     *
+     * @see net.neoforged.gradle.common.util.ToolResourceUtils
      */
-    public static final List<String> DEFAULT_JVM_ARGS = ImmutableList.of("-Xmx4g");
+    public static final List<String> DEFAULT_JVM_ARGS = ImmutableList.of();
 
     /**
      * The default program arguments for the decompiler.
@@ -0,0 +1,220 @@
+package net.neoforged.gradle.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent index of file hashes, which allows for skipping the rehashing of files that did not change since they were last hashed.
+ * <p>
+ * A file is considered unchanged when its size, its last modification time and, where the file system exposes one,
+ * its file key (the inode on unix systems) all still match the values recorded when the file was hashed.
+ * The index is stored as an append only log, so that it can safely be shared between concurrent builds,
+ * and is compacted when it is loaded and mostly consists of stale entries.
+ * <p>
+ * Setting the system property {@value #PARANOID_PROPERTY} to {@code true} (for example via {@code systemProp.neogradle.verification.paranoid=true}
+ * in the gradle.properties file) disables trusting the index, in which case every file is rehashed on every lookup.
+ */
+public final class FileHashIndex {
+    private static final Logger LOGGER = Logging.getLogger(FileHashIndex.class);
+
+    /**
+     * The system property which enables the paranoid mode, in which every file is rehashed on every lookup.
+     */
+    public static final String PARANOID_PROPERTY = "neogradle.verification.paranoid";
+
+    /**
+     * Files which have been modified less than this amount of milliseconds before they were hashed are not recorded,
+     * since a modification within the same timestamp granularity would otherwise go unnoticed.
+     */
+    private static final long RACY_WINDOW_MILLIS = 2000L;
+
+    /**
+     * The index file is compacted on load when it contains more than this many lines per live entry.
+     */
+    private static final int COMPACTION_RATIO = 2;
+
+    private static final String SEPARATOR = "\t";
+    private static final String NO_FILE_KEY = "-";
+
+    private static final Map<Path, FileHashIndex> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private FileHashIndex(final Path indexFile) {
+        this.indexFile = indexFile;
+        load();
+    }
+
+    /**
+     * Gets the index stored in the given file, all callers in the same JVM share the same instance.
+     *
+     * @param indexFile The file the index is stored in
+     * @return The index
+     */
+    public static FileHashIndex get(final Path indexFile) {
+        return INSTANCES.computeIfAbsent(indexFile.toAbsolutePath().normalize(), FileHashIndex::new);
+    }
+
+    /**
+     * Gets the index stored in the given file, all callers in the same JVM share the same instance.
+     *
+     * @param indexFile The file the index is stored in
+     * @return The index
+     */
+    public static FileHashIndex get(final File indexFile) {
+        return get(indexFile.toPath());
+    }
+
+    /**
+     * @return True when the paranoid mode is enabled, and the index is not trusted.
+     */
+    public static boolean isParanoid() {
+        return Boolean.getBoolean(PARANOID_PROPERTY);
+    }
+
+    /**
+     * Hashes the given file with the given function, using the index to skip the hashing if the file did not change.
+     *
+     * @param file The file to hash
+     * @param function The hash function to use
+     * @return The hash of the file
+     * @throws IOException If an I/O error occurs
+     */
+    public String hash(final File file, final HashFunction function) throws IOException {
+        final Path path = file.toPath().toAbsolutePath().normalize();
+        final String key = function.name() + SEPARATOR + path;
+
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!isParanoid()) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.matches(attributes)) {
+                return entry.hash;
+            }
+        }
+
+        //The attributes are read before the file is hashed, so a concurrent modification results in a mismatch on the next lookup.
+        final String hash = function.hash(path);
+        if (attributes.lastModifiedTime().toMillis() < System.currentTimeMillis() - RACY_WINDOW_MILLIS) {
+            final Entry entry = new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), fileKey(attributes), hash);
+            entries.put(key, entry);
+            append(key, entry);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Checks whether the given file exists and its hash matches the expected hash.
+     *
+     * @param file The file to check
+     * @param function The hash function to use
+     * @param expected The expected hash, if it is null the file only needs to exist
+     * @return True when the file exists and matches the expected hash
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean matches(final File file, final HashFunction function, @Nullable final String expected) throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+
+        return expected == null || hash(file, function).equalsIgnoreCase(expected);
+    }
+
+    private void load() {
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                final String[] parts = line.split(SEPARATOR, 6);
+                if (parts.length != 6) {
+                    continue;
+                }
+
+                try {
+                    entries.put(parts[0] + SEPARATOR + parts[5], new Entry(Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3], parts[4]));
+                } catch (NumberFormatException ignored) {
+                    //Partially written line of an interrupted build, the file will simply be hashed again.
+                }
+            }
+        } catch (NoSuchFileException ignored) {
+            return;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read the file hash index: {}, all files will be rehashed", indexFile, e);
+            entries.clear();
+            return;
+        }
+
+        if (lines > entries.size() * COMPACTION_RATIO) {
+            compact();
+        }
+    }
+
+    private synchronized void compact() {
+        try {
+            final Path temporary = FileUtils.temporaryPath(indexFile.getParent(), indexFile.getFileName().toString());
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    writer.write(entry.getValue().toLine(entry.getKey()));
+                }
+            }
+            FileUtils.atomicMove(temporary, indexFile);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to compact the file hash index: {}", indexFile, e);
+        }
+    }
+
+    private synchronized void append(final String key, final Entry entry) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, entry.toLine(key).getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to record the hash of: {} in the file hash index: {}", key, indexFile, e);
+        }
+    }
+
+    private static String fileKey(final BasicFileAttributes attributes) {
+        final Object fileKey = attributes.fileKey();
+        return fileKey == null ? NO_FILE_KEY : fileKey.toString();
+    }
+
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final String hash;
+
+        private Entry(long size, long lastModified, String fileKey, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.hash = hash;
+        }
+
+        private boolean matches(final BasicFileAttributes attributes) {
+            return size == attributes.size() &&
+                    lastModified == attributes.lastModifiedTime().toMillis() &&
+                    fileKey.equals(fileKey(attributes));
+        }
+
+        private String toLine(final String key) {
+            final int split = key.indexOf(SEPARATOR);
+            return key.substring(0, split) + SEPARATOR + size + SEPARATOR + lastModified + SEPARATOR + fileKey + SEPARATOR + hash + SEPARATOR + key.substring(split + 1) + "\n";
+        }
+    }
+}
@@ -141,6 +141,50 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * Makes the given target point to the same content as the given source.
+     * Tries to create a hard link first, falls back to a symbolic link if that is not possible (for example across
+     * file stores), and finally falls back to copying the file.
+     * Nothing is done if the target already is a link to the source.
+     *
+     * @param source The existing source file
+     * @param target The target file to link to the source
+     * @throws IOException If an I/O error occurs
+     */
+    public static void linkOrCopy(final Path source, final Path target) throws IOException {
+        if (Files.exists(target)) {
+            if (Files.isSameFile(source, target)) {
+                return;
+            }
+
+            Files.delete(target);
+        } else if (Files.isSymbolicLink(target)) {
+            //Dangling symbolic link, from a store that has been cleaned.
+            Files.delete(target);
+        }
+
+        final Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try {
+            Files.createLink(target, source);
+            return;
+        } catch (final UnsupportedOperationException | IOException ignored) {
+            //Hard links are not supported here, try a symbolic link instead.
+        }
+
+        try {
+            Files.createSymbolicLink(target, source.toAbsolutePath());
+            return;
+        } catch (final UnsupportedOperationException | IOException ignored) {
+            //Neither are symbolic links, copy the file instead.
+        }
+
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
     /**
      * Gets the size in bytes of the file.
      *
@@ -148,7 +192,11 @@ public final class FileUtils {
      * @return The size in bytes of the file
      */
     public static int getFileSize(File asFile) {
-        return readAllBytes(asFile.toPath()).length;
+        try {
+            return (int) Files.size(asFile.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to get the file size!", e);
+        }
     }
 
     /**
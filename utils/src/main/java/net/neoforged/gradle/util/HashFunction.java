@@ -24,14 +24,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Locale;
-
-import org.apache.commons.io.IOUtils;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nullable;
 
@@ -50,6 +57,16 @@ public enum HashFunction {
     SHA256("SHA-256", 64),
     SHA512("SHA-512", 128);
 
+    /**
+     * The size of the buffer used to stream files and streams into a digest.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A reusable buffer per thread, so hashing does not allocate memory proportional to the size of the hashed data.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
     private final String algo;
     private final String pad;
 
@@ -100,7 +117,9 @@ public enum HashFunction {
      * @throws IOException If an I/O error occurs.
      */
     public String hash(Path file) throws IOException {
-        return hash(Files.readAllBytes(file));
+        final MessageDigest digest = get();
+        update(digest, file);
+        return toHex(digest);
     }
 
     /**
@@ -116,9 +135,75 @@ public enum HashFunction {
         for (File file : files) {
             if (!file.exists())
                 continue;
-            hash.update(Files.readAllBytes(file.toPath()));
+            update(hash, file.toPath());
+        }
+        return toHex(hash);
+    }
+
+    /**
+     * Hashes each of the given files individually, spreading the work over all available processors.
+     *
+     * @param files The files to hash.
+     * @return The hashes of the files, in the iteration order of the given files.
+     * @throws IOException If an I/O error occurs.
+     */
+    public Map<File, String> hashAll(Collection<File> files) throws IOException {
+        return hashAll(files, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Hashes each of the given files individually, using at most the given amount of threads.
+     *
+     * @param files The files to hash.
+     * @param parallelism The maximum amount of files hashed at the same time.
+     * @return The hashes of the files, in the iteration order of the given files.
+     * @throws IOException If an I/O error occurs, all individual failures are attached as suppressed exceptions.
+     */
+    public Map<File, String> hashAll(Collection<File> files, int parallelism) throws IOException {
+        final Map<File, String> result = new LinkedHashMap<>();
+        if (files.isEmpty())
+            return result;
+
+        final int threads = Math.max(1, Math.min(parallelism, files.size()));
+        if (threads == 1) {
+            for (File file : files) {
+                result.put(file, hash(file));
+            }
+            return result;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "neogradle-hashing");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final Map<File, Future<String>> futures = new LinkedHashMap<>();
+            for (File file : files) {
+                futures.put(file, executor.submit(() -> hash(file)));
+            }
+
+            IOException failure = null;
+            for (Map.Entry<File, Future<String>> entry : futures.entrySet()) {
+                try {
+                    result.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    if (failure == null)
+                        failure = new IOException("Failed to hash one or more files");
+                    failure.addSuppressed(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while hashing files", e);
+                }
+            }
+
+            if (failure != null)
+                throw failure;
+
+            return result;
+        } finally {
+            executor.shutdownNow();
         }
-        return pad(new BigInteger(1, hash.digest()).toString(16));
     }
 
     /**
@@ -139,7 +224,13 @@ public enum HashFunction {
      * @throws IOException If an I/O error occurs.
      */
     public String hash(InputStream stream) throws IOException {
-        return hash(IOUtils.toByteArray(stream));
+        final MessageDigest digest = get();
+        final byte[] buffer = BUFFER.get().array();
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest);
     }
 
     /**
@@ -152,6 +243,36 @@ public enum HashFunction {
         return pad(new BigInteger(1, get().digest(data)).toString(16));
     }
 
+    /**
+     * Feeds the contents of the given file into the given digest, through the reusable buffer of the current thread.
+     * This way the memory used is independent of the size of the file.
+     *
+     * @param digest The digest to update.
+     * @param file The file to read.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        final ByteBuffer buffer = BUFFER.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Converts the result of the given digest into a padded hexadecimal hash.
+     *
+     * @param digest The digest to complete.
+     * @return The hash.
+     */
+    private String toHex(MessageDigest digest) {
+        return pad(new BigInteger(1, digest.digest()).toString(16));
+    }
+
     /**
      * Pads the hash with leading zeroes, so that it matches the length of the hash function.
      *
@@ -0,0 +1,284 @@
+package net.neoforged.gradle.util;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.Permission;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the main method of a java tool inside the current JVM, instead of forking a new JVM for it.
+ * <p>
+ * The tool is loaded by its own class loader, whose parent only provides the platform classes, so that it can not see
+ * the classes of gradle or of the plugin. The class loaders of tools are kept, so running the same tool again does not
+ * have to load and warm up its classes again, until the {@link PoolSettings} of a run ask for them to be released.
+ * <p>
+ * While a tool runs, its standard output and error streams are redirected into the given stream, and calls to
+ * {@link System#exit(int)} are intercepted through a security manager. An exit with status zero counts as success.
+ * Only one tool runs at a time, as these are global to the JVM.
+ */
+public final class IsolatedToolRunner {
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, URLClassLoader> CLASS_LOADERS = new HashMap<>();
+
+    private IsolatedToolRunner() {
+        throw new IllegalStateException("Can not instantiate an instance of: IsolatedToolRunner. This is a utility class");
+    }
+
+    /**
+     * Runs the main method of the given class with the given arguments.
+     *
+     * @param classpath The classpath of the tool
+     * @param mainClass The name of the class which holds the main method
+     * @param arguments The arguments to pass to the main method
+     * @param output The stream which receives the standard output and error of the tool, it is not closed
+     * @throws RuntimeException If the tool can not be started, fails with an exception, or exits with a non zero status
+     */
+    public static void run(final List<File> classpath, final String mainClass, final List<String> arguments, final OutputStream output) {
+        run(classpath, mainClass, arguments, output, PoolSettings.DEFAULT);
+    }
+
+    /**
+     * Runs the main method of the given class with the given arguments.
+     *
+     * @param classpath The classpath of the tool
+     * @param mainClass The name of the class which holds the main method
+     * @param arguments The arguments to pass to the main method
+     * @param output The stream which receives the standard output and error of the tool, it is not closed
+     * @param settings The settings which control how long the class loaders of tools are kept
+     * @throws RuntimeException If the tool can not be started, fails with an exception, or exits with a non zero status
+     */
+    @SuppressWarnings("removal")
+    public static void run(final List<File> classpath, final String mainClass, final List<String> arguments, final OutputStream output, final PoolSettings settings) {
+        synchronized (LOCK) {
+            final String key = getKey(classpath);
+            final ClassLoader classLoader = getClassLoader(key, classpath);
+
+            final Thread thread = Thread.currentThread();
+            final ClassLoader previousContextClassLoader = thread.getContextClassLoader();
+            final PrintStream previousOut = System.out;
+            final PrintStream previousErr = System.err;
+            final SecurityManager previousSecurityManager = System.getSecurityManager();
+            final PrintStream capture = new PrintStream(new FilterOutputStream(output) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            }, true);
+
+            try {
+                System.setOut(capture);
+                System.setErr(capture);
+                final boolean trapsExit = trapExit(previousSecurityManager);
+                if (!trapsExit) {
+                    capture.println("Calls to System.exit can not be intercepted on this JVM, as it does not allow installing a security manager.");
+                }
+                thread.setContextClassLoader(classLoader);
+
+                final Method main = Class.forName(mainClass, true, classLoader).getMethod("main", String[].class);
+                main.invoke(null, (Object) arguments.toArray(new String[0]));
+            } catch (InvocationTargetException e) {
+                final ExitTrappedException exit = findExit(e.getCause());
+                if (exit == null) {
+                    if (e.getCause() instanceof Error) {
+                        //The tool may have left its static state broken, the next run starts with fresh classes.
+                        close(CLASS_LOADERS.remove(key));
+                    }
+                    throw new RuntimeException(String.format("The tool: %s failed", mainClass), e.getCause());
+                }
+                if (exit.getStatus() != 0) {
+                    throw new RuntimeException(String.format("The tool: %s exited with status: %d", mainClass, exit.getStatus()));
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(String.format("Failed to start the tool: %s", mainClass), e);
+            } finally {
+                thread.setContextClassLoader(previousContextClassLoader);
+                restoreSecurityManager(previousSecurityManager);
+                System.setOut(previousOut);
+                System.setErr(previousErr);
+                capture.flush();
+
+                if (getHeapUsageAfterCollection() > settings.getMaxHeapUsage()) {
+                    //The classes and static state of the cached tools are the main thing which this JVM retains.
+                    CLASS_LOADERS.values().forEach(IsolatedToolRunner::close);
+                    CLASS_LOADERS.clear();
+                }
+            }
+        }
+    }
+
+    private static String getKey(final List<File> classpath) {
+        //Files are identified by their size and modification time as well, so that a changed jar is loaded again.
+        return classpath.stream()
+                .map(file -> file.getAbsolutePath() + "@" + file.length() + "@" + file.lastModified())
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static ClassLoader getClassLoader(final String key, final List<File> classpath) {
+        URLClassLoader cached = CLASS_LOADERS.get(key);
+        if (cached == null) {
+            final URL[] urls = new URL[classpath.size()];
+            for (int i = 0; i < urls.length; i++) {
+                try {
+                    urls[i] = classpath.get(i).toURI().toURL();
+                } catch (MalformedURLException e) {
+                    throw new RuntimeException(String.format("Invalid tool classpath entry: %s", classpath.get(i)), e);
+                }
+            }
+
+            //The parent of the system class loader only provides the classes of the platform.
+            cached = new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+            CLASS_LOADERS.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static void close(final URLClassLoader classLoader) {
+        if (classLoader == null)
+            return;
+
+        try {
+            classLoader.close();
+        } catch (IOException ignored) {
+            //The class loader is no longer used, failing to close its jars only keeps them open a little longer.
+        }
+    }
+
+    private static double getHeapUsageAfterCollection() {
+        //The usage after the last collection ignores garbage which has not been collected yet.
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP)
+                continue;
+
+            final MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return (double) used / Runtime.getRuntime().maxMemory();
+    }
+
+    @SuppressWarnings("removal")
+    private static boolean trapExit(final SecurityManager previous) {
+        try {
+            System.setSecurityManager(new ExitTrappingSecurityManager(previous));
+            return true;
+        } catch (UnsupportedOperationException e) {
+            //Java 18 and newer only allow this if the JVM has been started with -Djava.security.manager=allow.
+            return false;
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private static void restoreSecurityManager(final SecurityManager previous) {
+        if (System.getSecurityManager() instanceof ExitTrappingSecurityManager) {
+            System.setSecurityManager(previous);
+        }
+    }
+
+    private static ExitTrappedException findExit(Throwable throwable) {
+        //Tools may wrap the exception thrown by System.exit.
+        while (throwable != null) {
+            if (throwable instanceof ExitTrappedException)
+                return (ExitTrappedException) throwable;
+            throwable = throwable.getCause();
+        }
+        return null;
+    }
+
+    /**
+     * Controls when the tool class loaders which are kept for later runs are released.
+     */
+    public static final class PoolSettings implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Keeps tools while less than three quarters of the heap are in use.
+         */
+        public static final PoolSettings DEFAULT = new PoolSettings(0.75D);
+
+        private final double maxHeapUsage;
+
+        /**
+         * @param maxHeapUsage The fraction of the maximum heap which may remain in use after a collection, before all tool class loaders are closed
+         */
+        public PoolSettings(final double maxHeapUsage) {
+            this.maxHeapUsage = maxHeapUsage;
+        }
+
+        public double getMaxHeapUsage() {
+            return maxHeapUsage;
+        }
+    }
+
+    /**
+     * Thrown by {@link System#exit(int)} while a tool is running.
+     */
+    private static final class ExitTrappedException extends SecurityException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private ExitTrappedException(final int status) {
+            super("System.exit(" + status + ") has been intercepted");
+            this.status = status;
+        }
+
+        private int getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * A security manager which intercepts calls to {@link System#exit(int)}, and otherwise behaves like the previous one.
+     */
+    @SuppressWarnings("removal")
+    private static final class ExitTrappingSecurityManager extends SecurityManager {
+        private final SecurityManager previous;
+
+        private ExitTrappingSecurityManager(final SecurityManager previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void checkExit(final int status) {
+            throw new ExitTrappedException(status);
+        }
+
+        @Override
+        public void checkPermission(final Permission permission) {
+            if (previous != null) {
+                previous.checkPermission(permission);
+            }
+        }
+
+        @Override
+        public void checkPermission(final Permission permission, final Object context) {
+            if (previous != null) {
+                previous.checkPermission(permission, context);
+            }
+        }
+    }
+}
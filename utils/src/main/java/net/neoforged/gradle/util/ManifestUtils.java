@@ -0,0 +1,92 @@
+package net.neoforged.gradle.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+public final class ManifestUtils {
+
+    private static final int MAX_LINE_LENGTH = 72;
+    private static final byte[] LINE_SEPARATOR = new byte[] {'\r', '\n'};
+    private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private ManifestUtils() {
+        throw new IllegalStateException("Can not instantiate an instance of: ManifestUtils. This is a utility class");
+    }
+
+    /**
+     * Writes the given manifest with a stable order.
+     * {@link Manifest#write(java.io.OutputStream)} writes the attributes in the order of hash maps on some java versions,
+     * here the version attribute comes first, followed by all other attributes and all sections sorted by their name.
+     *
+     * @param manifest The manifest to write
+     * @return The bytes of the manifest file
+     */
+    public static byte[] toStableBytes(final Manifest manifest) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final Attributes mainAttributes = manifest.getMainAttributes();
+        final String version = mainAttributes.getValue(Attributes.Name.MANIFEST_VERSION);
+        if (version != null) {
+            writeAttribute(output, Attributes.Name.MANIFEST_VERSION.toString(), version);
+        }
+        writeAttributes(output, mainAttributes, Attributes.Name.MANIFEST_VERSION);
+        output.write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+
+        final Map<String, Attributes> sections = new TreeMap<>(NAME_ORDER);
+        sections.putAll(manifest.getEntries());
+        sections.forEach((name, attributes) -> {
+            writeAttribute(output, "Name", name);
+            writeAttributes(output, attributes, null);
+            output.write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+        });
+
+        return output.toByteArray();
+    }
+
+    private static void writeAttributes(final ByteArrayOutputStream output, final Attributes attributes, final Attributes.Name skipped) {
+        final List<String> names = new ArrayList<>();
+        for (Object name : attributes.keySet()) {
+            if (!name.equals(skipped)) {
+                names.add(name.toString());
+            }
+        }
+        names.sort(NAME_ORDER);
+
+        for (String name : names) {
+            writeAttribute(output, name, attributes.getValue(name));
+        }
+    }
+
+    /**
+     * Writes a single attribute, wrapping it into continuation lines so that no line exceeds 72 bytes, without splitting characters.
+     */
+    private static void writeAttribute(final ByteArrayOutputStream output, final String name, final String value) {
+        final byte[] line = (name + ": " + value).getBytes(StandardCharsets.UTF_8);
+
+        int start = 0;
+        int limit = MAX_LINE_LENGTH;
+        while (line.length - start > limit) {
+            int end = start + limit;
+            //Continuation bytes of multi byte characters start with 10xxxxxx.
+            while ((line[end] & 0xC0) == 0x80) {
+                end--;
+            }
+
+            output.write(line, start, end - start);
+            output.write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+            output.write(' ');
+            start = end;
+            limit = MAX_LINE_LENGTH - 1;
+        }
+
+        output.write(line, start, line.length - start);
+        output.write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+    }
+}
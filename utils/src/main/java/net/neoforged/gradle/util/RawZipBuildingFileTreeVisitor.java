@@ -0,0 +1,78 @@
+package net.neoforged.gradle.util;
+
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+
+/**
+ * A {@link FileVisitor} that builds a zip file
+ * Simply writing all visited files to the given {@link RawZipWriter} as individual entries
+ */
+public class RawZipBuildingFileTreeVisitor implements FileVisitor {
+
+    protected final RawZipWriter writer;
+
+    public RawZipBuildingFileTreeVisitor(RawZipWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Visits all files and directories of the given tree sorted by their path, instead of in the order of the file system,
+     * so that the written zip does not depend on the machine it is built on.
+     *
+     * @param tree The tree to visit
+     */
+    public void visitSorted(final FileTree tree) {
+        final Map<String, FileVisitDetails> sorted = new TreeMap<>();
+        tree.visit(new FileVisitor() {
+            @Override
+            public void visitDir(FileVisitDetails dirDetails) {
+                sorted.put(dirDetails.getRelativePath().getPathString() + "/", dirDetails);
+            }
+
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                //Materialize the file, so that it can still be read once the visit is over, even if the tree is an archive.
+                fileDetails.getFile();
+                sorted.put(fileDetails.getRelativePath().getPathString(), fileDetails);
+            }
+        });
+
+        for (FileVisitDetails details : sorted.values()) {
+            if (details.isDirectory()) {
+                visitDir(details);
+            } else {
+                visitFile(details);
+            }
+        }
+    }
+
+    @Override
+    public void visitDir(FileVisitDetails fileVisitDetails) {
+        final String name = fileVisitDetails.getRelativePath().getPathString() + "/";
+        if (writer.contains(name)) {
+            return;
+        }
+
+        try {
+            writer.write(new ZipEntry(name), new byte[0]);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create zip directory: " + fileVisitDetails.getRelativePath().getPathString(), e);
+        }
+    }
+
+    @Override
+    public void visitFile(FileVisitDetails fileVisitDetails) {
+        try (InputStream stream = fileVisitDetails.open()) {
+            writer.write(new ZipEntry(fileVisitDetails.getRelativePath().getPathString()), stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create zip file: " + fileVisitDetails.getRelativePath().getPathString(), e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.neoforged.gradle.util;
+
+/**
+ * An entry of the central directory of a zip file, as read by a {@link RawZipReader}.
+ * <p>
+ * Holds everything needed to copy the entry into another zip file without decompressing it.
+ */
+public final class RawZipEntry {
+
+    private final String name;
+    private final byte[] rawName;
+    private final int versionMadeBy;
+    private final int versionNeeded;
+    private final int flags;
+    private final int method;
+    private final int dosTime;
+    private final int crc;
+    private final long compressedSize;
+    private final long size;
+    private final int externalAttributes;
+    private final long localHeaderOffset;
+
+    RawZipEntry(String name, byte[] rawName, int versionMadeBy, int versionNeeded, int flags, int method, int dosTime, int crc, long compressedSize, long size, int externalAttributes, long localHeaderOffset) {
+        this.name = name;
+        this.rawName = rawName;
+        this.versionMadeBy = versionMadeBy;
+        this.versionNeeded = versionNeeded;
+        this.flags = flags;
+        this.method = method;
+        this.dosTime = dosTime;
+        this.crc = crc;
+        this.compressedSize = compressedSize;
+        this.size = size;
+        this.externalAttributes = externalAttributes;
+        this.localHeaderOffset = localHeaderOffset;
+    }
+
+    /**
+     * @return The name of the entry
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Whether the entry is a directory
+     */
+    public boolean isDirectory() {
+        return name.endsWith("/");
+    }
+
+    /**
+     * @return The compression method of the entry, either {@link java.util.zip.ZipEntry#STORED} or {@link java.util.zip.ZipEntry#DEFLATED}
+     */
+    public int getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The CRC-32 checksum of the uncompressed content
+     */
+    public long getCrc() {
+        return crc & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return The size of the compressed content
+     */
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    /**
+     * @return The size of the uncompressed content
+     */
+    public long getSize() {
+        return size;
+    }
+
+    byte[] getRawName() {
+        return rawName;
+    }
+
+    int getVersionMadeBy() {
+        return versionMadeBy;
+    }
+
+    int getVersionNeeded() {
+        return versionNeeded;
+    }
+
+    int getFlags() {
+        return flags;
+    }
+
+    int getDosTime() {
+        return dosTime;
+    }
+
+    int getRawCrc() {
+        return crc;
+    }
+
+    int getExternalAttributes() {
+        return externalAttributes;
+    }
+
+    long getLocalHeaderOffset() {
+        return localHeaderOffset;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,374 @@
+package net.neoforged.gradle.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Reads a zip file through its central directory, giving access to the still compressed data of every entry.
+ * <p>
+ * Entries which need to be modified can be read decompressed via {@link #getInputStream(RawZipEntry)}, all
+ * others can be copied into a {@link RawZipWriter} without ever being inflated and deflated again.
+ * <p>
+ * ZIP64 archives are supported, as long as their central directory fits into a single array.
+ * Reading from multiple threads at the same time is supported.
+ */
+public final class RawZipReader implements Closeable {
+
+    static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    static final int LOCAL_HEADER_SIZE = 30;
+    static final int CENTRAL_HEADER_SIZE = 46;
+    static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final List<RawZipEntry> entries;
+    private final Map<String, RawZipEntry> entriesByName;
+
+    private RawZipReader(final File file, final FileChannel channel, final List<RawZipEntry> entries) {
+        this.file = file;
+        this.channel = channel;
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByName = new HashMap<>(entries.size() * 2);
+        for (RawZipEntry entry : entries) {
+            this.entriesByName.putIfAbsent(entry.getName(), entry);
+        }
+    }
+
+    /**
+     * Opens the given zip file and reads its central directory.
+     *
+     * @param file The zip file to open
+     * @return The reader
+     * @throws IOException If the file could not be read, or is not a supported zip file
+     */
+    public static RawZipReader open(final File file) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            return new RawZipReader(file, channel, readCentralDirectory(file, channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return All entries of the zip file, in the order of its central directory
+     */
+    public List<RawZipEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the entry with the given name.
+     *
+     * @param name The name of the entry
+     * @return The entry, or {@code null} if the zip file does not contain it
+     */
+    @Nullable
+    public RawZipEntry getEntry(final String name) {
+        return entriesByName.get(name);
+    }
+
+    /**
+     * Opens a stream of the decompressed content of the given entry.
+     *
+     * @param entry The entry to read
+     * @return The stream of the content
+     * @throws IOException If the entry could not be read
+     */
+    public InputStream getInputStream(final RawZipEntry entry) throws IOException {
+        final InputStream raw = new RangeInputStream(channel, getDataOffset(entry), entry.getCompressedSize());
+        switch (entry.getMethod()) {
+            case ZipEntry.STORED:
+                return raw;
+            case ZipEntry.DEFLATED:
+                return new EntryInflaterInputStream(raw);
+            default:
+                throw new ZipException(String.format("Unsupported compression method %d of: %s in: %s", entry.getMethod(), entry.getName(), file));
+        }
+    }
+
+    /**
+     * Reads the decompressed content of the given entry.
+     *
+     * @param entry The entry to read
+     * @return The content
+     * @throws IOException If the entry could not be read
+     */
+    public byte[] readAllBytes(final RawZipEntry entry) throws IOException {
+        try (InputStream stream = getInputStream(entry)) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream((int) Math.max(0, Math.min(entry.getSize(), Integer.MAX_VALUE - 8)));
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Transfers the compressed data of the given entry into the given channel.
+     * When the target is a file channel this happens without copying the data through the heap.
+     */
+    void transferCompressedData(final RawZipEntry entry, final WritableByteChannel target) throws IOException {
+        long position = getDataOffset(entry);
+        long remaining = entry.getCompressedSize();
+        while (remaining > 0) {
+            final long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                throw new EOFException(String.format("Unexpected end of: %s while copying: %s", file, entry.getName()));
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    private long getDataOffset(final RawZipEntry entry) throws IOException {
+        //The local header can have different extra data than the central one, so its lengths need to be read.
+        final ByteBuffer header = readFully(channel, entry.getLocalHeaderOffset(), LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException(String.format("Invalid local header of: %s in: %s", entry.getName(), file));
+        }
+
+        return entry.getLocalHeaderOffset() + LOCAL_HEADER_SIZE + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static List<RawZipEntry> readCentralDirectory(final File file, final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        final int tailSize = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        final ByteBuffer tail = readFully(channel, size - tailSize, tailSize);
+
+        int end = -1;
+        for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("Not a zip file: " + file);
+        }
+
+        long entryCount = tail.getShort(end + 10) & 0xFFFF;
+        long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+
+        //A ZIP64 archive has its real values in a record before the end of the central directory, which a locator points at.
+        //Without a locator the values are taken as is, a plain zip file can have exactly 0xFFFF entries.
+        final long endOffset = size - tailSize + end;
+        if (endOffset >= ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE) {
+            final ByteBuffer locator = readFully(channel, endOffset - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE);
+            if (locator.getInt(0) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+                final ByteBuffer record = readFully(channel, locator.getLong(8), ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+                if (record.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    throw new ZipException("Invalid ZIP64 end of central directory in: " + file);
+                }
+
+                entryCount = record.getLong(32);
+                directorySize = record.getLong(40);
+                directoryOffset = record.getLong(48);
+            }
+        }
+
+        if (directorySize > Integer.MAX_VALUE || entryCount > Integer.MAX_VALUE) {
+            throw new ZipException("The central directory is too large to be read: " + file);
+        }
+
+        final ByteBuffer directory = readFully(channel, directoryOffset, (int) directorySize);
+        final List<RawZipEntry> entries = new ArrayList<>((int) entryCount);
+        int position = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory in: " + file);
+            }
+
+            final int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            final int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            final int commentLength = directory.getShort(position + 32) & 0xFFFF;
+
+            final byte[] rawName = new byte[nameLength];
+            directory.position(position + CENTRAL_HEADER_SIZE);
+            directory.get(rawName);
+
+            long compressedSize = directory.getInt(position + 20) & 0xFFFFFFFFL;
+            long uncompressedSize = directory.getInt(position + 24) & 0xFFFFFFFFL;
+            long localHeaderOffset = directory.getInt(position + 42) & 0xFFFFFFFFL;
+            if (compressedSize == 0xFFFFFFFFL || uncompressedSize == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL) {
+                //Only the values which do not fit are stored in the ZIP64 extra field, in this order.
+                int field = findExtraField(directory, position + CENTRAL_HEADER_SIZE + nameLength, extraLength, ZIP64_EXTRA_FIELD_ID);
+                if (field < 0) {
+                    throw new ZipException(String.format("Missing ZIP64 extra field of: %s in: %s", new String(rawName, StandardCharsets.UTF_8), file));
+                }
+                if (uncompressedSize == 0xFFFFFFFFL) {
+                    uncompressedSize = directory.getLong(field);
+                    field += 8;
+                }
+                if (compressedSize == 0xFFFFFFFFL) {
+                    compressedSize = directory.getLong(field);
+                    field += 8;
+                }
+                if (localHeaderOffset == 0xFFFFFFFFL) {
+                    localHeaderOffset = directory.getLong(field);
+                }
+            }
+
+            entries.add(new RawZipEntry(
+                    new String(rawName, StandardCharsets.UTF_8),
+                    rawName,
+                    directory.getShort(position + 4) & 0xFFFF,
+                    directory.getShort(position + 6) & 0xFFFF,
+                    directory.getShort(position + 8) & 0xFFFF,
+                    directory.getShort(position + 10) & 0xFFFF,
+                    directory.getInt(position + 12),
+                    directory.getInt(position + 16),
+                    compressedSize,
+                    uncompressedSize,
+                    directory.getInt(position + 38),
+                    localHeaderOffset
+            ));
+
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        return entries;
+    }
+
+    /**
+     * Finds the data of the extra field with the given id, within the extra data at the given position of the buffer.
+     *
+     * @return The position of the data of the field, or -1 if there is no such field
+     */
+    private static int findExtraField(final ByteBuffer buffer, final int start, final int length, final int id) {
+        int position = start;
+        while (position + 4 <= start + length) {
+            final int fieldId = buffer.getShort(position) & 0xFFFF;
+            final int fieldLength = buffer.getShort(position + 2) & 0xFFFF;
+            if (fieldId == id) {
+                return position + 4;
+            }
+            position += 4 + fieldLength;
+        }
+        return -1;
+    }
+
+    private static ByteBuffer readFully(final FileChannel channel, final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of zip file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Streams a range of the file, using positional reads so that concurrent streams do not interfere.
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private long remaining;
+
+        private RangeInputStream(final FileChannel channel, final long position, final long length) {
+            this.channel = channel;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            final int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining)), position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of zip file");
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Inflates raw deflate data, which might need a trailing dummy byte to finish, like the streams of {@link java.util.zip.ZipFile}.
+     */
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+        private boolean eof;
+
+        private EntryInflaterInputStream(final InputStream input) {
+            super(input, new Inflater(true), BUFFER_SIZE);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of deflated zip entry");
+            }
+
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            inf.end();
+        }
+    }
+}
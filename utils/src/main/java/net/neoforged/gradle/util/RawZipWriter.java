@@ -0,0 +1,651 @@
+package net.neoforged.gradle.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a zip file, copying unchanged entries of other zip files as raw compressed bytes.
+ * <p>
+ * Entries copied via {@link #copy(RawZipReader, RawZipEntry)} are transferred from the source file into the
+ * output file as is, their checksum and sizes are taken from the central directory of the source, so they are
+ * never inflated nor deflated. Only entries which are written with new content are compressed.
+ * The central directory of the output is rebuilt when the writer is closed.
+ * <p>
+ * The produced files are plain zip files without extra fields and data descriptors. New entries without a time
+ * get the same fixed time as {@link FileUtils#getStableEntry(String)}, and no file attributes, so that writing the
+ * same entries always produces the same bytes. ZIP64 is not supported,
+ * so the output is limited to 65535 entries and 4GB. Instances are not thread safe.
+ * <p>
+ * When created with a parallelism above one, new entries are compressed concurrently in a pool which all writers share,
+ * while the entries are still written in the order in which they were added. The size of that pool is bounded by
+ * {@link #setMaxCompressionThreads(int)}, so writers which run at the same time do not each start a thread per processor. Every entry is compressed on its own
+ * with the same settings, so the output is byte identical regardless of the parallelism. Copied entries are written
+ * in order as well, which means that the sources they are copied from need to stay open until the writer is closed.
+ * Entries can also be added with content which is produced lazily, see {@link #write(ZipEntry, Callable)},
+ * that content is then produced and compressed in the same pool.
+ */
+public final class RawZipWriter implements Closeable {
+
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int FLAG_DATA_DESCRIPTOR = 1 << 3;
+    private static final int FLAG_UTF8 = 1 << 11;
+    private static final int MAX_ENTRIES = 0xFFFF;
+    private static final long MAX_OFFSET = 0xFFFFFFFFL;
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int PENDING_ENTRIES_PER_THREAD = 4;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+    private static final int STABLE_DOS_TIME = toDosTime(FileUtils.getStableEntry("").getTime());
+
+    /**
+     * The parallelism used by jar producing tasks, one compression thread per available processor.
+     */
+    public static final int DEFAULT_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The amount of entries which may be pending at once by default, when using the default parallelism.
+     */
+    public static final int DEFAULT_MAX_PENDING_ENTRIES = DEFAULT_PARALLELISM * PENDING_ENTRIES_PER_THREAD;
+
+    private static final ThreadPoolExecutor COMPRESSION_POOL = createCompressionPool();
+
+    private final File file;
+    private final FileChannel channel;
+    private final int level;
+    private final int parallelism;
+    private final int maxPendingEntries;
+    private final List<CentralRecord> records = new ArrayList<>();
+    private final Set<String> names = new HashSet<>();
+    private final Deque<PendingEntry> pending = new ArrayDeque<>();
+    private final Queue<Deflater> deflaters = new ArrayDeque<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private boolean deflatersReleased;
+    private long position;
+    private boolean closed;
+
+    /**
+     * Creates a writer which (over)writes the given file, compressing new entries on the calling thread.
+     *
+     * @param file The file to write
+     * @throws IOException If the file could not be opened
+     */
+    public RawZipWriter(final File file) throws IOException {
+        this(file, 1);
+    }
+
+    /**
+     * Creates a writer which (over)writes the given file, compressing new entries with up to the given amount of threads.
+     *
+     * @param file The file to write
+     * @param parallelism The amount of threads which compress new entries, one compresses them on the calling thread
+     * @throws IOException If the file could not be opened
+     */
+    public RawZipWriter(final File file, final int parallelism) throws IOException {
+        this(file, Deflater.DEFAULT_COMPRESSION, parallelism);
+    }
+
+    /**
+     * Creates a writer which (over)writes the given file, compressing new entries with the given level with up to the given amount of threads.
+     *
+     * @param file The file to write
+     * @param level The deflater level of new entries, {@link Deflater#NO_COMPRESSION} stores them without compressing them
+     * @param parallelism The amount of threads which compress new entries, one compresses them on the calling thread
+     * @throws IOException If the file could not be opened
+     */
+    public RawZipWriter(final File file, final int level, final int parallelism) throws IOException {
+        this(file, level, parallelism, parallelism * PENDING_ENTRIES_PER_THREAD);
+    }
+
+    /**
+     * Creates a writer which (over)writes the given file, compressing new entries with the given level with up to the given amount of threads.
+     * At most the given amount of entries is kept in memory while waiting for their content or for the entries before them,
+     * once more are pending, adding entries blocks until the oldest ones are written.
+     *
+     * @param file The file to write
+     * @param level The deflater level of new entries, {@link Deflater#NO_COMPRESSION} stores them without compressing them
+     * @param parallelism The amount of threads which compress new entries, one compresses them on the calling thread
+     * @param maxPendingEntries The maximum amount of entries which are added but not yet written
+     * @throws IOException If the file could not be opened
+     */
+    public RawZipWriter(final File file, final int level, final int parallelism, final int maxPendingEntries) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism needs to be at least one, but was: " + parallelism);
+        }
+        if (maxPendingEntries < 1) {
+            throw new IllegalArgumentException("The maximum amount of pending entries needs to be at least one, but was: " + maxPendingEntries);
+        }
+        if ((level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) && level != Deflater.NO_COMPRESSION && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        this.file = file;
+        this.level = level;
+        this.parallelism = parallelism;
+        this.maxPendingEntries = maxPendingEntries;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Copies the given entry of the given source, without decompressing it.
+     *
+     * @param source The zip file which contains the entry
+     * @param entry The entry to copy
+     * @throws IOException If the entry could not be copied
+     */
+    public void copy(final RawZipReader source, final RawZipEntry entry) throws IOException {
+        copy(source, entry, entry.getRawName(), entry.getDosTime());
+    }
+
+    /**
+     * Copies the given entry of the given source, without decompressing it, under the name and with the time of the given target entry.
+     *
+     * @param source The zip file which contains the entry
+     * @param entry The entry to copy
+     * @param target The entry which provides the name and time of the copy
+     * @throws IOException If the entry could not be copied
+     */
+    public void copy(final RawZipReader source, final RawZipEntry entry, final ZipEntry target) throws IOException {
+        copy(source, entry, target.getName().getBytes(StandardCharsets.UTF_8), toDosTime(target.getTime()));
+    }
+
+    /**
+     * Copies the given entry of the given source.
+     * Entries which are stored in the source are compressed with the level of this writer, all others are copied without decompressing them.
+     *
+     * @param source The zip file which contains the entry
+     * @param entry The entry to copy
+     * @throws IOException If the entry could not be copied
+     */
+    public void copyAndCompressStored(final RawZipReader source, final RawZipEntry entry) throws IOException {
+        if (entry.isDirectory() || entry.getMethod() != ZipEntry.STORED || level == Deflater.NO_COMPRESSION) {
+            copy(source, entry);
+            return;
+        }
+
+        final byte[] name = register(entry.getName());
+        final byte[] content = source.readAllBytes(entry);
+        write(name, entry.getDosTime(), content);
+    }
+
+    /**
+     * Writes a new entry with the given content, which is compressed unless the entry is a directory or the writer stores all entries.
+     *
+     * @param entry The entry which provides the name and time
+     * @param content The uncompressed content, which must not be modified afterwards as it might be compressed later on
+     * @throws IOException If the entry could not be written
+     */
+    public void write(final ZipEntry entry, final byte[] content) throws IOException {
+        final byte[] name = register(entry.getName());
+        final int dosTime = toDosTime(entry.getTime());
+
+        if (entry.isDirectory()) {
+            final CompressedContent stored = store(content);
+            enqueue(() -> writeCompressed(name, VERSION_STORED, ZipEntry.STORED, dosTime, stored), true);
+            return;
+        }
+
+        write(name, dosTime, content);
+    }
+
+    /**
+     * Writes a new entry with the given content, which is compressed unless the entry is a directory or the writer stores all entries.
+     *
+     * @param entry The entry which provides the name and time
+     * @param content The uncompressed content, which is read fully but not closed
+     * @throws IOException If the entry could not be written
+     */
+    public void write(final ZipEntry entry, final InputStream content) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        write(entry, output.toByteArray());
+    }
+
+    /**
+     * Writes a new entry whose content is produced by the given callable, which is compressed unless the entry is a directory or the writer stores all entries.
+     * With a parallelism above one the content is produced on the compression pool, so the callable needs to be safe to run
+     * on another thread, concurrently with the callables of other entries. The entry is still written in the order in which it was added.
+     *
+     * @param entry The entry which provides the name and time
+     * @param content The callable which produces the uncompressed content
+     * @throws IOException If the entry could not be written, or the content could not be produced
+     */
+    public void write(final ZipEntry entry, final Callable<byte[]> content) throws IOException {
+        if (parallelism == 1 || entry.isDirectory()) {
+            write(entry, produce(content));
+            return;
+        }
+
+        final byte[] name = register(entry.getName());
+        final int dosTime = toDosTime(entry.getTime());
+        enqueueEncoded(name, dosTime, COMPRESSION_POOL.submit(() -> encode(content.call())));
+    }
+
+    /**
+     * Checks whether an entry with the given name has already been written.
+     *
+     * @param name The name of the entry
+     * @return Whether the entry exists
+     */
+    public boolean contains(final String name) {
+        return names.contains(name);
+    }
+
+    private void write(final byte[] name, final int dosTime, final byte[] content) throws IOException {
+        if (level == Deflater.NO_COMPRESSION || parallelism == 1) {
+            final CompressedContent encoded = encode(content);
+            enqueue(() -> writeEncoded(name, dosTime, encoded), true);
+            return;
+        }
+
+        enqueueEncoded(name, dosTime, COMPRESSION_POOL.submit(() -> deflate(content)));
+    }
+
+    private void enqueueEncoded(final byte[] name, final int dosTime, final Future<CompressedContent> content) throws IOException {
+        enqueue(new PendingEntry() {
+            @Override
+            public void write() throws IOException {
+                writeEncoded(name, dosTime, await(content));
+            }
+
+            @Override
+            public void cancel() {
+                content.cancel(false);
+            }
+        }, false);
+    }
+
+    private static byte[] produce(final Callable<byte[]> content) throws IOException {
+        try {
+            return content.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to produce the content of a zip entry", e);
+        }
+    }
+
+    private void copy(final RawZipReader source, final RawZipEntry entry, final byte[] name, final int dosTime) throws IOException {
+        register(new String(name, StandardCharsets.UTF_8));
+        enqueue(() -> writeCopied(source, entry, name, dosTime), true);
+    }
+
+    private byte[] register(final String name) throws IOException {
+        if (closed) {
+            throw new IOException("The zip file has already been closed: " + file);
+        }
+        if (!names.add(name)) {
+            throw new ZipException("duplicate entry: " + name);
+        }
+
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the given entry once all entries before it have been written, waiting for the oldest pending entries when too many are queued.
+     */
+    private void enqueue(final PendingEntry entry, final boolean ready) throws IOException {
+        if (ready && pending.isEmpty()) {
+            entry.write();
+            return;
+        }
+
+        pending.addLast(entry);
+        drain(maxPendingEntries);
+    }
+
+    private void drain(final int maximumPending) throws IOException {
+        while (pending.size() > maximumPending) {
+            pending.removeFirst().write();
+        }
+    }
+
+    private void writeEncoded(final byte[] name, final int dosTime, final CompressedContent content) throws IOException {
+        if (level == Deflater.NO_COMPRESSION) {
+            writeCompressed(name, VERSION_STORED, ZipEntry.STORED, dosTime, content);
+        } else {
+            writeCompressed(name, VERSION_DEFLATED, ZipEntry.DEFLATED, dosTime, content);
+        }
+    }
+
+    private void writeCompressed(final byte[] name, final int version, final int method, final int dosTime, final CompressedContent content) throws IOException {
+        final CentralRecord record = new CentralRecord(name, version, version, FLAG_UTF8, method, dosTime, content.crc, content.data.length, content.size, 0, position);
+        startEntry(record);
+        writeFully(ByteBuffer.wrap(content.data));
+    }
+
+    private void writeCopied(final RawZipReader source, final RawZipEntry entry, final byte[] name, final int dosTime) throws IOException {
+        //Sizes and checksum are known up front, so a data descriptor is never needed.
+        final int flags = entry.getFlags() & ~FLAG_DATA_DESCRIPTOR;
+        final CentralRecord record = new CentralRecord(name, entry.getVersionMadeBy(), entry.getVersionNeeded(), flags, entry.getMethod(), dosTime, entry.getRawCrc(), entry.getCompressedSize(), entry.getSize(), entry.getExternalAttributes(), position);
+        startEntry(record);
+
+        channel.position(position);
+        source.transferCompressedData(entry, channel);
+        position += entry.getCompressedSize();
+    }
+
+    private void startEntry(final CentralRecord record) throws IOException {
+        if (records.size() >= MAX_ENTRIES || position > MAX_OFFSET || record.compressedSize > MAX_OFFSET || record.size > MAX_OFFSET) {
+            throw new ZipException("ZIP64 archives are not supported, too many or too large entries in: " + file);
+        }
+
+        records.add(record);
+
+        final ByteBuffer header = ByteBuffer.allocate(RawZipReader.LOCAL_HEADER_SIZE + record.name.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(RawZipReader.LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) record.versionNeeded);
+        header.putShort((short) record.flags);
+        header.putShort((short) record.method);
+        header.putInt(record.dosTime);
+        header.putInt(record.crc);
+        header.putInt((int) record.compressedSize);
+        header.putInt((int) record.size);
+        header.putShort((short) record.name.length);
+        header.putShort((short) 0);
+        header.put(record.name);
+        header.flip();
+        writeFully(header);
+    }
+
+    private static CompressedContent store(final byte[] content) {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        return new CompressedContent(content, (int) crc.getValue(), content.length);
+    }
+
+    /**
+     * Stores or deflates the given content, depending on the level of this writer, this can run on any thread.
+     */
+    private CompressedContent encode(final byte[] content) {
+        return level == Deflater.NO_COMPRESSION ? store(content) : deflate(content);
+    }
+
+    /**
+     * Deflates the given content with a pooled deflater, this can run on any thread.
+     */
+    private CompressedContent deflate(final byte[] content) {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+
+        Deflater deflater;
+        synchronized (deflaters) {
+            deflater = deflaters.poll();
+        }
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+
+        try {
+            final byte[] chunk = new byte[BUFFER_SIZE];
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            deflater.reset();
+            deflater.setInput(content);
+            deflater.finish();
+            while (!deflater.finished()) {
+                final int deflated = deflater.deflate(chunk);
+                compressed.write(chunk, 0, deflated);
+            }
+
+            return new CompressedContent(compressed.toByteArray(), (int) crc.getValue(), content.length);
+        } finally {
+            release(deflater);
+        }
+    }
+
+    /**
+     * Returns the given deflater to this writer, or ends it if the writer has been closed while it was in use.
+     */
+    private void release(final Deflater deflater) {
+        synchronized (deflaters) {
+            if (deflatersReleased) {
+                deflater.end();
+            } else {
+                deflaters.offer(deflater);
+            }
+        }
+    }
+
+    private void releaseDeflaters() {
+        synchronized (deflaters) {
+            deflatersReleased = true;
+
+            Deflater deflater;
+            while ((deflater = deflaters.poll()) != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum amount of threads which compress the entries of all writers together, at least one thread is always allowed.
+     * Idle threads are stopped after a while, so the pool does not keep threads alive between builds.
+     *
+     * @param threads The maximum amount of compression threads
+     */
+    public static void setMaxCompressionThreads(final int threads) {
+        final int size = Math.max(1, threads);
+        synchronized (COMPRESSION_POOL) {
+            //The core size may never exceed the maximum size, so the order depends on whether the pool grows or shrinks.
+            if (size > COMPRESSION_POOL.getMaximumPoolSize()) {
+                COMPRESSION_POOL.setMaximumPoolSize(size);
+                COMPRESSION_POOL.setCorePoolSize(size);
+            } else {
+                COMPRESSION_POOL.setCorePoolSize(size);
+                COMPRESSION_POOL.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum amount of threads which compress the entries of all writers together.
+     *
+     * @return The maximum amount of compression threads
+     */
+    public static int getMaxCompressionThreads() {
+        return COMPRESSION_POOL.getMaximumPoolSize();
+    }
+
+    private static ThreadPoolExecutor createCompressionPool() {
+        final AtomicInteger threads = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_PARALLELISM, DEFAULT_PARALLELISM, IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "zip-compressor-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static CompressedContent await(final Future<CompressedContent> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing a zip entry", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException("Failed to produce or compress a zip entry", e.getCause());
+        }
+    }
+
+    private void writeFully(final ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            drain(0);
+
+            final long directoryOffset = position;
+            for (CentralRecord record : records) {
+                final ByteBuffer header = ByteBuffer.allocate(RawZipReader.CENTRAL_HEADER_SIZE + record.name.length).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(RawZipReader.CENTRAL_HEADER_SIGNATURE);
+                header.putShort((short) record.versionMadeBy);
+                header.putShort((short) record.versionNeeded);
+                header.putShort((short) record.flags);
+                header.putShort((short) record.method);
+                header.putInt(record.dosTime);
+                header.putInt(record.crc);
+                header.putInt((int) record.compressedSize);
+                header.putInt((int) record.size);
+                header.putShort((short) record.name.length);
+                header.putShort((short) 0); //Extra length
+                header.putShort((short) 0); //Comment length
+                header.putShort((short) 0); //Disk number
+                header.putShort((short) 0); //Internal attributes
+                header.putInt(record.externalAttributes);
+                header.putInt((int) record.localHeaderOffset);
+                header.put(record.name);
+                header.flip();
+                writeFully(header);
+            }
+
+            final long directorySize = position - directoryOffset;
+            if (position > MAX_OFFSET) {
+                throw new ZipException("ZIP64 archives are not supported, the output is too large: " + file);
+            }
+
+            final ByteBuffer end = ByteBuffer.allocate(RawZipReader.END_OF_CENTRAL_DIRECTORY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            end.putInt(RawZipReader.END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            end.putShort((short) 0); //Disk number
+            end.putShort((short) 0); //Disk with the central directory
+            end.putShort((short) records.size());
+            end.putShort((short) records.size());
+            end.putInt((int) directorySize);
+            end.putInt((int) directoryOffset);
+            end.putShort((short) 0); //Comment length
+            end.flip();
+            writeFully(end);
+
+            channel.truncate(position);
+        } finally {
+            //The pool is shared, so only the entries of this writer are cancelled, running compressions end their deflater themselves.
+            pending.forEach(PendingEntry::cancel);
+            pending.clear();
+            releaseDeflaters();
+            channel.close();
+        }
+    }
+
+    /**
+     * Converts a java time to the MS-DOS date and time format used by zip files, in the default time zone, like {@link ZipEntry#setTime(long)}.
+     * An unset time is converted to the fixed time of stable entries.
+     */
+    private static int toDosTime(final long time) {
+        if (time == -1) {
+            return STABLE_DOS_TIME;
+        }
+
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+
+        final int year = calendar.get(Calendar.YEAR);
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+
+        return (year - 1980) << 25
+                | (calendar.get(Calendar.MONTH) + 1) << 21
+                | calendar.get(Calendar.DAY_OF_MONTH) << 16
+                | calendar.get(Calendar.HOUR_OF_DAY) << 11
+                | calendar.get(Calendar.MINUTE) << 5
+                | calendar.get(Calendar.SECOND) >> 1;
+    }
+
+    /**
+     * An entry which has been added, but whose data is not yet written, as entries before it are still pending.
+     */
+    @FunctionalInterface
+    private interface PendingEntry {
+        void write() throws IOException;
+
+        default void cancel() {
+        }
+    }
+
+    private static final class CompressedContent {
+        private final byte[] data;
+        private final int crc;
+        private final long size;
+
+        private CompressedContent(byte[] data, int crc, long size) {
+            this.data = data;
+            this.crc = crc;
+            this.size = size;
+        }
+    }
+
+    private static final class CentralRecord {
+        private final byte[] name;
+        private final int versionMadeBy;
+        private final int versionNeeded;
+        private final int flags;
+        private final int method;
+        private final int dosTime;
+        private final int crc;
+        private final long compressedSize;
+        private final long size;
+        private final int externalAttributes;
+        private final long localHeaderOffset;
+
+        private CentralRecord(byte[] name, int versionMadeBy, int versionNeeded, int flags, int method, int dosTime, int crc, long compressedSize, long size, int externalAttributes, long localHeaderOffset) {
+            this.name = name;
+            this.versionMadeBy = versionMadeBy;
+            this.versionNeeded = versionNeeded;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.externalAttributes = externalAttributes;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+}
@@ -11,9 +11,11 @@ import java.util.List;
 public final class RenameConstants {
 
     /**
-     * The default JVM arguments to use when running the rename task
+     * The default JVM arguments to use when running the rename task.
+     *
+     * @see net.neoforged.gradle.common.util.ToolResourceUtils
      */
-    public static final List<String> DEFAULT_JVM_ARGS = ImmutableList.of("-Xmx4g");
+    public static final List<String> DEFAULT_JVM_ARGS = ImmutableList.of();
 
     /**
      * The default program arguments to use when running the rename task
@@ -0,0 +1,234 @@
+package net.neoforged.gradle.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for downloading files in a resumable and atomic way.
+ * <p>
+ * Downloads are written to a {@code .part} file next to the target. If the transfer is interrupted, the next attempt
+ * (in the same or in a later build) continues where the previous one left off using an HTTP {@code Range} request,
+ * provided the server supports it. The target file itself is only replaced once the download is complete and,
+ * if a hash is known, verified, so an interrupted build can never leave a truncated target behind.
+ */
+public final class ResumableDownloader {
+    private static final Logger LOGGER = Logging.getLogger(ResumableDownloader.class);
+
+    /**
+     * The default connect timeout in milliseconds.
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10_000;
+
+    /**
+     * The default read timeout in milliseconds.
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 30_000;
+
+    /**
+     * The default amount of attempts made to download a file.
+     */
+    public static final int DEFAULT_ATTEMPTS = 4;
+
+    /**
+     * The suffix of the file a download is written to, before it is moved into place.
+     */
+    public static final String PART_SUFFIX = ".part";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ResumableDownloader() {
+        throw new IllegalStateException("Can not instantiate an instance of: ResumableDownloader. This is a utility class");
+    }
+
+    /**
+     * Downloads the given url to the given target, with the default timeouts and attempts.
+     *
+     * @param url The url to download
+     * @param target The target file
+     * @param sha1 The expected SHA-1 hash of the file, if known
+     * @param progress The progress logger to report to, if any
+     * @throws IOException If the file could not be downloaded
+     */
+    public static void download(final URL url, final File target, @Nullable final String sha1, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) throws IOException {
+        download(url, target, sha1, DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_ATTEMPTS, progress);
+    }
+
+    /**
+     * Downloads the given url to the given target.
+     * <p>
+     * Partial downloads are only resumed when the expected hash is known, since otherwise there is no way to detect
+     * that the remote file changed in between the two attempts.
+     *
+     * @param url The url to download
+     * @param target The target file
+     * @param sha1 The expected SHA-1 hash of the file, if known
+     * @param connectTimeout The connect timeout in milliseconds
+     * @param readTimeout The read timeout in milliseconds
+     * @param attempts The maximum amount of attempts, each attempt after the first one resumes the previous one if possible
+     * @param progress The progress logger to report to, if any
+     * @throws IOException If the file could not be downloaded
+     */
+    public static void download(final URL url, final File target, @Nullable final String sha1, final int connectTimeout, final int readTimeout, final int attempts, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) throws IOException {
+        final Path targetPath = target.toPath().toAbsolutePath();
+        final Path part = getPartFile(targetPath);
+        Files.createDirectories(targetPath.getParent());
+
+        if (sha1 == null) {
+            Files.deleteIfExists(part);
+        }
+
+        if (progress != null) {
+            progress.started();
+        }
+
+        try {
+            downloadWithAttempts(url, targetPath, part, sha1, connectTimeout, readTimeout, attempts, progress);
+        } finally {
+            if (progress != null) {
+                progress.completed();
+            }
+        }
+    }
+
+    /**
+     * Gets the file a download of the given target is written to before it is complete.
+     *
+     * @param target The target of the download
+     * @return The partial file
+     */
+    public static Path getPartFile(final Path target) {
+        return target.resolveSibling(target.getFileName().toString() + PART_SUFFIX);
+    }
+
+    private static void downloadWithAttempts(final URL url, final Path target, final Path part, @Nullable final String sha1, final int connectTimeout, final int readTimeout, final int attempts, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) throws IOException {
+        IOException failure = null;
+        for (int attempt = 0; attempt < Math.max(1, attempts); attempt++) {
+            try {
+                transfer(url, part, connectTimeout, readTimeout, progress);
+            } catch (IOException e) {
+                LOGGER.debug("Attempt {} to download {} failed", attempt + 1, url, e);
+                if (failure == null) {
+                    failure = new IOException(String.format("Failed to download %s to %s", url, target), e);
+                } else {
+                    failure.addSuppressed(e);
+                }
+
+                if (sha1 == null) {
+                    Files.deleteIfExists(part);
+                }
+                continue;
+            }
+
+            if (sha1 != null) {
+                final String hash = HashFunction.SHA1.hash(part);
+                if (!hash.equalsIgnoreCase(sha1)) {
+                    //The partial file might have been stale, start over from scratch.
+                    Files.deleteIfExists(part);
+                    final IOException mismatch = new IOException(String.format("Downloaded file %s does not match the expected hash. Expected: %s Actual: %s", url, sha1, hash));
+                    if (failure == null) {
+                        failure = mismatch;
+                    } else {
+                        failure.addSuppressed(mismatch);
+                    }
+                    continue;
+                }
+            }
+
+            FileUtils.atomicMove(part, target);
+            return;
+        }
+
+        throw failure;
+    }
+
+    private static void transfer(final URL url, final Path part, final int connectTimeout, final int readTimeout, @Nullable final GradleInternalUtils.ProgressLoggerWrapper progress) throws IOException {
+        final long existing = Files.exists(part) ? Files.size(part) : 0;
+
+        final URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        if (existing > 0) {
+            connection.setRequestProperty("Range", "bytes=" + existing + "-");
+        }
+
+        boolean append = false;
+        if (connection instanceof HttpURLConnection) {
+            final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+            final int status = httpConnection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_PARTIAL) {
+                append = isContinuationOf(httpConnection.getHeaderField("Content-Range"), existing);
+                if (!append) {
+                    httpConnection.disconnect();
+                    Files.deleteIfExists(part);
+                    throw new IOException(String.format("Server returned an unexpected range for %s: %s", url, httpConnection.getHeaderField("Content-Range")));
+                }
+            } else if (status == 416) {
+                //The range is not satisfiable, the partial file is most likely already complete or larger than the remote file.
+                httpConnection.disconnect();
+                if (existing > 0) {
+                    return;
+                }
+                throw new IOException(String.format("Server responded with status %d for: %s", status, url));
+            } else if (status != HttpURLConnection.HTTP_OK) {
+                httpConnection.disconnect();
+                throw new IOException(String.format("Server responded with status %d for: %s", status, url));
+            }
+        }
+
+        final long remaining = connection.getContentLengthLong();
+        final long offset = append ? existing : 0;
+        if (progress != null) {
+            if (remaining >= 0) {
+                progress.setSize(remaining + offset);
+            }
+            progress.incrementDownloadProgress(offset);
+        }
+
+        final StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (InputStream input = connection.getInputStream();
+             OutputStream output = Files.newOutputStream(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+                if (progress != null) {
+                    progress.incrementDownloadProgress(read);
+                }
+            }
+        }
+
+        if (remaining >= 0 && Files.size(part) != remaining + offset) {
+            throw new IOException(String.format("Download of %s ended prematurely: received %d of %d bytes", url, Files.size(part), remaining + offset));
+        }
+    }
+
+    private static boolean isContinuationOf(@Nullable final String contentRange, final long existing) {
+        //Format: bytes <start>-<end>/<total>
+        if (contentRange == null || !contentRange.startsWith("bytes ")) {
+            return false;
+        }
+
+        final int dash = contentRange.indexOf('-');
+        if (dash == -1) {
+            return false;
+        }
+
+        try {
+            return Long.parseLong(contentRange.substring("bytes ".length(), dash).trim()) == existing;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package net.neoforged.gradle.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Utility class for downloading small, mutable remote files, like the launcher and version manifests.
+ * <p>
+ * Next to every downloaded file a small metadata file is stored, which records the {@code ETag} and
+ * {@code Last-Modified} headers of the response as well as the time the file was last checked.
+ * Within the configured time to live the cached file is used as is, without any network access.
+ * Once it expired, the file is revalidated with a conditional request, which in the common case
+ * is answered with a bodiless {@code 304 Not Modified}.
+ */
+public final class RevalidatingDownloader {
+    private static final Logger LOGGER = Logging.getLogger(RevalidatingDownloader.class);
+
+    /**
+     * The suffix of the metadata file stored next to each downloaded file.
+     */
+    public static final String METADATA_SUFFIX = ".meta";
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CHECKED = "checked";
+    private static final String SOURCE = "url";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private RevalidatingDownloader() {
+        throw new IllegalStateException("Can not instantiate an instance of: RevalidatingDownloader. This is a utility class");
+    }
+
+    /**
+     * The outcome of a single call to {@link #download(URL, File, Duration, boolean)}.
+     */
+    public enum Result {
+        /**
+         * The cached file was still within its time to live, no request was made.
+         */
+        FRESH,
+        /**
+         * The cached file was revalidated and the server reported that it did not change.
+         */
+        NOT_MODIFIED,
+        /**
+         * The file was (re)downloaded.
+         */
+        DOWNLOADED,
+        /**
+         * The server could not be reached, or gradle runs offline, and the existing cached file was used.
+         */
+        STALE
+    }
+
+    /**
+     * Makes sure the given target contains an up-to-date copy of the given url.
+     *
+     * @param url The url to download
+     * @param target The target file
+     * @param timeToLive The time after a successful check during which the target is used without any network access
+     * @param offline Whether no network access is allowed at all
+     * @return The way the target was resolved
+     * @throws IOException If the target does not exist and could not be downloaded
+     */
+    public static Result download(final URL url, final File target, final Duration timeToLive, final boolean offline) throws IOException {
+        final Path targetPath = target.toPath().toAbsolutePath();
+        final Path metadataPath = getMetadataFile(targetPath);
+        final boolean exists = Files.isRegularFile(targetPath);
+        final Properties metadata = exists ? readMetadata(metadataPath, url) : new Properties();
+
+        if (exists && isFresh(metadata, timeToLive)) {
+            return Result.FRESH;
+        }
+
+        if (offline) {
+            if (exists) {
+                return Result.STALE;
+            }
+
+            throw new IOException(String.format("Could not find the file: %s and gradle is running in offline mode.", target));
+        }
+
+        try {
+            return revalidate(url, targetPath, metadataPath, metadata);
+        } catch (IOException e) {
+            if (!exists) {
+                throw e;
+            }
+
+            LOGGER.warn("Could not revalidate {}, using the cached copy in {}: {}", url, target, e.getMessage());
+            LOGGER.debug("Revalidation failure", e);
+            return Result.STALE;
+        }
+    }
+
+    /**
+     * Gets the metadata file stored next to the given target.
+     *
+     * @param target The target of the download
+     * @return The metadata file
+     */
+    public static Path getMetadataFile(final Path target) {
+        return target.resolveSibling(target.getFileName().toString() + METADATA_SUFFIX);
+    }
+
+    private static boolean isFresh(final Properties metadata, final Duration timeToLive) {
+        final String checked = metadata.getProperty(CHECKED);
+        if (checked == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            return false;
+        }
+
+        try {
+            final long age = System.currentTimeMillis() - Long.parseLong(checked);
+            return age >= 0 && age < timeToLive.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Result revalidate(final URL url, final Path target, final Path metadataPath, final Properties metadata) throws IOException {
+        final URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(ResumableDownloader.DEFAULT_CONNECT_TIMEOUT);
+        connection.setReadTimeout(ResumableDownloader.DEFAULT_READ_TIMEOUT);
+
+        final String etag = metadata.getProperty(ETAG);
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        final String lastModified = metadata.getProperty(LAST_MODIFIED);
+        if (lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+
+        if (connection instanceof HttpURLConnection) {
+            final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+            final int status = httpConnection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                httpConnection.disconnect();
+                metadata.setProperty(CHECKED, Long.toString(System.currentTimeMillis()));
+                writeMetadata(metadataPath, metadata);
+                return Result.NOT_MODIFIED;
+            }
+
+            if (status != HttpURLConnection.HTTP_OK) {
+                httpConnection.disconnect();
+                throw new IOException(String.format("Server responded with status %d for: %s", status, url));
+            }
+        }
+
+        Files.createDirectories(target.getParent());
+        final Path temporary = FileUtils.temporaryPath(target.getParent(), target.getFileName().toString());
+        try {
+            try (InputStream input = connection.getInputStream(); OutputStream output = Files.newOutputStream(temporary)) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            }
+
+            final long expected = connection.getContentLengthLong();
+            if (expected >= 0 && Files.size(temporary) != expected) {
+                throw new IOException(String.format("Download of %s ended prematurely: received %d of %d bytes", url, Files.size(temporary), expected));
+            }
+
+            FileUtils.atomicMove(temporary, target);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        final Properties updated = new Properties();
+        updated.setProperty(SOURCE, url.toString());
+        updated.setProperty(CHECKED, Long.toString(System.currentTimeMillis()));
+        if (connection.getHeaderField("ETag") != null) {
+            updated.setProperty(ETAG, connection.getHeaderField("ETag"));
+        }
+        if (connection.getHeaderField("Last-Modified") != null) {
+            updated.setProperty(LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+        }
+        writeMetadata(metadataPath, updated);
+
+        return Result.DOWNLOADED;
+    }
+
+    private static Properties readMetadata(final Path metadataPath, final URL url) {
+        final Properties metadata = new Properties();
+        if (!Files.isRegularFile(metadataPath)) {
+            return metadata;
+        }
+
+        try (Reader reader = Files.newBufferedReader(metadataPath, StandardCharsets.UTF_8)) {
+            metadata.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.debug("Ignoring unreadable download metadata: {}", metadataPath, e);
+            return new Properties();
+        }
+
+        //The cache file was filled from another url, its validators are meaningless for this one.
+        if (!url.toString().equals(metadata.getProperty(SOURCE))) {
+            return new Properties();
+        }
+
+        return metadata;
+    }
+
+    private static void writeMetadata(final Path metadataPath, final Properties metadata) throws IOException {
+        final Path temporary = FileUtils.temporaryPath(metadataPath.getParent(), metadataPath.getFileName().toString());
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                metadata.store(writer, null);
+            }
+            FileUtils.atomicMove(temporary, metadataPath);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
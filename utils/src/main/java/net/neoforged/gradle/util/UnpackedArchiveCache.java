@@ -0,0 +1,174 @@
+package net.neoforged.gradle.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Utility class for unpacking archives, like the NeoForm zip and the userdev jar, into a shared cache.
+ * <p>
+ * Every archive is unpacked into a directory named after the SHA-256 hash of its content, which is only
+ * considered complete once it contains a stamp file holding that hash. The archive is extracted into a
+ * temporary sibling directory first and then moved into place, so concurrent builds never observe a
+ * partially unpacked archive, and identical archives are unpacked once per cache.
+ */
+public final class UnpackedArchiveCache {
+    private static final Logger LOGGER = Logging.getLogger(UnpackedArchiveCache.class);
+
+    /**
+     * The name of the stamp file which marks a completely unpacked archive.
+     */
+    public static final String STAMP_FILE_NAME = ".unpacked";
+
+    /**
+     * The name of the index file, in the cache directory, which remembers the hashes of the unpacked archives.
+     */
+    public static final String HASH_INDEX_FILE_NAME = "hashes.index";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private UnpackedArchiveCache() {
+        throw new IllegalStateException("Can not instantiate an instance of: UnpackedArchiveCache. This is a utility class");
+    }
+
+    /**
+     * Unpacks the given archive into the given cache directory, unless an identical archive has already been unpacked there.
+     *
+     * @param archive The archive to unpack
+     * @param cacheDirectory The directory which holds all unpacked archives
+     * @return The directory which contains the contents of the archive
+     */
+    public static File unpack(final File archive, final File cacheDirectory) {
+        try {
+            final String hash = FileHashIndex.get(new File(cacheDirectory, HASH_INDEX_FILE_NAME)).hash(archive, HashFunction.SHA256);
+            final Path target = cacheDirectory.toPath().resolve(hash);
+            if (isUnpacked(target, hash)) {
+                return target.toFile();
+            }
+
+            LOGGER.debug("Unpacking {} into {}", archive, target);
+            Files.createDirectories(cacheDirectory.toPath());
+            final Path temporary = Files.createTempDirectory(cacheDirectory.toPath(), "." + hash);
+            try {
+                extract(archive, temporary);
+                Files.write(temporary.resolve(STAMP_FILE_NAME), hash.getBytes(StandardCharsets.UTF_8));
+                moveIntoPlace(temporary, target, hash);
+            } finally {
+                FileUtils.delete(temporary);
+            }
+
+            return target.toFile();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to unpack: %s", archive.getAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Gets the directory of the given cache directory into which the given archive is unpacked, without unpacking it.
+     * The archive is only read, nothing is written into the cache directory.
+     *
+     * @param archive The archive to locate
+     * @param cacheDirectory The directory which holds all unpacked archives
+     * @return The directory which contains the contents of the archive, once it has been unpacked
+     */
+    public static File getDirectory(final File archive, final File cacheDirectory) {
+        try {
+            return new File(cacheDirectory, HashFunction.SHA256.hash(archive));
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to hash: %s", archive.getAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Reads a single entry of the given archive, without unpacking it.
+     *
+     * @param archive The archive to read from
+     * @param entryName The name of the entry
+     * @return The content of the entry
+     */
+    public static byte[] readEntry(final File archive, final String entryName) {
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            final ZipEntry entry = zipFile.getEntry(entryName);
+            if (entry == null) {
+                throw new IllegalStateException(String.format("The archive: %s does not contain: %s", archive.getAbsolutePath(), entryName));
+            }
+
+            try (InputStream stream = zipFile.getInputStream(entry)) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream(entry.getSize() > 0 ? (int) entry.getSize() : BUFFER_SIZE);
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+                return output.toByteArray();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Failed to read: %s from: %s", entryName, archive.getAbsolutePath()), e);
+        }
+    }
+
+    private static boolean isUnpacked(final Path directory, final String hash) throws IOException {
+        final Path stamp = directory.resolve(STAMP_FILE_NAME);
+        return Files.isRegularFile(stamp) && hash.equals(new String(Files.readAllBytes(stamp), StandardCharsets.UTF_8));
+    }
+
+    private static void extract(final File archive, final Path directory) throws IOException {
+        final Path root = directory.toAbsolutePath().normalize();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root)) {
+                    throw new IOException(String.format("The entry: %s points outside of the target directory", entry.getName()));
+                }
+
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+
+                Files.createDirectories(target.getParent());
+                try (InputStream stream = zipFile.getInputStream(entry)) {
+                    Files.copy(stream, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(final Path temporary, final Path target, final String hash) throws IOException {
+        if (Files.exists(target)) {
+            if (isUnpacked(target, hash)) {
+                //Another build finished first.
+                return;
+            }
+
+            //Incomplete, or modified by hand, replace it.
+            FileUtils.delete(target);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            if (!isUnpacked(target, hash)) {
+                throw e;
+            }
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class ZipBuildingFileTreeVisitor implements FileVisitor {
     @Override
     public void visitDir(FileVisitDetails fileVisitDetails) {
         try {
-            final ZipEntry directoryEntry = new ZipEntry(fileVisitDetails.getRelativePath().getPathString() + "/");
+            final ZipEntry directoryEntry = FileUtils.getStableEntry(fileVisitDetails.getRelativePath().getPathString() + "/");
             outputZipStream.putNextEntry(directoryEntry);
             outputZipStream.closeEntry();
         } catch (IOException zip) {
@@ -36,7 +36,7 @@ public class ZipBuildingFileTreeVisitor implements FileVisitor {
     @Override
     public void visitFile(FileVisitDetails fileVisitDetails) {
         try {
-            final ZipEntry fileEntry = new ZipEntry(fileVisitDetails.getRelativePath().getPathString());
+            final ZipEntry fileEntry = FileUtils.getStableEntry(fileVisitDetails.getRelativePath().getPathString());
             outputZipStream.putNextEntry(fileEntry);
             fileVisitDetails.copyTo(outputZipStream);
             outputZipStream.closeEntry();
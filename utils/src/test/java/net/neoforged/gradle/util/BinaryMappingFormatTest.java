@@ -0,0 +1,89 @@
+package net.neoforged.gradle.util;
+
+import net.minecraftforge.srgutils.IMappingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryMappingFormatTest {
+
+    private static final String MAPPINGS = String.join("\n",
+            "tsrg2 left right",
+            "a/b c/d",
+            "b a/Second",
+            "\tc field",
+            "\td (I)V method",
+            "\t\tstatic",
+            "\t\t0 p param",
+            "a a/First",
+            "\ta I first",
+            "\tb ()Ljava/lang/String; name",
+            "\tb (Ljava/lang/String;)V name",
+            "\t\t1 a value",
+            ""
+    );
+
+    private static final String REORDERED_MAPPINGS = String.join("\n",
+            "tsrg2 left right",
+            "a a/First",
+            "\tb (Ljava/lang/String;)V name",
+            "\t\t1 a value",
+            "\tb ()Ljava/lang/String; name",
+            "\ta I first",
+            "b a/Second",
+            "\td (I)V method",
+            "\t\tstatic",
+            "\t\t0 p param",
+            "\tc field",
+            "a/b c/d",
+            ""
+    );
+
+    @Test
+    public void mappingsSurviveARoundTrip(@TempDir Path directory) throws IOException {
+        final IMappingFile mappings = IMappingFile.load(new ByteArrayInputStream(MAPPINGS.getBytes(StandardCharsets.UTF_8)));
+        final Path file = directory.resolve("mappings.bin");
+        BinaryMappingFormat.write(mappings, file);
+
+        final IMappingFile read = BinaryMappingFormat.read(file);
+        assertEquals(
+                IMappingFileUtils.writeMappingFile(mappings, IMappingFile.Format.TSRG2, false),
+                IMappingFileUtils.writeMappingFile(read, IMappingFile.Format.TSRG2, false)
+        );
+        assertEquals("method", read.getClass("b").remapMethod("d", "(I)V"));
+        assertEquals("a/First", read.remapClass("a"));
+    }
+
+    @Test
+    public void bytesOnlyDependOnTheContent() throws IOException {
+        final IMappingFile mappings = IMappingFile.load(new ByteArrayInputStream(MAPPINGS.getBytes(StandardCharsets.UTF_8)));
+        final byte[] bytes = BinaryMappingFormat.toBytes(mappings);
+
+        assertArrayEquals(bytes, BinaryMappingFormat.toBytes(IMappingFile.load(new ByteArrayInputStream(REORDERED_MAPPINGS.getBytes(StandardCharsets.UTF_8)))));
+        assertArrayEquals(bytes, BinaryMappingFormat.toBytes(BinaryMappingFormat.read(ByteBuffer.wrap(bytes))));
+    }
+
+    @Test
+    public void storedMappingsAreAddressedByTheirContent(@TempDir Path directory) throws IOException {
+        final byte[] bytes = BinaryMappingFormat.toBytes(IMappingFile.load(new ByteArrayInputStream(MAPPINGS.getBytes(StandardCharsets.UTF_8))));
+        final byte[] reordered = BinaryMappingFormat.toBytes(IMappingFile.load(new ByteArrayInputStream(REORDERED_MAPPINGS.getBytes(StandardCharsets.UTF_8))));
+
+        final String hash = BinaryMappingFormat.store(bytes, directory);
+        assertEquals(hash, BinaryMappingFormat.store(reordered, directory));
+        assertEquals(1, Files.list(directory).count());
+        assertArrayEquals(bytes, Files.readAllBytes(BinaryMappingFormat.getStoredFile(directory, hash)));
+    }
+
+    @Test
+    public void otherContentIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryMappingFormat.read(ByteBuffer.wrap(MAPPINGS.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,72 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileHashIndexTest {
+
+    @Test
+    public void hashingAFileReturnsTheSameHashAsTheHashFunction(@TempDir Path directory) throws IOException {
+        final File file = createOldFile(directory, "file.txt", "content");
+        final FileHashIndex index = FileHashIndex.get(directory.resolve("index"));
+
+        assertEquals(HashFunction.SHA1.hash(file), index.hash(file, HashFunction.SHA1));
+    }
+
+    @Test
+    public void anUnchangedFileIsRecordedInTheIndexFile(@TempDir Path directory) throws IOException {
+        final File file = createOldFile(directory, "file.txt", "content");
+        final Path indexFile = directory.resolve("index");
+
+        FileHashIndex.get(indexFile).hash(file, HashFunction.SHA1);
+
+        assertTrue(Files.exists(indexFile));
+        assertTrue(new String(Files.readAllBytes(indexFile), StandardCharsets.UTF_8).contains(HashFunction.SHA1.hash(file)));
+    }
+
+    @Test
+    public void aRecentlyModifiedFileIsNotRecordedInTheIndexFile(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve("file.txt");
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+        final Path indexFile = directory.resolve("index");
+
+        FileHashIndex.get(indexFile).hash(path.toFile(), HashFunction.SHA1);
+
+        assertFalse(Files.exists(indexFile));
+    }
+
+    @Test
+    public void aChangedFileIsRehashed(@TempDir Path directory) throws IOException {
+        final File file = createOldFile(directory, "file.txt", "content");
+        final FileHashIndex index = FileHashIndex.get(directory.resolve("index"));
+        index.hash(file, HashFunction.SHA1);
+
+        Files.write(file.toPath(), "other content".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(System.currentTimeMillis() - 30_000));
+
+        assertEquals(HashFunction.SHA1.hash(file), index.hash(file, HashFunction.SHA1));
+    }
+
+    @Test
+    public void matchingAMissingFileReturnsFalse(@TempDir Path directory) throws IOException {
+        final FileHashIndex index = FileHashIndex.get(directory.resolve("index"));
+
+        assertFalse(index.matches(directory.resolve("missing").toFile(), HashFunction.SHA1, "hash"));
+    }
+
+    private static File createOldFile(final Path directory, final String name, final String content) throws IOException {
+        final Path path = directory.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        return path.toFile();
+    }
+}
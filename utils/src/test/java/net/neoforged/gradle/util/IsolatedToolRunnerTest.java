@@ -0,0 +1,57 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IsolatedToolRunnerTest {
+
+    @Test
+    public void toolsAreIsolatedAndReused() throws URISyntaxException {
+        final List<File> classpath = Collections.singletonList(new File(IsolatedToolRunnerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        IsolatedToolRunner.run(classpath, Tool.class.getName(), Collections.singletonList("first"), output);
+        IsolatedToolRunner.run(classpath, Tool.class.getName(), Collections.singletonList("second"), output);
+
+        assertEquals(0, Tool.runs);
+        assertEquals(String.format("first 1%nsecond 2%n"), new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void toolsAreReleasedWhenTheHeapUsageIsExceeded() throws URISyntaxException {
+        final List<File> classpath = Collections.singletonList(new File(IsolatedToolRunnerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        //No heap usage is below this limit, so the class loader is released after every run.
+        final IsolatedToolRunner.PoolSettings settings = new IsolatedToolRunner.PoolSettings(-1D);
+
+        IsolatedToolRunner.run(classpath, Tool.class.getName(), Collections.singletonList("first"), new ByteArrayOutputStream(), settings);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        IsolatedToolRunner.run(classpath, Tool.class.getName(), Collections.singletonList("second"), output, settings);
+
+        assertEquals(String.format("second 1%n"), new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void failuresOfToolsAreRethrown() throws URISyntaxException {
+        final List<File> classpath = Collections.singletonList(new File(IsolatedToolRunnerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+
+        final RuntimeException exception = assertThrows(RuntimeException.class, () -> IsolatedToolRunner.run(classpath, Tool.class.getName(), Collections.emptyList(), new ByteArrayOutputStream()));
+        assertTrue(exception.getCause() instanceof ArrayIndexOutOfBoundsException);
+    }
+
+    public static final class Tool {
+        private static int runs;
+
+        public static void main(String[] args) {
+            runs++;
+            System.out.println(args[0] + " " + runs);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManifestUtilsTest {
+
+    @Test
+    public void attributesAndSectionsAreWrittenSorted() {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Obfuscated-By", "NeoGradle");
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+        manifest.getMainAttributes().putValue("Automatic-Module-Name", "test");
+        manifest.getEntries().computeIfAbsent("b/", name -> new Attributes()).putValue("Sealed", "true");
+        manifest.getEntries().computeIfAbsent("a/", name -> new Attributes()).putValue("Sealed", "false");
+
+        assertEquals("Manifest-Version: 1.0\r\n" +
+                "Automatic-Module-Name: test\r\n" +
+                "Obfuscated-By: NeoGradle\r\n" +
+                "\r\n" +
+                "Name: a/\r\n" +
+                "Sealed: false\r\n" +
+                "\r\n" +
+                "Name: b/\r\n" +
+                "Sealed: true\r\n" +
+                "\r\n", new String(ManifestUtils.toStableBytes(manifest), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void longValuesAreWrappedAndCanBeReadAgain() throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+        final StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            value.append("\u00e4bc");
+        }
+        manifest.getMainAttributes().putValue("Long-Value", value.toString());
+
+        final byte[] bytes = ManifestUtils.toStableBytes(manifest);
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 72);
+        }
+        assertEquals(value.toString(), new Manifest(new ByteArrayInputStream(bytes)).getMainAttributes().getValue("Long-Value"));
+    }
+}
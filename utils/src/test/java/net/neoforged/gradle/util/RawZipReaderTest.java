@@ -0,0 +1,54 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RawZipReaderTest {
+
+    @Test
+    public void zip64ArchivesCanBeRead(@TempDir Path directory) throws IOException {
+        //A zip output stream switches to a ZIP64 end of central directory above 0xFFFF entries.
+        final File input = directory.resolve("input.jar").toFile();
+        try (OutputStream stream = Files.newOutputStream(input.toPath()); ZipOutputStream zip = new ZipOutputStream(stream)) {
+            for (int i = 0; i < 0xFFFF + 10; i++) {
+                zip.putNextEntry(new ZipEntry("entries/Entry" + i + ".txt"));
+                zip.write(("content " + i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+
+        try (RawZipReader reader = RawZipReader.open(input)) {
+            assertEquals(0xFFFF + 10, reader.getEntries().size());
+            assertEquals("content " + (0xFFFF + 9), new String(reader.readAllBytes(reader.getEntry("entries/Entry" + (0xFFFF + 9) + ".txt")), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void plainArchivesWithTheMaximumAmountOfEntriesCanBeRead(@TempDir Path directory) throws IOException {
+        //The writer does not produce ZIP64 archives, so the entry count of 0xFFFF is the real one.
+        final File input = directory.resolve("input.jar").toFile();
+        try (RawZipWriter writer = new RawZipWriter(input, 1)) {
+            for (int i = 0; i < 0xFFFF; i++) {
+                writer.write(FileUtils.getStableEntry("entries/Entry" + i + ".txt"), ("content " + i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        try (RawZipReader reader = RawZipReader.open(input); ZipFile zip = new ZipFile(input)) {
+            assertEquals(zip.size(), reader.getEntries().size());
+            assertEquals(0xFFFF, reader.getEntries().size());
+            assertEquals("content 65534", new String(reader.readAllBytes(reader.getEntry("entries/Entry65534.txt")), StandardCharsets.UTF_8));
+        }
+    }
+}
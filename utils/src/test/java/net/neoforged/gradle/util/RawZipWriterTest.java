@@ -0,0 +1,246 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RawZipWriterTest {
+
+    private static final String CLASS_CONTENT = "class content, class content, class content, class content";
+
+    @Test
+    public void copiedEntriesKeepTheirCompressedData(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+        final File output = directory.resolve("output.jar").toFile();
+
+        try (RawZipReader reader = RawZipReader.open(input); RawZipWriter writer = new RawZipWriter(output)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                writer.copy(reader, entry);
+            }
+        }
+
+        try (ZipFile original = new ZipFile(input); ZipFile copy = new ZipFile(output)) {
+            assertEquals(original.size(), copy.size());
+            final ZipEntry originalEntry = original.getEntry("a/A.class");
+            final ZipEntry copiedEntry = copy.getEntry("a/A.class");
+            assertEquals(originalEntry.getCrc(), copiedEntry.getCrc());
+            assertEquals(originalEntry.getCompressedSize(), copiedEntry.getCompressedSize());
+            assertEquals(originalEntry.getTime(), copiedEntry.getTime());
+            assertEquals(CLASS_CONTENT, read(copy, "a/A.class"));
+            assertEquals("stored", read(copy, "stored.txt"));
+            assertTrue(copy.getEntry("a/").isDirectory());
+        }
+    }
+
+    @Test
+    public void copiedEntriesCanBeRenamedAndRetimed(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+        final File output = directory.resolve("output.jar").toFile();
+
+        try (RawZipReader reader = RawZipReader.open(input); RawZipWriter writer = new RawZipWriter(output)) {
+            writer.copy(reader, reader.getEntry("a/A.class"), FileUtils.getStableEntry("b/B.class"));
+        }
+
+        try (ZipFile copy = new ZipFile(output)) {
+            assertEquals(CLASS_CONTENT, read(copy, "b/B.class"));
+            assertEquals(FileUtils.getStableEntry("b/B.class").getTime(), copy.getEntry("b/B.class").getTime());
+        }
+    }
+
+    @Test
+    public void writtenAndCopiedEntriesCanBeMixed(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+        final File output = directory.resolve("output.jar").toFile();
+
+        try (RawZipReader reader = RawZipReader.open(input); RawZipWriter writer = new RawZipWriter(output)) {
+            final RawZipEntry entry = reader.getEntry("a/A.class");
+            writer.write(new ZipEntry("a/A.java"), new String(reader.readAllBytes(entry), StandardCharsets.UTF_8).toUpperCase().getBytes(StandardCharsets.UTF_8));
+            writer.copy(reader, entry);
+        }
+
+        try (ZipFile copy = new ZipFile(output)) {
+            assertEquals(CLASS_CONTENT.toUpperCase(), read(copy, "a/A.java"));
+            assertEquals(CLASS_CONTENT, read(copy, "a/A.class"));
+        }
+    }
+
+    @Test
+    public void duplicateEntriesAreRejected(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+
+        try (RawZipReader reader = RawZipReader.open(input); RawZipWriter writer = new RawZipWriter(directory.resolve("output.jar").toFile())) {
+            writer.copy(reader, reader.getEntry("stored.txt"));
+            assertThrows(ZipException.class, () -> writer.write(new ZipEntry("stored.txt"), new byte[0]));
+        }
+    }
+
+    @Test
+    public void outputDoesNotDependOnTheParallelism(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+        final File sequential = writeMixed(input, directory.resolve("sequential.jar").toFile(), 1);
+        final File parallel = writeMixed(input, directory.resolve("parallel.jar").toFile(), 4);
+
+        assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+        try (ZipFile zip = new ZipFile(parallel)) {
+            assertEquals(CLASS_CONTENT, read(zip, "a/A.class"));
+            assertEquals(CLASS_CONTENT + 99, read(zip, "generated/File99.txt"));
+        }
+    }
+
+    @Test
+    public void storedEntriesCanBeCompressedWhenCopied(@TempDir Path directory) throws IOException {
+        final File stored = directory.resolve("stored.jar").toFile();
+        try (RawZipWriter writer = new RawZipWriter(stored, Deflater.NO_COMPRESSION, 1)) {
+            writer.write(FileUtils.getStableEntry("a/A.class"), CLASS_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final File compressed = directory.resolve("compressed.jar").toFile();
+        try (RawZipReader reader = RawZipReader.open(stored); RawZipWriter writer = new RawZipWriter(compressed, Deflater.DEFAULT_COMPRESSION, 1)) {
+            assertEquals(ZipEntry.STORED, reader.getEntry("a/A.class").getMethod());
+            writer.copyAndCompressStored(reader, reader.getEntry("a/A.class"));
+        }
+
+        try (ZipFile zip = new ZipFile(compressed)) {
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("a/A.class").getMethod());
+            assertEquals(FileUtils.getStableEntry("a/A.class").getTime(), zip.getEntry("a/A.class").getTime());
+            assertEquals(CLASS_CONTENT, read(zip, "a/A.class"));
+        }
+    }
+
+    @Test
+    public void entriesWithoutTimeAreWrittenReproducibly(@TempDir Path directory) throws IOException {
+        final File first = writeUntimed(directory.resolve("first.jar").toFile());
+        final File second = writeUntimed(directory.resolve("second.jar").toFile());
+
+        assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+        try (ZipFile zip = new ZipFile(first)) {
+            assertEquals(FileUtils.getStableEntry("a/A.class").getTime(), zip.getEntry("a/A.class").getTime());
+        }
+    }
+
+    @Test
+    public void lazilyProducedEntriesAreWrittenInOrder(@TempDir Path directory) throws IOException {
+        final File sequential = writeProduced(directory.resolve("sequential.jar").toFile(), 1, 1);
+        final File parallel = writeProduced(directory.resolve("parallel.jar").toFile(), 4, 2);
+
+        assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+        try (ZipFile zip = new ZipFile(parallel)) {
+            assertEquals(CLASS_CONTENT + 0, read(zip, "generated/File0.txt"));
+            assertEquals(CLASS_CONTENT + 49, read(zip, "generated/File49.txt"));
+        }
+    }
+
+    @Test
+    public void writersShareTheBoundedCompressionPool(@TempDir Path directory) throws IOException {
+        final File input = createInput(directory.resolve("input.jar"));
+        final File sequential = writeMixed(input, directory.resolve("sequential.jar").toFile(), 1);
+
+        final int maxThreads = RawZipWriter.getMaxCompressionThreads();
+        RawZipWriter.setMaxCompressionThreads(1);
+        try {
+            assertEquals(1, RawZipWriter.getMaxCompressionThreads());
+            final File parallel = writeMixed(input, directory.resolve("parallel.jar").toFile(), 4);
+            assertArrayEquals(Files.readAllBytes(sequential.toPath()), Files.readAllBytes(parallel.toPath()));
+        } finally {
+            RawZipWriter.setMaxCompressionThreads(maxThreads);
+        }
+    }
+
+    @Test
+    public void failuresWhileProducingEntriesArePropagated(@TempDir Path directory) throws IOException {
+        final RawZipWriter writer = new RawZipWriter(directory.resolve("output.jar").toFile(), Deflater.DEFAULT_COMPRESSION, 2, 1);
+        assertThrows(IOException.class, () -> {
+            try (RawZipWriter closing = writer) {
+                closing.write(FileUtils.getStableEntry("a.txt"), () -> {
+                    throw new IOException("Can not produce");
+                });
+            }
+        });
+    }
+
+    private static File writeProduced(final File output, final int parallelism, final int maxPendingEntries) throws IOException {
+        try (RawZipWriter writer = new RawZipWriter(output, Deflater.DEFAULT_COMPRESSION, parallelism, maxPendingEntries)) {
+            for (int i = 0; i < 50; i++) {
+                final int index = i;
+                writer.write(FileUtils.getStableEntry("generated/File" + i + ".txt"), () -> {
+                    //Later entries finish first, which must not change their order in the output.
+                    Thread.sleep((50 - index) % 5);
+                    return (CLASS_CONTENT + index).getBytes(StandardCharsets.UTF_8);
+                });
+            }
+        }
+        return output;
+    }
+
+    private static File writeUntimed(final File output) throws IOException {
+        try (RawZipWriter writer = new RawZipWriter(output)) {
+            writer.write(new ZipEntry("a/"), new byte[0]);
+            writer.write(new ZipEntry("a/A.class"), CLASS_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        return output;
+    }
+
+    private static File writeMixed(final File input, final File output, final int parallelism) throws IOException {
+        try (RawZipReader reader = RawZipReader.open(input); RawZipWriter writer = new RawZipWriter(output, parallelism)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(FileUtils.getStableEntry("generated/File" + i + ".txt"), (CLASS_CONTENT + i).getBytes(StandardCharsets.UTF_8));
+                if (i == 50) {
+                    for (RawZipEntry entry : reader.getEntries()) {
+                        writer.copy(reader, entry);
+                    }
+                }
+            }
+        }
+        return output;
+    }
+
+    private static File createInput(final Path path) throws IOException {
+        //A zip output stream writes deflated entries with trailing data descriptors.
+        try (OutputStream stream = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(stream)) {
+            zip.putNextEntry(new ZipEntry("a/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("a/A.class"));
+            zip.write(CLASS_CONTENT.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+
+            final byte[] stored = "stored".getBytes(StandardCharsets.UTF_8);
+            final ZipEntry storedEntry = new ZipEntry("stored.txt");
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(stored.length);
+            final CRC32 crc = new CRC32();
+            crc.update(stored);
+            storedEntry.setCrc(crc.getValue());
+            zip.putNextEntry(storedEntry);
+            zip.write(stored);
+            zip.closeEntry();
+        }
+        return path.toFile();
+    }
+
+    private static String read(final ZipFile zip, final String name) throws IOException {
+        try (InputStream stream = zip.getInputStream(zip.getEntry(name))) {
+            final byte[] buffer = new byte[1024];
+            final StringBuilder builder = new StringBuilder();
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                builder.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package net.neoforged.gradle.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResumableDownloaderTest {
+
+    private static final int PAYLOAD_SIZE = 256 * 1024;
+
+    private final byte[] payload = new byte[PAYLOAD_SIZE];
+    private final List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    /**
+     * Amount of requests for which the server drops the connection halfway through the transfer.
+     */
+    private int connectionsToDrop;
+    private boolean supportsRanges = true;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        new Random(42).nextBytes(payload);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/file", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void aCompleteTransferIsMovedIntoPlace(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("file.jar").toFile();
+
+        ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), null);
+
+        assertArrayEquals(payload, Files.readAllBytes(target.toPath()));
+        assertFalse(Files.exists(ResumableDownloader.getPartFile(target.toPath().toAbsolutePath())));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void aDroppedConnectionIsResumedWithARangeRequest(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("file.jar").toFile();
+        connectionsToDrop = 1;
+
+        ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), null);
+
+        assertArrayEquals(payload, Files.readAllBytes(target.toPath()));
+        assertEquals(2, requests.get());
+        assertEquals("bytes=" + (PAYLOAD_SIZE / 2) + "-", ranges.get(1));
+    }
+
+    @Test
+    public void aDroppedConnectionIsRestartedWhenRangesAreNotSupported(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("file.jar").toFile();
+        connectionsToDrop = 1;
+        supportsRanges = false;
+
+        ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), null);
+
+        assertArrayEquals(payload, Files.readAllBytes(target.toPath()));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void anInterruptedDownloadNeverTouchesTheTarget(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("file.jar").toFile();
+        Files.write(target.toPath(), new byte[] { 1, 2, 3 });
+        connectionsToDrop = Integer.MAX_VALUE;
+
+        assertThrows(IOException.class, () -> ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), 1000, 1000, 2, null));
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(target.toPath()));
+        assertTrue(Files.exists(ResumableDownloader.getPartFile(target.toPath().toAbsolutePath())));
+    }
+
+    @Test
+    public void aPartialFileFromAnEarlierBuildIsResumed(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("file.jar").toFile();
+        connectionsToDrop = Integer.MAX_VALUE;
+        assertThrows(IOException.class, () -> ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), 1000, 1000, 1, null));
+
+        connectionsToDrop = 0;
+        ResumableDownloader.download(url(), target, HashFunction.SHA1.hash(payload), null);
+
+        assertArrayEquals(payload, Files.readAllBytes(target.toPath()));
+        assertEquals("bytes=" + (PAYLOAD_SIZE / 2) + "-", ranges.get(1));
+    }
+
+    @Test
+    public void aHashMismatchFailsTheDownload(@TempDir Path directory) {
+        final File target = directory.resolve("file.jar").toFile();
+
+        assertThrows(IOException.class, () -> ResumableDownloader.download(url(), target, HashFunction.SHA1.hash("something else"), 1000, 1000, 2, null));
+
+        assertFalse(target.exists());
+        assertFalse(Files.exists(ResumableDownloader.getPartFile(target.toPath().toAbsolutePath())));
+    }
+
+    private URL url() throws IOException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/file");
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        ranges.add(range);
+
+        int start = 0;
+        if (range != null && supportsRanges) {
+            start = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+            exchange.getResponseHeaders().add("Content-Range", String.format("bytes %d-%d/%d", start, PAYLOAD_SIZE - 1, PAYLOAD_SIZE));
+            exchange.sendResponseHeaders(206, PAYLOAD_SIZE - start);
+        } else {
+            exchange.sendResponseHeaders(200, PAYLOAD_SIZE);
+        }
+
+        final OutputStream body = exchange.getResponseBody();
+        if (connectionsToDrop > 0) {
+            connectionsToDrop--;
+            //Send only the first half and then drop the connection.
+            body.write(payload, start, PAYLOAD_SIZE / 2 - start);
+            body.flush();
+            exchange.close();
+            return;
+        }
+
+        body.write(payload, start, PAYLOAD_SIZE - start);
+        body.close();
+    }
+}
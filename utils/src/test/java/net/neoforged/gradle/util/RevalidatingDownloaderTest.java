@@ -0,0 +1,122 @@
+package net.neoforged.gradle.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RevalidatingDownloaderTest {
+
+    private static final String ETAG = "\"version-1\"";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private HttpServer server;
+    private String content = "{\"versions\":[]}";
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/manifest.json", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void aMissingFileIsDownloaded(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("manifest.json").toFile();
+
+        assertEquals(RevalidatingDownloader.Result.DOWNLOADED, RevalidatingDownloader.download(url(), target, Duration.ofHours(1), false));
+
+        assertEquals(content, new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        assertTrue(Files.exists(RevalidatingDownloader.getMetadataFile(target.toPath().toAbsolutePath())));
+    }
+
+    @Test
+    public void aFreshFileMakesNoRequest(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("manifest.json").toFile();
+        RevalidatingDownloader.download(url(), target, Duration.ofHours(1), false);
+
+        assertEquals(RevalidatingDownloader.Result.FRESH, RevalidatingDownloader.download(url(), target, Duration.ofHours(1), false));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void anExpiredFileIsRevalidatedWithAConditionalRequest(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("manifest.json").toFile();
+        RevalidatingDownloader.download(url(), target, Duration.ZERO, false);
+
+        assertEquals(RevalidatingDownloader.Result.NOT_MODIFIED, RevalidatingDownloader.download(url(), target, Duration.ZERO, false));
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    public void aChangedFileIsDownloadedAgain(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("manifest.json").toFile();
+        RevalidatingDownloader.download(url(), target, Duration.ZERO, false);
+        content = "{\"versions\":[{\"id\":\"1.20\"}]}";
+
+        assertEquals(RevalidatingDownloader.Result.DOWNLOADED, RevalidatingDownloader.download(url(), target, Duration.ZERO, false));
+        assertEquals(content, new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void anExistingFileIsUsedWhenOffline(@TempDir Path directory) throws IOException {
+        final File target = directory.resolve("manifest.json").toFile();
+        RevalidatingDownloader.download(url(), target, Duration.ZERO, false);
+
+        assertEquals(RevalidatingDownloader.Result.STALE, RevalidatingDownloader.download(url(), target, Duration.ZERO, true));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void aMissingFileFailsWhenOffline(@TempDir Path directory) {
+        final File target = directory.resolve("manifest.json").toFile();
+
+        assertThrows(IOException.class, () -> RevalidatingDownloader.download(url(), target, Duration.ofHours(1), true));
+        assertEquals(0, requests.get());
+    }
+
+    private URL url() throws IOException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/manifest.json");
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        final String etag = "\"" + Integer.toHexString(content.hashCode()) + "\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        final byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("ETag", etag);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.neoforged.gradle.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnpackedArchiveCacheTest {
+
+    @Test
+    public void anArchiveIsUnpackedIntoADirectoryNamedAfterItsHash(@TempDir Path directory) throws IOException {
+        final File archive = createArchive(directory.resolve("neoform.zip"), "{\"spec\":2}");
+        final File cache = directory.resolve("cache").toFile();
+
+        final File unpacked = UnpackedArchiveCache.unpack(archive, cache);
+
+        assertEquals(HashFunction.SHA256.hash(archive), unpacked.getName());
+        assertEquals("{\"spec\":2}", new String(Files.readAllBytes(unpacked.toPath().resolve("config.json")), StandardCharsets.UTF_8));
+        assertEquals("patch", new String(Files.readAllBytes(unpacked.toPath().resolve("patches/a.patch")), StandardCharsets.UTF_8));
+        assertTrue(Files.isRegularFile(unpacked.toPath().resolve(UnpackedArchiveCache.STAMP_FILE_NAME)));
+    }
+
+    @Test
+    public void anUnchangedArchiveIsNotUnpackedAgain(@TempDir Path directory) throws IOException {
+        final File archive = createArchive(directory.resolve("neoform.zip"), "{\"spec\":2}");
+        final File cache = directory.resolve("cache").toFile();
+
+        final File unpacked = UnpackedArchiveCache.unpack(archive, cache);
+        final Path marker = unpacked.toPath().resolve("marker");
+        Files.write(marker, new byte[0]);
+
+        assertEquals(unpacked, UnpackedArchiveCache.unpack(archive, cache));
+        assertTrue(Files.exists(marker));
+    }
+
+    @Test
+    public void anUnstampedDirectoryIsReplaced(@TempDir Path directory) throws IOException {
+        final File archive = createArchive(directory.resolve("neoform.zip"), "{\"spec\":2}");
+        final File cache = directory.resolve("cache").toFile();
+        final Path partial = cache.toPath().resolve(HashFunction.SHA256.hash(archive));
+        Files.createDirectories(partial);
+        Files.write(partial.resolve("leftover"), new byte[0]);
+
+        final File unpacked = UnpackedArchiveCache.unpack(archive, cache);
+
+        assertFalse(Files.exists(unpacked.toPath().resolve("leftover")));
+        assertTrue(Files.exists(unpacked.toPath().resolve("config.json")));
+    }
+
+    @Test
+    public void theDirectoryOfAnArchiveIsKnownBeforeItIsUnpacked(@TempDir Path directory) throws IOException {
+        final File archive = createArchive(directory.resolve("neoform.zip"), "{\"spec\":2}");
+        final File cache = directory.resolve("cache").toFile();
+
+        final File expected = UnpackedArchiveCache.getDirectory(archive, cache);
+
+        assertFalse(cache.exists());
+        assertEquals(expected, UnpackedArchiveCache.unpack(archive, cache));
+    }
+
+    @Test
+    public void aSingleEntryCanBeReadWithoutUnpacking(@TempDir Path directory) throws IOException {
+        final File archive = createArchive(directory.resolve("neoform.zip"), "{\"spec\":2}");
+
+        assertEquals("{\"spec\":2}", new String(UnpackedArchiveCache.readEntry(archive, "config.json"), StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, () -> UnpackedArchiveCache.readEntry(archive, "missing.json"));
+    }
+
+    private static File createArchive(final Path path, final String config) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(stream)) {
+            zip.putNextEntry(new ZipEntry("config.json"));
+            zip.write(config.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("patches/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("patches/a.patch"));
+            zip.write("patch".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return path.toFile();
+    }
+}
@@ -0,0 +1,51 @@
+package net.neoforged.gradle.vanilla
+
+import net.neoforged.trainingwheels.gradle.functional.BuilderBasedTestSpecification
+import org.gradle.testkit.runner.TaskOutcome
+
+import java.util.zip.ZipFile
+
+class BundledServerTests extends BuilderBasedTestSpecification {
+
+    @Override
+    protected void configurePluginUnderTest() {
+        pluginUnderTest = "net.neoforged.gradle.vanilla";
+        injectIntoAllProject = true;
+    }
+
+    def "the server of a bundled version is extracted next to the downloaded bundle"() {
+        given:
+        def project = create "vanilla-bundled-server-runtime", {
+            it.build("""
+            minecraftArtifactCache {
+                cacheDirectory = file('minecraft-cache')
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:server:1.20.1'
+            }
+            """)
+        }
+
+        when:
+        def run = project.run { it.tasks(':cacheVersionExtractedServerBundle1.20.1') }
+        def bundle = new File(project.getProjectDir(), 'minecraft-cache/versions/1.20.1/server.jar')
+        def extracted = new File(project.getProjectDir(), 'minecraft-cache/versions/1.20.1/server-extracted.jar')
+        def bundleLastModified = bundle.lastModified()
+        def secondRun = project.run { it.tasks(':cacheVersionExtractedServerBundle1.20.1').arguments('--rerun-tasks') }
+
+        then:
+        run.task(':cacheVersionExtractedServerBundle1.20.1').outcome == TaskOutcome.SUCCESS
+        secondRun.task(':cacheVersionExtractedServerBundle1.20.1').outcome == TaskOutcome.SUCCESS
+        isBundle(bundle)
+        extracted.exists()
+        !isBundle(extracted)
+        bundle.lastModified() == bundleLastModified
+    }
+
+    private static boolean isBundle(final File jar) {
+        try (final ZipFile zipFile = new ZipFile(jar)) {
+            return zipFile.getEntry('META-INF/versions.list') != null
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.neoforged.gradle.vanilla
+
+import net.neoforged.trainingwheels.gradle.functional.BuilderBasedTestSpecification
+import org.gradle.testkit.runner.TaskOutcome
+
+class LazyRuntimeCreationTests extends BuilderBasedTestSpecification {
+
+    @Override
+    protected void configurePluginUnderTest() {
+        pluginUnderTest = "net.neoforged.gradle.vanilla";
+        injectIntoAllProject = true;
+    }
+
+    def "configuring a lazily created client runtime does not touch the cache"() {
+        given:
+        def project = create "vanilla-lazy-client-runtime", {
+            it.build("""
+            minecraftArtifactCache {
+                cacheDirectory = file('minecraft-cache')
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:client:1.20.1'
+            }
+            """)
+        }
+
+        when:
+        def run = project.run { it.tasks('tasks').arguments('-Pneogradle.runtime.lazyCreation=true') }
+
+        then:
+        run.task(':tasks').outcome == TaskOutcome.SUCCESS
+        isEmpty(new File(project.getProjectDir(), 'minecraft-cache'))
+        !new File(project.getProjectDir(), 'build/vanilla').exists()
+    }
+
+    def "configuring a lazily created server runtime does not touch the cache"() {
+        given:
+        def project = create "vanilla-lazy-server-runtime", {
+            it.build("""
+            minecraftArtifactCache {
+                cacheDirectory = file('minecraft-cache')
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:server:1.20.1'
+            }
+            """)
+        }
+
+        when:
+        def run = project.run { it.tasks('tasks').arguments('-Pneogradle.runtime.lazyCreation=true') }
+
+        then:
+        run.task(':tasks').outcome == TaskOutcome.SUCCESS
+        isEmpty(new File(project.getProjectDir(), 'minecraft-cache'))
+        !new File(project.getProjectDir(), 'build/vanilla').exists()
+    }
+
+    def "a lazily created server runtime provides the extracted server jar"() {
+        given:
+        def project = create "vanilla-lazy-server-runtime-extracts-bundle", {
+            it.build("""
+            minecraftArtifactCache {
+                cacheDirectory = file('minecraft-cache')
+            }
+            
+            dependencies {
+                implementation 'net.minecraft:server:1.20.1'
+            }
+            """)
+        }
+
+        when:
+        def run = project.run { it.tasks(':cacheVersionExtractedServerBundle1.20.1').arguments('-Pneogradle.runtime.lazyCreation=true') }
+
+        then:
+        run.task(':cacheVersionExtractedServerBundle1.20.1').outcome == TaskOutcome.SUCCESS
+    }
+
+    private static boolean isEmpty(final File directory) {
+        return !directory.exists() || directory.listFiles().length == 0
+    }
+}
@@ -1,5 +1,6 @@
 package net.neoforged.gradle.vanilla.runtime;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Maps;
 import net.neoforged.gradle.common.runtime.definition.CommonRuntimeDefinition;
 import net.neoforged.gradle.common.runtime.tasks.DownloadAssets;
@@ -13,7 +14,9 @@ import net.neoforged.gradle.dsl.common.util.GameArtifact;
 import net.neoforged.gradle.vanilla.runtime.spec.VanillaRuntimeSpecification;
 import net.neoforged.gradle.vanilla.util.InterpolationConstants;
 import net.neoforged.gradle.vanilla.util.ServerLaunchInformation;
+import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 
@@ -22,6 +25,8 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Represents a configured and registered runtime for vanilla.
@@ -29,10 +34,10 @@ import java.util.function.Consumer;
 @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 public final class VanillaRuntimeDefinition extends CommonRuntimeDefinition<VanillaRuntimeSpecification> {
 
-    private final VersionJson versionJson;
+    private final Supplier<VersionJson> versionJson;
     private final TaskProvider<DownloadAssets> assetsTaskProvider;
     private final TaskProvider<ExtractNatives> nativesTaskProvider;
-    private final Optional<ServerLaunchInformation> serverLaunchInformation;
+    private final Supplier<Optional<ServerLaunchInformation>> serverLaunchInformation;
 
     public VanillaRuntimeDefinition(@NotNull VanillaRuntimeSpecification specification,
                                     @NotNull LinkedHashMap<String, TaskProvider<? extends WithOutput>> taskOutputs,
@@ -45,11 +50,28 @@ public final class VanillaRuntimeDefinition extends CommonRuntimeDefinition<Vani
                                     TaskProvider<DownloadAssets> assetsTaskProvider,
                                     TaskProvider<ExtractNatives> nativesTaskProvider,
                                     Optional<ServerLaunchInformation> serverLaunchInformation) {
+        this(specification, taskOutputs, sourceJarTask, rawJarTask, gameArtifactProvidingTasks, minecraftDependenciesConfiguration, associatedTaskConsumer, () -> versionJson, assetsTaskProvider, nativesTaskProvider, () -> serverLaunchInformation);
+    }
+
+    /**
+     * Creates a definition whose version json and server launch information are only computed when first needed.
+     */
+    public VanillaRuntimeDefinition(@NotNull VanillaRuntimeSpecification specification,
+                                    @NotNull LinkedHashMap<String, TaskProvider<? extends WithOutput>> taskOutputs,
+                                    @NotNull TaskProvider<? extends ArtifactProvider> sourceJarTask,
+                                    @NotNull TaskProvider<? extends ArtifactProvider> rawJarTask,
+                                    @NotNull Map<GameArtifact, TaskProvider<? extends WithOutput>> gameArtifactProvidingTasks,
+                                    @NotNull Configuration minecraftDependenciesConfiguration,
+                                    @NotNull Consumer<TaskProvider<? extends Runtime>> associatedTaskConsumer,
+                                    Supplier<VersionJson> versionJson,
+                                    TaskProvider<DownloadAssets> assetsTaskProvider,
+                                    TaskProvider<ExtractNatives> nativesTaskProvider,
+                                    Supplier<Optional<ServerLaunchInformation>> serverLaunchInformation) {
         super(specification, taskOutputs, sourceJarTask, rawJarTask, gameArtifactProvidingTasks, minecraftDependenciesConfiguration, associatedTaskConsumer);
-        this.versionJson = versionJson;
+        this.versionJson = Suppliers.memoize(versionJson::get);
         this.assetsTaskProvider = assetsTaskProvider;
         this.nativesTaskProvider = nativesTaskProvider;
-        this.serverLaunchInformation = serverLaunchInformation;
+        this.serverLaunchInformation = Suppliers.memoize(serverLaunchInformation::get);
     }
 
     @Override
@@ -71,11 +93,11 @@ public final class VanillaRuntimeDefinition extends CommonRuntimeDefinition<Vani
     }
 
     public VersionJson getVersionJson() {
-        return versionJson;
+        return versionJson.get();
     }
 
     public Optional<ServerLaunchInformation> getServerLaunchInformation() {
-        return serverLaunchInformation;
+        return serverLaunchInformation.get();
     }
 
     @Override
@@ -99,23 +121,26 @@ public final class VanillaRuntimeDefinition extends CommonRuntimeDefinition<Vani
 
     @Override
     public void configureRun(RunImpl run) {
+        final Project project = getSpecification().getProject();
         if (getSpecification().getDistribution().isClient()) {
-            Arrays.stream(getVersionJson().getArguments().getGame()).filter(arg -> arg.getRules() == null || arg.getRules().length == 0).flatMap(arg -> arg.value.stream()).forEach(arg -> run.getProgramArguments().add(arg));
-            Arrays.stream(getVersionJson().getArguments().getJvm()).filter(VersionJson.RuledObject::isAllowed).flatMap(arg -> arg.value.stream()).forEach(arg -> run.getJvmArguments().add(arg));
-            run.getMainClass().set(getVersionJson().getMainClass());
+            //Everything derived from the version json is resolved lazily, so that configuring a run does not need the game artifacts.
+            run.getProgramArguments().addAll(project.provider(() -> Arrays.stream(getVersionJson().getArguments().getGame()).filter(arg -> arg.getRules() == null || arg.getRules().length == 0).flatMap(arg -> arg.value.stream()).collect(Collectors.toList())));
+            run.getJvmArguments().addAll(project.provider(() -> Arrays.stream(getVersionJson().getArguments().getJvm()).filter(VersionJson.RuledObject::isAllowed).flatMap(arg -> arg.value.stream()).collect(Collectors.toList())));
+            run.getMainClass().set(project.provider(() -> getVersionJson().getMainClass()));
             run.getIsClient().set(true);
             run.getIsSingleInstance().set(false);
-            
-            final Map<String, String> interpolationData = Maps.newHashMap(buildRunInterpolationData());
 
-            interpolationData.put(InterpolationConstants.GAME_DIRECTORY, run.getWorkingDirectory().get().getAsFile().getAbsolutePath());
+            final Provider<Map<String, String>> interpolationData = project.provider(() -> {
+                final Map<String, String> data = Maps.newHashMap(buildRunInterpolationData());
+                data.put(InterpolationConstants.GAME_DIRECTORY, run.getWorkingDirectory().get().getAsFile().getAbsolutePath());
+                return data;
+            });
             run.overrideJvmArguments(interpolate(run.getJvmArguments(), interpolationData, "$"));
             run.overrideProgramArguments(interpolate(run.getProgramArguments(), interpolationData, "$"));
             run.overrideEnvironmentVariables(interpolate(run.getEnvironmentVariables(), interpolationData, "$"));
             run.overrideSystemProperties(interpolate(run.getSystemProperties(), interpolationData, "$"));
         } else if (getSpecification().getDistribution().isServer()) {
-            final ServerLaunchInformation launchInformation = getServerLaunchInformation().orElseThrow(() -> new IllegalStateException("Server launch information not present for server distribution"));
-            run.getMainClass().set(launchInformation.getMainClass());
+            run.getMainClass().set(project.provider(() -> getServerLaunchInformation().orElseThrow(() -> new IllegalStateException("Server launch information not present for server distribution")).getMainClass()));
             run.getIsClient().set(false);
             run.getIsSingleInstance().set(true);
         }
@@ -1,11 +1,13 @@
 package net.neoforged.gradle.vanilla.runtime.extensions;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import net.neoforged.gradle.common.runtime.extensions.CommonRuntimeExtension;
 import net.neoforged.gradle.common.util.BundledServerUtils;
 import net.neoforged.gradle.common.util.ConfigurationUtils;
 import net.neoforged.gradle.common.util.FileCacheUtils;
+import net.neoforged.gradle.common.util.LazyGameArtifactUtils;
 import net.neoforged.gradle.common.util.VersionJson;
 import net.neoforged.gradle.dsl.common.util.CacheFileSelector;
 import net.neoforged.gradle.dsl.common.util.DistributionType;
@@ -29,6 +31,7 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -38,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @SuppressWarnings({"unused"}) // API Design
 public abstract class VanillaRuntimeExtension extends CommonRuntimeExtension<VanillaRuntimeSpecification, VanillaRuntimeSpecification.Builder, VanillaRuntimeDefinition> {
@@ -62,15 +67,85 @@ public abstract class VanillaRuntimeExtension extends CommonRuntimeExtension<Van
         final Mappings mappingsExtension = minecraftExtension.getMappings();
         final MinecraftArtifactCache artifactCacheExtension = spec.getProject().getExtensions().getByType(MinecraftArtifactCache.class);
 
-        final File minecraftCache = artifactCacheExtension.getCacheDirectory().get().getAsFile();
+        final File vanillaDirectory = spec.getProject().getLayout().getBuildDirectory().dir(String.format("vanilla/%s", spec.getIdentifier())).get().getAsFile();
+        final File runtimeWorkingDirectory = new File(vanillaDirectory, "runtime");
+        final File stepsMcpDirectory = new File(vanillaDirectory, "steps");
+
+        final Map<String, File> data = Collections.emptyMap();
+
+        if (getLazyCreation().get()) {
+            return doCreateLazily(spec, artifactCacheExtension, vanillaDirectory, runtimeWorkingDirectory, data);
+        }
+
+        final ResolvedGameArtifacts gameArtifacts = resolveGameArtifacts(spec, artifactCacheExtension);
+
+        final Configuration minecraftDependenciesConfiguration = ConfigurationUtils.temporaryConfiguration(getProject());
+        for (String library : getLibraries(spec, gameArtifacts)) {
+            minecraftDependenciesConfiguration.getDependencies().add(
+                    spec.getProject().getDependencies().create(library)
+            );
+        }
+
+        stepsMcpDirectory.mkdirs();
+
+        final Map<GameArtifact, TaskProvider<? extends WithOutput>> gameArtifactTasks = buildDefaultArtifactProviderTasks(spec);
+        if (gameArtifacts.getServerBundle() != null) {
+            registerExtractedBundleTask(spec, artifactCacheExtension, vanillaDirectory, gameArtifactTasks);
+        }
+
+        final TaskProvider<? extends ArtifactProvider> sourceJarTask = createSourceJarTask(spec, runtimeWorkingDirectory);
+        final TaskProvider<? extends ArtifactProvider> rawJarTask = createRawJarTask(spec, runtimeWorkingDirectory);
+
+        final Optional<ServerLaunchInformation> launchInformation = getServerLaunchInformation(spec, gameArtifacts);
+
+        final TaskProvider<? extends WithOutput> versionJsonTask = gameArtifactTasks.get(GameArtifact.VERSION_MANIFEST);
+        return new VanillaRuntimeDefinition(spec, new LinkedHashMap<>(), sourceJarTask, rawJarTask, gameArtifactTasks, minecraftDependenciesConfiguration, taskProvider -> taskProvider.configure(vanillaRuntimeTask -> {
+            configureCommonRuntimeTaskParameters(vanillaRuntimeTask, data, CommonRuntimeUtils.buildStepName(spec, vanillaRuntimeTask.getName()), spec, vanillaDirectory);
+        }), gameArtifacts.getVersionJson(), createDownloadAssetsTasks(spec, data, runtimeWorkingDirectory, versionJsonTask), createExtractNativesTasks(spec, data, runtimeWorkingDirectory, versionJsonTask), launchInformation);
+    }
+
+    /**
+     * Creates the runtime without downloading or reading any game artifact.
+     * The game artifacts are resolved like during eager creation, but only when the libraries or the server launch information are first needed.
+     */
+    @NotNull
+    private VanillaRuntimeDefinition doCreateLazily(final VanillaRuntimeSpecification spec, final MinecraftArtifactCache artifactCacheExtension, final File vanillaDirectory, final File runtimeWorkingDirectory, final Map<String, File> data) {
+        final Supplier<VersionJson> versionJson = LazyGameArtifactUtils.versionJson(artifactCacheExtension, spec.getMinecraftVersion());
+        final Supplier<ResolvedGameArtifacts> gameArtifacts = Suppliers.memoize(() -> resolveGameArtifacts(spec, artifactCacheExtension));
+
+        final Configuration minecraftDependenciesConfiguration = ConfigurationUtils.temporaryConfiguration(getProject());
+        minecraftDependenciesConfiguration.getDependencies().addAllLater(spec.getProject().provider(() -> getLibraries(spec, gameArtifacts.get()).stream()
+                .map(library -> spec.getProject().getDependencies().create(library))
+                .collect(Collectors.toList())));
+
+        final Map<GameArtifact, TaskProvider<? extends WithOutput>> gameArtifactTasks = buildDefaultArtifactProviderTasks(spec);
+        if (!spec.getDistribution().isClient()) {
+            //Whether the server is a bundle is only known once it is downloaded, the task checks it when it runs.
+            registerExtractedBundleTask(spec, artifactCacheExtension, vanillaDirectory, gameArtifactTasks);
+        }
+
+        final Supplier<Optional<ServerLaunchInformation>> launchInformation = () -> getServerLaunchInformation(spec, gameArtifacts.get());
+
+        final TaskProvider<? extends ArtifactProvider> sourceJarTask = createSourceJarTask(spec, runtimeWorkingDirectory);
+        final TaskProvider<? extends ArtifactProvider> rawJarTask = createRawJarTask(spec, runtimeWorkingDirectory);
+
+        final TaskProvider<? extends WithOutput> versionJsonTask = gameArtifactTasks.get(GameArtifact.VERSION_MANIFEST);
+        return new VanillaRuntimeDefinition(spec, new LinkedHashMap<>(), sourceJarTask, rawJarTask, gameArtifactTasks, minecraftDependenciesConfiguration, taskProvider -> taskProvider.configure(vanillaRuntimeTask -> {
+            configureCommonRuntimeTaskParameters(vanillaRuntimeTask, data, CommonRuntimeUtils.buildStepName(spec, vanillaRuntimeTask.getName()), spec, vanillaDirectory);
+        }), versionJson, createDownloadAssetsTasks(spec, data, runtimeWorkingDirectory, versionJsonTask), createExtractNativesTasks(spec, data, runtimeWorkingDirectory, versionJsonTask), launchInformation);
+    }
 
+    /**
+     * Caches the game artifacts of the runtime, and extracts the server from its bundle if needed.
+     */
+    private static ResolvedGameArtifacts resolveGameArtifacts(final VanillaRuntimeSpecification spec, final MinecraftArtifactCache artifactCacheExtension) {
         final Map<GameArtifact, File> gameArtifacts = artifactCacheExtension.cacheGameVersion(spec.getMinecraftVersion(), spec.getDistribution());
+        File serverBundle = null;
         if (gameArtifacts.containsKey(GameArtifact.SERVER_JAR)) {
             final File serverJar = gameArtifacts.get(GameArtifact.SERVER_JAR);
             if (BundledServerUtils.isBundledServer(serverJar)) {
-                final File vanillaServerJar = new File(minecraftCache, String.format("minecraft_server.%s.jar", spec.getMinecraftVersion()));
-                BundledServerUtils.extractBundledVersion(serverJar, vanillaServerJar);
-                gameArtifacts.put(GameArtifact.SERVER_JAR, vanillaServerJar);
+                gameArtifacts.put(GameArtifact.SERVER_JAR, artifactCacheExtension.cacheExtractedServer(spec.getMinecraftVersion()));
+                serverBundle = serverJar;
             }
         }
 
@@ -81,53 +156,43 @@ public abstract class VanillaRuntimeExtension extends CommonRuntimeExtension<Van
             throw new RuntimeException(String.format("Failed to read VersionJson from the launcher metadata for the minecraft version: %s", spec.getMinecraftVersion()), e);
         }
 
-        final Configuration minecraftDependenciesConfiguration = ConfigurationUtils.temporaryConfiguration(getProject());
-        if (spec.getDistribution().isClient() || !BundledServerUtils.isBundledServer(gameArtifacts.get(GameArtifact.SERVER_JAR))) {
-            for (VersionJson.Library library : versionJson.getLibraries()) {
-                minecraftDependenciesConfiguration.getDependencies().add(
-                        spec.getProject().getDependencies().create(library.getName())
-                );
-            }
-        } else {
-            BundledServerUtils.getBundledDependencies(gameArtifacts.get(GameArtifact.SERVER_JAR)).forEach(
-                    dependency -> minecraftDependenciesConfiguration.getDependencies().add(
-                            spec.getProject().getDependencies().create(dependency)));
-        }
+        return new ResolvedGameArtifacts(gameArtifacts, serverBundle, versionJson);
+    }
 
-        final File vanillaDirectory = spec.getProject().getLayout().getBuildDirectory().dir(String.format("vanilla/%s", spec.getIdentifier())).get().getAsFile();
-        final File runtimeWorkingDirectory = new File(vanillaDirectory, "runtime");
-        final File stepsMcpDirectory = new File(vanillaDirectory, "steps");
+    private static List<String> getLibraries(final VanillaRuntimeSpecification spec, final ResolvedGameArtifacts gameArtifacts) {
+        if (spec.getDistribution().isClient() || gameArtifacts.getServerBundle() == null) {
+            return gameArtifacts.getVersionJson().getLibraries().stream()
+                    .map(VersionJson.Library::getName)
+                    .collect(Collectors.toList());
+        }
 
-        stepsMcpDirectory.mkdirs();
+        return BundledServerUtils.getBundledDependencies(gameArtifacts.getServerBundle());
+    }
 
-        final Map<String, File> data = Collections.emptyMap();
-        final Map<GameArtifact, TaskProvider<? extends WithOutput>> gameArtifactTasks = buildDefaultArtifactProviderTasks(spec);
-        if (gameArtifactTasks.containsKey(GameArtifact.SERVER_JAR) && BundledServerUtils.isBundledServer(gameArtifacts.get(GameArtifact.SERVER_JAR))) {
-            final TaskProvider<? extends WithOutput> serverJarTask = gameArtifactTasks.get(GameArtifact.SERVER_JAR);
-            final TaskProvider<? extends WithOutput> extractedBundleTask = FileCacheUtils.createFileCacheEntryProvidingTask(
-                    project, NamingConstants.Task.CACHE_VERSION_EXTRACTED_BUNDLE, spec.getMinecraftVersion(), vanillaDirectory, artifactCacheExtension.getCacheDirectory(), CacheFileSelector.forVersionJar(spec.getMinecraftVersion(), DistributionType.SERVER.getName()), () -> {
-                        final File cacheFile = new File(artifactCacheExtension.getCacheDirectory().get().getAsFile(), CacheFileSelector.forVersionJar(spec.getMinecraftVersion(), DistributionType.SERVER.getName()).getCacheFileName());
-                        BundledServerUtils.extractBundledVersion(serverJarTask.get().getOutput().get().getAsFile(), cacheFile);
+    private static Optional<ServerLaunchInformation> getServerLaunchInformation(final VanillaRuntimeSpecification spec, final ResolvedGameArtifacts gameArtifacts) {
+        return spec.getDistribution().isClient() ? Optional.empty() : Optional.of(ServerLaunchInformation.from(gameArtifacts.getGameArtifacts().get(GameArtifact.SERVER_JAR)));
+    }
 
-                    }
-            );
+    private static void registerExtractedBundleTask(final VanillaRuntimeSpecification spec, final MinecraftArtifactCache artifactCacheExtension, final File vanillaDirectory, final Map<GameArtifact, TaskProvider<? extends WithOutput>> gameArtifactTasks) {
+        //The downloaded server stays in the cache as is, the extracted one is cached next to it.
+        final TaskProvider<? extends WithOutput> extractedBundleTask = FileCacheUtils.createFileCacheEntryProvidingTask(
+                spec.getProject(), NamingConstants.Task.CACHE_VERSION_EXTRACTED_BUNDLE, spec.getMinecraftVersion(), vanillaDirectory, artifactCacheExtension.getCacheDirectory(), CacheFileSelector.forExtractedServerJar(spec.getMinecraftVersion()),
+                () -> artifactCacheExtension.cacheExtractedServer(spec.getMinecraftVersion())
+        );
 
-            extractedBundleTask.configure(task -> task.dependsOn(serverJarTask));
-            gameArtifactTasks.put(GameArtifact.SERVER_JAR, extractedBundleTask);
-        }
+        gameArtifactTasks.put(GameArtifact.SERVER_JAR, extractedBundleTask);
+    }
 
-        final TaskProvider<? extends ArtifactProvider> sourceJarTask = spec.getProject().getTasks().register("supplySourcesFor" + spec.getIdentifier(), ArtifactProvider.class, task -> {
+    private TaskProvider<? extends ArtifactProvider> createSourceJarTask(final VanillaRuntimeSpecification spec, final File runtimeWorkingDirectory) {
+        return spec.getProject().getTasks().register("supplySourcesFor" + spec.getIdentifier(), ArtifactProvider.class, task -> {
             task.getOutput().set(new File(runtimeWorkingDirectory, "sources.jar"));
         });
-        final TaskProvider<? extends ArtifactProvider> rawJarTask = spec.getProject().getTasks().register("supplyRawJarFor" + spec.getIdentifier(), ArtifactProvider.class, task -> {
+    }
+
+    private TaskProvider<? extends ArtifactProvider> createRawJarTask(final VanillaRuntimeSpecification spec, final File runtimeWorkingDirectory) {
+        return spec.getProject().getTasks().register("supplyRawJarFor" + spec.getIdentifier(), ArtifactProvider.class, task -> {
             task.getOutput().set(new File(runtimeWorkingDirectory, "raw.jar"));
         });
-
-        final Optional<ServerLaunchInformation> launchInformation = spec.getDistribution().isClient() ? Optional.empty() : Optional.of(ServerLaunchInformation.from(gameArtifacts.get(GameArtifact.SERVER_JAR)));
-
-        return new VanillaRuntimeDefinition(spec, new LinkedHashMap<>(), sourceJarTask, rawJarTask, gameArtifactTasks, minecraftDependenciesConfiguration, taskProvider -> taskProvider.configure(vanillaRuntimeTask -> {
-            configureCommonRuntimeTaskParameters(vanillaRuntimeTask, data, CommonRuntimeUtils.buildStepName(spec, vanillaRuntimeTask.getName()), spec, vanillaDirectory);
-        }), versionJson, createDownloadAssetsTasks(spec, data, runtimeWorkingDirectory, versionJson), createExtractNativesTasks(spec, data, runtimeWorkingDirectory, versionJson), launchInformation);
     }
 
     protected VanillaRuntimeSpecification.Builder createBuilder() {
@@ -259,4 +324,36 @@ public abstract class VanillaRuntimeExtension extends CommonRuntimeExtension<Van
             return sourceJarStep;
         }
     }
+
+    private static final class ResolvedGameArtifacts {
+        private final Map<GameArtifact, File> gameArtifacts;
+        @Nullable
+        private final File serverBundle;
+        private final VersionJson versionJson;
+
+        private ResolvedGameArtifacts(Map<GameArtifact, File> gameArtifacts, @Nullable File serverBundle, VersionJson versionJson) {
+            this.gameArtifacts = gameArtifacts;
+            this.serverBundle = serverBundle;
+            this.versionJson = versionJson;
+        }
+
+        /**
+         * @return The cached game artifacts, with the server jar being the extracted one if the server is bundled
+         */
+        public Map<GameArtifact, File> getGameArtifacts() {
+            return gameArtifacts;
+        }
+
+        /**
+         * @return The server bundle as downloaded, or null if the server is not bundled
+         */
+        @Nullable
+        public File getServerBundle() {
+            return serverBundle;
+        }
+
+        public VersionJson getVersionJson() {
+            return versionJson;
+        }
+    }
 }
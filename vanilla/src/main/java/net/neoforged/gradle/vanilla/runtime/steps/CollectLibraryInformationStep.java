@@ -6,6 +6,7 @@ import net.neoforged.gradle.dsl.common.tasks.WithOutput;
 import net.neoforged.gradle.dsl.common.util.CommonRuntimeUtils;
 import net.neoforged.gradle.dsl.common.util.GameArtifact;
 import net.neoforged.gradle.vanilla.runtime.VanillaRuntimeDefinition;
+import net.neoforged.gradle.vanilla.util.ServerLaunchInformation;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,8 +20,10 @@ public class CollectLibraryInformationStep implements IStep {
         return definition.getSpecification().getProject().getTasks().register(CommonRuntimeUtils.buildTaskName(definition, "libraries"), ListLibraries.class, task -> {
             task.getDownloadedVersionJsonFile().set(gameArtifactTasks.get(GameArtifact.VERSION_MANIFEST).flatMap(WithOutput::getOutput));
 
-            if (definition.getServerLaunchInformation().isPresent() && definition.getServerLaunchInformation().get().isBundledServer()) {
-                task.getServerBundleFile().set(gameArtifactTasks.get(GameArtifact.SERVER_JAR).flatMap(WithOutput::getOutput));
+            if (!definition.getSpecification().getDistribution().isClient()) {
+                //Only queried when the task executes, so that the server jar is not needed to configure it.
+                task.getServerBundleFile().set(gameArtifactTasks.get(GameArtifact.SERVER_JAR).flatMap(WithOutput::getOutput)
+                        .map(serverJar -> definition.getServerLaunchInformation().filter(ServerLaunchInformation::isBundledServer).isPresent() ? serverJar : null));
             }
         });
     }
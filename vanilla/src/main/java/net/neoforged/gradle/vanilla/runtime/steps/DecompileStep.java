@@ -1,5 +1,6 @@
 package net.neoforged.gradle.vanilla.runtime.steps;
 
+import net.neoforged.gradle.common.util.ToolResourceUtils;
 import net.neoforged.gradle.dsl.common.util.GameArtifact;
 import net.neoforged.gradle.util.DecompileUtils;
 import net.neoforged.gradle.common.runtime.tasks.Execute;
@@ -28,6 +29,7 @@ public class DecompileStep implements IStep {
             task.getJvmArguments().addAll(DecompileUtils.DEFAULT_JVM_ARGS);
             task.getProgramArguments().addAll(DecompileUtils.DEFAULT_PROGRAMM_ARGS);
             task.getArguments().putAll(CommonRuntimeUtils.buildArguments(definition, DecompileUtils.DEFAULT_DECOMPILE_VALUES, pipelineTasks, task, Optional.of(inputProvidingTask)));
+            ToolResourceUtils.configure(task, ToolResourceUtils.Tool.DECOMPILER);
         });
     }
 
@@ -1,9 +1,9 @@
 package net.neoforged.gradle.vanilla.runtime.tasks;
 
-import net.neoforged.gradle.util.DelegatingFileTreeVisitor;
-import net.neoforged.gradle.util.ZipBuildingFileTreeVisitor;
 import net.neoforged.gradle.common.runtime.tasks.DefaultRuntime;
-import org.gradle.api.file.FileVisitDetails;
+import net.neoforged.gradle.util.RawZipEntry;
+import net.neoforged.gradle.util.RawZipReader;
+import net.neoforged.gradle.util.RawZipWriter;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.InputFile;
@@ -12,65 +12,47 @@ import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.zip.ZipOutputStream;
 
 @CacheableTask
 public abstract class CleanArtifact extends DefaultRuntime {
 
     @TaskAction
     public void doClean() {
-        try {
-            final File outputJar = this.ensureFileWorkspaceReady(getOutput());
-            final FileOutputStream fileOutputStream = new FileOutputStream(outputJar);
-            final ZipOutputStream outputZipStream = new ZipOutputStream(fileOutputStream);
-
-            final DelegatingFileTreeVisitor visitor = new DelegatingFileTreeVisitor(new ZipBuildingFileTreeVisitor(outputZipStream)) {
-
-                @Override
-                public void visitDir(FileVisitDetails fileVisitDetails) {
-                    if (!fileVisitDetails.getRelativePath().getPathString().startsWith("assets/") &&
-                            !fileVisitDetails.getRelativePath().getPathString().startsWith("data/") &&
-                            !fileVisitDetails.getRelativePath().getPathString().startsWith("net/") &&
-                            !fileVisitDetails.getRelativePath().getPathString().startsWith("META-INF/") &&
-                            !fileVisitDetails.getRelativePath().getPathString().contains("mojang") &&
-                            !fileVisitDetails.getRelativePath().getPathString().contains("minecraft")) {
-                        return;
-                    }
-
-                    super.visitDir(fileVisitDetails);
-                }
-
-                @Override
-                public void visitFile(FileVisitDetails fileVisitDetails) {
-                    if (fileVisitDetails.getRelativePath().getPathString().equals("META-INF/MANIFEST.MF")) {
-                        return;
-                    }
-
-                    if (fileVisitDetails.getRelativePath().getPathString().contains("/")) {
-                        //Is in directory. Only leave:
-                        if (!fileVisitDetails.getRelativePath().getPathString().startsWith("assets/") &&
-                                !fileVisitDetails.getRelativePath().getPathString().startsWith("data/") &&
-                                !fileVisitDetails.getRelativePath().getPathString().startsWith("net/") &&
-                                !fileVisitDetails.getRelativePath().getPathString().startsWith("META-INF/") &&
-                                !fileVisitDetails.getRelativePath().getPathString().contains("mojang") &&
-                                !fileVisitDetails.getRelativePath().getPathString().contains("minecraft")) {
-                            return;
-                        }
-                    }
-
-                    super.visitFile(fileVisitDetails);
+        final File outputJar = this.ensureFileWorkspaceReady(getOutput());
+        try (RawZipReader reader = RawZipReader.open(getInput().get().getAsFile());
+             RawZipWriter writer = new RawZipWriter(outputJar)) {
+            for (RawZipEntry entry : reader.getEntries()) {
+                if (isRetained(entry)) {
+                    //Retained entries are not changed, so they are copied without recompressing them.
+                    writer.copy(reader, entry);
                 }
-            };
-            getProject().zipTree(getInput().get()).visit(visitor);
-            outputZipStream.close();
-            fileOutputStream.close();
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to create cleaned output jar", e);
         }
     }
 
+    private static boolean isRetained(final RawZipEntry entry) {
+        final String path = entry.isDirectory() ? entry.getName().substring(0, entry.getName().length() - 1) : entry.getName();
+        if (path.equals("META-INF/MANIFEST.MF")) {
+            return false;
+        }
+
+        if (!entry.isDirectory() && !path.contains("/")) {
+            //Files in the root are always retained.
+            return true;
+        }
+
+        //Is in directory. Only leave:
+        return path.startsWith("assets/") ||
+                path.startsWith("data/") ||
+                path.startsWith("net/") ||
+                path.startsWith("META-INF/") ||
+                path.contains("mojang") ||
+                path.contains("minecraft");
+    }
+
     @InputFile
     @PathSensitive(PathSensitivity.NONE)
     public abstract RegularFileProperty getInput();